@@ -39,12 +39,18 @@ import org.ow2.proactive.catalog.graphql.handler.catalogobject.*;
 import org.ow2.proactive.catalog.mocks.BucketGrantServiceMock;
 import org.ow2.proactive.catalog.mocks.CatalogObjectGrantServiceMock;
 import org.ow2.proactive.catalog.mocks.RestApiAccessServiceMock;
+import org.ow2.proactive.catalog.repository.CatalogObjectNameGramIndex;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.service.*;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
 import org.ow2.proactive.catalog.util.RevisionCommitMessageBuilder;
+import org.ow2.proactive.catalog.util.SearchTermExtractor;
 import org.ow2.proactive.catalog.util.SeparatorUtility;
+import org.ow2.proactive.catalog.util.codec.ContentCodecSelector;
+import org.ow2.proactive.catalog.util.codec.DeltaEncoder;
+import org.ow2.proactive.catalog.util.codec.GzipContentCodec;
+import org.ow2.proactive.catalog.util.codec.IdentityContentCodec;
 import org.ow2.proactive.catalog.util.name.validator.BucketNameValidator;
 import org.ow2.proactive.catalog.util.name.validator.KindAndContentTypeValidator;
 import org.ow2.proactive.catalog.util.name.validator.ObjectNameValidator;
@@ -121,6 +127,16 @@ public class IntegrationTestConfig {
         return new GrantRightsService();
     }
 
+    @Bean
+    public GrantRightsCache grantRightsCache() {
+        return new GrantRightsCache();
+    }
+
+    @Bean
+    public BucketDescriptorCache bucketDescriptorCache() {
+        return new BucketDescriptorCache();
+    }
+
     @Bean
     public BucketService bucketService() {
         return new BucketService();
@@ -284,6 +300,56 @@ public class IntegrationTestConfig {
         return new RevisionCommitMessageBuilder();
     }
 
+    @Bean
+    public RevisionContentService revisionContentService() {
+        return new RevisionContentService();
+    }
+
+    @Bean
+    public RevisionContentStartupMigrator revisionContentStartupMigrator() {
+        return new RevisionContentStartupMigrator();
+    }
+
+    @Bean
+    public RevisionContentFileStore revisionContentFileStore() {
+        return new RevisionContentFileStore();
+    }
+
+    @Bean
+    public ContentCodecSelector contentCodecSelector() {
+        return new ContentCodecSelector();
+    }
+
+    @Bean
+    public GzipContentCodec gzipContentCodec() {
+        return new GzipContentCodec();
+    }
+
+    @Bean
+    public IdentityContentCodec identityContentCodec() {
+        return new IdentityContentCodec();
+    }
+
+    @Bean
+    public DeltaEncoder deltaEncoder() {
+        return new DeltaEncoder();
+    }
+
+    @Bean
+    public CatalogObjectDictionary catalogObjectDictionary() {
+        return new CatalogObjectDictionary();
+    }
+
+    @Bean
+    public SearchTermExtractor searchTermExtractor() {
+        return new SearchTermExtractor();
+    }
+
+    @Bean
+    public CatalogObjectNameGramIndex catalogObjectNameGramIndex() {
+        return new CatalogObjectNameGramIndex();
+    }
+
     @Bean
     @Primary
     public RestApiAccessService restApiAccessService() {
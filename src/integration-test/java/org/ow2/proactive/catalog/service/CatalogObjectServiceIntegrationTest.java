@@ -1968,8 +1968,8 @@ public class CatalogObjectServiceIntegrationTest {
     @Test
     public void testGetDefaultCatalogRawObject() {
         CatalogRawObject rawObject = catalogObjectService.getCatalogRawObject(bucket.getName(), "object-name-1");
-        assertThat(rawObject.getRawObject()).isNotNull();
-        assertThat(rawObject.getRawObject()).isEqualTo(workflowAsByteArrayUpdated);
+        assertThat(rawObject.readRawObject()).isNotNull();
+        assertThat(rawObject.readRawObject()).isEqualTo(workflowAsByteArrayUpdated);
     }
 
     @Test
@@ -2260,7 +2260,7 @@ public class CatalogObjectServiceIntegrationTest {
                                                                                       "object-name-1",
                                                                                       firstCommitTime);
         assertThat(rawObject.getCommitMessage()).isEqualTo("commit message");
-        assertThat(rawObject.getRawObject()).isEqualTo(workflowAsByteArray);
+        assertThat(rawObject.readRawObject()).isEqualTo(workflowAsByteArray);
     }
 
 }
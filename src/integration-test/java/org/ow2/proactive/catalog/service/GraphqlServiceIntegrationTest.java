@@ -31,8 +31,10 @@ import static org.mockito.Mockito.doReturn;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -247,6 +249,28 @@ public class GraphqlServiceIntegrationTest {
         assertThat(connection.getSize()).isEqualTo(2);
     }
 
+    @Test
+    public void testCursorQuery() {
+        Set<String> objectKeys = new HashSet<>();
+        String after = null;
+        for (int page = 0; page < 4; page++) {
+            String pageInfo = after == null ? "{size:2}" : "{size:2, after:\"" + after + "\"}";
+            String query = "{\n" + "  allCatalogObjects(pageInfo:" + pageInfo + ") {\n" + "    edges {\n" +
+                           "      bucketName\n" + "      name\n" + "    }\n" + "    endCursor\n" + "  }  \n" + "}";
+
+            Map<String, Object> map = graphqlService.executeQuery(query, null, null, null, null);
+
+            assertThat(map.get("errors")).isNull();
+            Map objects = (Map) ((Map) map.get("data")).get("allCatalogObjects");
+            CatalogObjectConnection connection = mapper.convertValue(objects, CatalogObjectConnection.class);
+            assertThat(connection.getEdges()).hasSize(page < 3 ? 2 : 1);
+            assertThat(connection.getTotalCount()).isNull();
+            connection.getEdges().forEach(edge -> objectKeys.add(edge.getBucketName() + "/" + edge.getName()));
+            after = connection.getEndCursor();
+        }
+        assertThat(objectKeys).hasSize(7);
+    }
+
     @Test
     public void testNameQuery() {
         String query = "{\n" + "  allCatalogObjects(where:{nameArg:{eq:\"catalog2\"}}) {\n" + "    edges {\n" +
@@ -0,0 +1,105 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ow2.proactive.catalog.IntegrationTestConfig;
+import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+
+/**
+ * Starts the catalog with the second-level and query caches enabled, which are disabled by default.
+ */
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { IntegrationTestConfig.class })
+@TestPropertySource(properties = { "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                                   "spring.jpa.properties.hibernate.cache.use_query_cache=true" })
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private BucketService bucketService;
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private BucketRepository bucketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @After
+    public void deleteBucket() {
+        bucketService.cleanAll();
+    }
+
+    @Test
+    public void testCatalogObjectsAreCached() throws IOException {
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class)
+                                       .getSessionFactoryOptions()
+                                       .isSecondLevelCacheEnabled()).isTrue();
+        BucketMetadata bucket = bucketService.createBucket("cached-bucket", "SecondLevelCacheIntegrationTest", null);
+        catalogObjectService.createCatalogObject(bucket.getName(),
+                                                 "cached-object",
+                                                 "projectName",
+                                                 "tag1",
+                                                 "object",
+                                                 "commit message",
+                                                 "username",
+                                                 "application/xml",
+                                                 Collections.emptyList(),
+                                                 IntegrationTestUtil.getWorkflowAsByteArray("workflow.xml"),
+                                                 null);
+
+        assertThat(catalogObjectService.getCatalogObjectMetadata(bucket.getName(), "cached-object")
+                                       .getName()).isEqualTo("cached-object");
+
+        Long bucketId = bucketRepository.findOneByBucketName(bucket.getName()).getId();
+        assertThat(entityManagerFactory.getCache()
+                                       .contains(CatalogObjectEntity.class,
+                                                 new CatalogObjectEntity.CatalogObjectEntityKey(bucketId,
+                                                                                                "cached-object"))).isTrue();
+    }
+}
@@ -41,6 +41,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
@@ -60,6 +61,7 @@ import io.swagger.v3.oas.models.info.License;
 @SpringBootApplication(scanBasePackages = { "org.ow2.proactive.catalog" })
 @EnableAutoConfiguration(exclude = { MultipartAutoConfiguration.class })
 @EnableTransactionManagement
+@EnableScheduling
 @EnableEncryptableProperties
 @EntityScan(basePackages = "org.ow2.proactive.catalog.repository.entity")
 @EntityScanRoot("classpath:/org/ow2/proactive/catalog/repository/entity")
@@ -56,11 +56,19 @@ public class BucketMetadata extends ResourceSupport implements Comparable<Bucket
     @JsonProperty
     private final String tenant;
 
+    @JsonProperty
+    private Integer retentionMaxRevisions;
+
+    @JsonProperty
+    private Integer retentionMaxAgeDays;
+
     public BucketMetadata(BucketEntity bucket) {
         this.name = bucket.getBucketName();
         this.owner = bucket.getOwner();
         this.objectCount = 0;
         this.tenant = bucket.getTenant();
+        this.retentionMaxRevisions = bucket.getRetentionMaxRevisions();
+        this.retentionMaxAgeDays = bucket.getRetentionMaxAgeDays();
     }
 
     public BucketMetadata(BucketEntity bucket, int objectCount) {
@@ -68,6 +76,8 @@ public class BucketMetadata extends ResourceSupport implements Comparable<Bucket
         this.owner = bucket.getOwner();
         this.objectCount = objectCount;
         this.tenant = bucket.getTenant();
+        this.retentionMaxRevisions = bucket.getRetentionMaxRevisions();
+        this.retentionMaxAgeDays = bucket.getRetentionMaxAgeDays();
     }
 
     public BucketMetadata(String name, String owner, int objectCount, String tenant) {
@@ -25,9 +25,12 @@
  */
 package org.ow2.proactive.catalog.dto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
-import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 
 import lombok.EqualsAndHashCode;
@@ -42,14 +45,28 @@ public class CatalogRawObject extends CatalogObjectMetadata {
 
     private final byte[] rawObject;
 
-    public CatalogRawObject(CatalogObjectEntity catalogObject) {
+    // File holding the raw object when it is streamed from the content storage directory
+    private final Path rawObjectFile;
+
+    // Content-Encoding of rawObject, null when it is not encoded
+    private final String contentEncoding;
+
+    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject, byte[] rawObject) {
+        this(catalogObject, rawObject, null);
+    }
+
+    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject, byte[] rawObject, String contentEncoding) {
         super(catalogObject);
-        this.rawObject = catalogObject.getRevisions().first().getRawObject();
+        this.rawObject = rawObject;
+        this.rawObjectFile = null;
+        this.contentEncoding = contentEncoding;
     }
 
-    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject) {
+    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject, Path rawObjectFile, String contentEncoding) {
         super(catalogObject);
-        this.rawObject = catalogObject.getRawObject();
+        this.rawObject = null;
+        this.rawObjectFile = rawObjectFile;
+        this.contentEncoding = contentEncoding;
     }
 
     public CatalogRawObject(String bucketName, String name, String projectName, String tags, String kind,
@@ -67,9 +84,40 @@ public class CatalogRawObject extends CatalogObjectMetadata {
               metadataList,
               extension);
         this.rawObject = rawObject;
+        this.rawObjectFile = null;
+        this.contentEncoding = null;
     }
 
+    /**
+     * @return the raw object when it is held in memory, null when it is held by {@link #getRawObjectFile()}
+     */
     public byte[] getRawObject() {
         return rawObject;
     }
+
+    /**
+     * @return the file holding the raw object, to be streamed, or null when the raw object is held in memory
+     */
+    public Path getRawObjectFile() {
+        return rawObjectFile;
+    }
+
+    /**
+     * Returns the raw object wherever it is held, loading the whole file in memory when it is held by a file.
+     * Responses should stream {@link #getRawObjectFile()} instead.
+     */
+    public byte[] readRawObject() {
+        if (rawObjectFile == null) {
+            return rawObject;
+        }
+        try {
+            return Files.readAllBytes(rawObjectFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
 }
@@ -53,7 +53,9 @@ public class CatalogObjectConnection {
 
     private boolean hasPrevious;
 
-    private int totalPage;
+    private Integer totalPage;
 
-    private int totalCount;
+    private Integer totalCount;
+
+    private String endCursor;
 }
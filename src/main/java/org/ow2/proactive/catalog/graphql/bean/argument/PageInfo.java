@@ -42,4 +42,11 @@ public class PageInfo {
     private int page;
 
     private int size;
+
+    // cursor of the last object of the previous page, used instead of the page number when present
+    private String after;
+
+    public PageInfo(int page, int size) {
+        this(page, size, null);
+    }
 }
@@ -46,13 +46,16 @@ import org.ow2.proactive.catalog.graphql.handler.FilterHandler;
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.repository.specification.catalogobject.DefaultSpecification;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.KeysetSpecification;
 import org.ow2.proactive.catalog.rest.controller.CatalogObjectController;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.mvc.ControllerLinkBuilder;
@@ -91,7 +94,13 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
     @Override
     public CatalogObjectConnection get(DataFetchingEnvironment environment) {
 
-        Pageable pageable = createPageRequest(environment);
+        PageInfo pageInfo = getPageInfo(environment);
+
+        CatalogObjectCursor after = pageInfo.getAfter() == null ? null
+                                                                : CatalogObjectCursor.fromToken(pageInfo.getAfter());
+
+        // with a cursor, the page always starts right after it, so it does not need an offset
+        Pageable pageable = createPageRequest(environment, after == null ? pageInfo.getPage() : 0, pageInfo.getSize());
 
         CatalogObjectWhereArgs argument = objectMapper.convertValue(environment.getArgument(Arguments.WHERE.getName()),
                                                                     CatalogObjectWhereArgs.class);
@@ -103,24 +112,55 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
                                                                                                                                    .map(optional -> optional.get())
                                                                                                                                    .findFirst();
 
-        Page<CatalogObjectRevisionEntity> catalogObjectEntitiesPage = specificationOptional.isPresent() ? catalogObjectRevisionRepository.findAll(specificationOptional.get(),
-                                                                                                                                                  pageable)
-                                                                                                        : catalogObjectRevisionRepository.findAll(new DefaultSpecification(),
-                                                                                                                                                  pageable);
+        Specification<CatalogObjectRevisionEntity> specification = new KeysetSpecification(specificationOptional.orElse(new DefaultSpecification()),
+                                                                                            after);
+
+        // counting the matching objects costs a query of its own, it is only run when the totals are requested
+        Slice<CatalogObjectRevisionEntity> catalogObjectEntitiesPage;
+        Integer totalPage = null;
+        Integer totalCount = null;
+        if (environment.getSelectionSet().contains("totalPage") ||
+            environment.getSelectionSet().contains("totalCount")) {
+            Page<CatalogObjectRevisionEntity> countedPage = catalogObjectRevisionRepository.findAll(specification,
+                                                                                                    pageable);
+            totalPage = countedPage.getTotalPages();
+            totalCount = Long.valueOf(countedPage.getTotalElements()).intValue();
+            catalogObjectEntitiesPage = countedPage;
+        } else {
+            catalogObjectEntitiesPage = catalogObjectRevisionRepository.findSliceWithoutCount(specification, pageable);
+        }
+
+        List<CatalogObjectRevisionEntity> catalogObjectEntities = catalogObjectEntitiesPage.getContent();
+        String endCursor = null;
+        if (!catalogObjectEntities.isEmpty()) {
+            CatalogObjectRevisionEntity lastEntity = catalogObjectEntities.get(catalogObjectEntities.size() - 1);
+            endCursor = CatalogObjectCursor.of(lastEntity).toToken();
+        }
 
         return CatalogObjectConnection.builder()
-                                      .edges(catalogObjectMapper.apply(catalogObjectEntitiesPage.getContent().stream())
+                                      .edges(catalogObjectMapper.apply(catalogObjectEntities.stream())
                                                                 .collect(Collectors.toList()))
                                       .page(catalogObjectEntitiesPage.getNumber())
                                       .size(catalogObjectEntitiesPage.getSize())
                                       .hasNext(catalogObjectEntitiesPage.hasNext())
                                       .hasPrevious(catalogObjectEntitiesPage.hasPrevious())
-                                      .totalPage(catalogObjectEntitiesPage.getTotalPages())
-                                      .totalCount(Long.valueOf(catalogObjectEntitiesPage.getTotalElements()).intValue())
+                                      .totalPage(totalPage)
+                                      .totalCount(totalCount)
+                                      .endCursor(endCursor)
                                       .build();
     }
 
-    private Pageable createPageRequest(DataFetchingEnvironment environment) {
+    private PageInfo getPageInfo(DataFetchingEnvironment environment) {
+        PageInfo pageInfo = objectMapper.convertValue(environment.getArgument(Arguments.PAGE_INFO.getName()),
+                                                      PageInfo.class);
+
+        if (pageInfo == null) {
+            pageInfo = new PageInfo(0, 50);
+        }
+        return pageInfo;
+    }
+
+    private Pageable createPageRequest(DataFetchingEnvironment environment, int page, int size) {
         String orderByString = objectMapper.convertValue(environment.getArgument(Arguments.ORDER_BY.getName()),
                                                          String.class);
 
@@ -131,13 +171,6 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
             orderBy = OrderBy.fromValue(orderByString);
         }
 
-        PageInfo pageInfo = objectMapper.convertValue(environment.getArgument(Arguments.PAGE_INFO.getName()),
-                                                      PageInfo.class);
-
-        if (pageInfo == null) {
-            pageInfo = new PageInfo(0, 50);
-        }
-
         // remove orderby for now, and will fix it later
         //        switch (orderBy) {
         //            case CATALOG_OBJECT_KEY_ASC:
@@ -158,7 +191,8 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
         //                throw new IllegalArgumentException(orderBy + " does not exist");
         //        }
 
-        return new PageRequest(pageInfo.getPage(), pageInfo.getSize());
+        // objects are ordered by catalog object key by the KeysetSpecification
+        return new PageRequest(page, size);
 
     }
 
@@ -180,7 +214,9 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
                 ControllerLinkBuilder controllerLinkBuilder = linkTo(methodOn(CatalogObjectController.class).getRaw("dummy",
                                                                                                                     bucketName,
                                                                                                                     URLEncoder.encode(name,
-                                                                                                                                      "UTF-8")));
+                                                                                                                                      "UTF-8"),
+                                                                                                                    null,
+                                                                                                                    null));
 
                 return new Link(controllerLinkBuilder.toString()).withRel("content").getHref();
             } catch (UnsupportedEncodingException | NotAuthenticatedException | AccessDeniedException e) {
@@ -27,6 +27,8 @@ package org.ow2.proactive.catalog.repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.ow2.proactive.catalog.repository.entity.BucketGrantEntity;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
@@ -35,54 +37,70 @@ import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 public interface BucketGrantRepository extends JpaRepository<BucketGrantEntity, Long>,
         JpaSpecificationExecutor<BucketGrantEntity>, QueryDslPredicateExecutor<BucketGrantEntity> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<BucketGrantEntity> findBucketGrantEntitiesByBucketEntityId(long bucketId);
 
     List<BucketGrantEntity> findBucketGrantEntitiesByCreator(String creatorName);
 
     List<BucketGrantEntity> deleteAllByBucketEntityId(long bucketId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.bucketEntity.id = ?1 AND bge.grantee = ?2 AND bge.granteeType='user'")
     BucketGrantEntity findBucketGrantByUsername(long bucketId, String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.bucketEntity.id = ?1 AND bge.grantee = ?2 AND bge.granteeType='tenant'")
     BucketGrantEntity findBucketGrantByTenant(long bucketId, String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.bucketEntity.id = ?1 AND bge.grantee = ?2 AND bge.granteeType='group'")
     BucketGrantEntity findBucketGrantByUserGroup(long bucketId, String userGroup);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 AND bge.granteeType='user'")
     List<BucketGrantEntity> findAllBucketsGrantsByUsername(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 AND bge.granteeType='tenant'")
     List<BucketGrantEntity> findAllBucketsGrantsByTenant(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee in ?1 AND bge.granteeType='group'")
     List<BucketGrantEntity> findAllBucketsGrantsByUserGroup(List<String> userGroup);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 And bge.granteeType='user' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToAUsername(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 And bge.granteeType='tenant' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToATenant(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee in ?1 And bge.granteeType='group' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToUserGroups(List<String> userGroup);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 AND bge.bucketEntity.id=?2 And bge.granteeType='user' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToAUsername(String username, long bucketId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 AND bge.bucketEntity.id=?2 And bge.granteeType='tenant' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToATenant(String tenant, long bucketId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee in ?1 AND bge.bucketEntity.id=?2 And bge.granteeType='group' AND bge.accessType<>'noAccess'")
     List<BucketGrantEntity> findAccessibleBucketsGrantsAssignedToUserGroups(List<String> userGroup, long bucketId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 And bge.granteeType='user' AND bge.accessType='noAccess'")
     List<BucketGrantEntity> findBucketsGrantsAssignedToAUsernameWithNoAccessRight(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee = ?1 And bge.granteeType='tenant' AND bge.accessType='noAccess'")
     List<BucketGrantEntity> findBucketsGrantsAssignedToATenantWithNoAccessRight(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT bge FROM BucketGrantEntity bge WHERE bge.grantee in ?1 And bge.granteeType='group' AND bge.accessType='noAccess'")
     List<BucketGrantEntity> findBucketsGrantsAssignedToUserGroupsWithNoAccessRight(List<String> userGroup);
 
@@ -35,6 +35,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
@@ -54,6 +55,37 @@ public interface BucketRepository extends JpaRepository<BucketEntity, Long>, Jpa
 
     List<BucketEntity> findByTenantIsNull();
 
+    List<BucketEntity> findByRetentionMaxRevisionsIsNotNullOrRetentionMaxAgeDaysIsNotNull();
+
+    /**
+     * Adds delta to the object count of the bucket, in a single statement so that concurrent object creations and
+     * deletions in the bucket do not lose updates. A bucket which is not reconciled yet keeps a null count.
+     */
+    @Modifying
+    @Query(value = "UPDATE BucketEntity bk SET bk.objectCount = bk.objectCount + ?2 WHERE bk.id = ?1")
+    int addToObjectCount(Long bucketId, int delta);
+
+    /**
+     * @return rows of bucket id and stored object count (-1 when not reconciled yet)
+     */
+    @Query(value = "SELECT bk.id, COALESCE(bk.objectCount, -1) FROM BucketEntity bk")
+    List<Object[]> findObjectCounts();
+
+    /**
+     * @return rows of bucket id and actual number of catalog objects, for the buckets containing objects
+     */
+    @Query(value = "SELECT co.id.bucketId, COUNT(co) FROM CatalogObjectEntity co GROUP BY co.id.bucketId")
+    List<Object[]> countObjectsByBucketId();
+
+    /**
+     * Sets the object count of the bucket if it is still the expected one (-1 for a bucket not reconciled yet),
+     * a count changed in the meantime by an object creation or deletion being reconciled later.
+     */
+    @Modifying
+    @Query(value = "UPDATE BucketEntity bk SET bk.objectCount = ?3 WHERE bk.id = ?1 AND COALESCE(bk.objectCount, -1) = ?2")
+    int compareAndSetObjectCount(Long bucketId, int expectedCount, int objectCount);
+
+    // the object count is not trusted to delete buckets, SIZE is evaluated by the database without loading objects
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({ @QueryHint(name = "javax.persistence.lock.timeout", value = "5000") })
     @Query(value = "SELECT bk FROM BucketEntity bk WHERE SIZE(bk.catalogObjects) = 0")
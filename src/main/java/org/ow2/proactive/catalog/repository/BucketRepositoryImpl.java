@@ -38,10 +38,12 @@ import javax.persistence.criteria.*;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 
 
 @Repository
@@ -53,6 +55,15 @@ public class BucketRepositoryImpl implements BucketRepositoryCustom {
     @Value("${pa.catalog.tenant.filtering}")
     private boolean isTenantFiltering;
 
+    @Value("${pa.catalog.db.items.max.size}")
+    private Integer dbItemsMaxSize;
+
+    @Value("${pa.catalog.db.parameters.max.size}")
+    private Integer dbParametersMaxSize;
+
+    @Autowired
+    private CatalogObjectNameGramIndex catalogObjectNameGramIndex;
+
     @Override
     public List<Object[]> findBucketContainingKindListAndContentTypeAndObjectName(List<String> kindList,
             String contentType, String objectName) {
@@ -123,6 +134,12 @@ public class BucketRepositoryImpl implements BucketRepositoryCustom {
             Predicate objectNamePredicate = cb.like(catalogObjectsJoin.get("nameLower"),
                                                     toBothSidesPredicatePattern(objectName.toLowerCase()));
             allPredicates.add(objectNamePredicate);
+            List<String> candidateObjectNames = catalogObjectNameGramIndex.findCandidateObjectNames(objectName,
+                                                                                                    null,
+                                                                                                    dbParametersMaxSize);
+            if (candidateObjectNames != null) {
+                allPredicates.add(in(cb, catalogObjectsJoin.get("nameLower"), candidateObjectNames));
+            }
         }
 
         if (owners != null && !owners.isEmpty()) {
@@ -197,6 +214,20 @@ public class BucketRepositoryImpl implements BucketRepositoryCustom {
                                   null);
     }
 
+    /**
+     * Splits the values in several IN expressions of at most pa.catalog.db.items.max.size values (the Oracle limit).
+     */
+    private Predicate in(CriteriaBuilder cb, Expression<?> expression, List<String> values) {
+        if (values.isEmpty()) {
+            return cb.disjunction();
+        }
+        Predicate[] inPredicates = Lists.partition(values, dbItemsMaxSize)
+                                        .stream()
+                                        .map(expression::in)
+                                        .toArray(Predicate[]::new);
+        return inPredicates.length == 1 ? inPredicates[0] : cb.or(inPredicates);
+    }
+
     private String toBothSidesPredicatePattern(String pattern) {
         return pattern.contains("%") ? pattern.toLowerCase() : "%" + pattern.toLowerCase() + "%";
     }
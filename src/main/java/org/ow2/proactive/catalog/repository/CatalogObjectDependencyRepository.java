@@ -0,0 +1,63 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectDependencyEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+
+/**
+ * @author ActiveEon Team
+ */
+public interface CatalogObjectDependencyRepository extends JpaRepository<CatalogObjectDependencyEntity, Long> {
+
+    @Query("SELECT d FROM CatalogObjectDependencyEntity d INNER JOIN d.sourceRevision cor INNER JOIN cor.catalogObject co " +
+           "WHERE co.bucket.bucketName = ?1 AND co.id.name = ?2 AND cor.commitTime = ?3 ORDER BY d.id")
+    List<CatalogObjectDependencyEntity> findDependencies(String bucketName, String objectName, long commitTime);
+
+    /**
+     * @return rows of bucket name and object name of the catalog objects whose latest revision depends on the given
+     * object
+     */
+    @Query("SELECT DISTINCT co.bucket.bucketName, co.id.name FROM CatalogObjectDependencyEntity d INNER JOIN d.sourceRevision cor INNER JOIN cor.catalogObject co " +
+           "WHERE d.targetBucketName = ?1 AND d.targetObjectName = ?2 AND co.latestRevision = cor")
+    List<Object[]> findDependentObjectNames(String targetBucketName, String targetObjectName);
+
+    /**
+     * @return the revisions after the given id which have depends_on metadata but no dependency row yet, by
+     * increasing id
+     */
+    @Query("SELECT DISTINCT cor FROM CatalogObjectRevisionEntity cor INNER JOIN cor.keyValueMetadataList metadata WHERE metadata.label = '" +
+           WorkflowParser.ATTRIBUTE_DEPENDS_ON_LABEL +
+           "' AND cor.id > ?1 AND NOT EXISTS (SELECT d.id FROM CatalogObjectDependencyEntity d WHERE d.sourceRevision = cor) ORDER BY cor.id")
+    List<CatalogObjectRevisionEntity> findRevisionsWithoutDependency(long afterRevisionId, Pageable pageable);
+}
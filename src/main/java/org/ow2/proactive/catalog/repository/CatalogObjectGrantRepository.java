@@ -27,6 +27,8 @@ package org.ow2.proactive.catalog.repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectGrantEntity;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
@@ -35,10 +37,12 @@ import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 public interface CatalogObjectGrantRepository extends JpaRepository<CatalogObjectGrantEntity, Long>,
         JpaSpecificationExecutor<CatalogObjectGrantEntity>, QueryDslPredicateExecutor<CatalogObjectGrantEntity> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.catalogObject.bucket.bucketName = ?1 AND  coge.catalogObject.id.name = ?2")
     List<CatalogObjectGrantEntity> findCatalogObjectGrantsByBucketNameAndCatalogObjectName(String bucketName,
             String objectName);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.catalogObject.bucket.id = ?1")
     List<CatalogObjectGrantEntity> findCatalogObjectGrantEntitiesByBucketEntityId(long bucketId);
 
@@ -50,6 +54,7 @@ public interface CatalogObjectGrantRepository extends JpaRepository<CatalogObjec
             List<String> userGroup);
 
     //TODO to test
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.catalogObject.bucket.bucketName = ?1 AND  coge.catalogObject.id.name = ?2 AND coge.accessType<>'noAccess'")
     List<CatalogObjectGrantEntity> findGrantsAssignedToAnObject(String bucketName, String catalogObjectName);
 
@@ -76,31 +81,40 @@ public interface CatalogObjectGrantRepository extends JpaRepository<CatalogObjec
     @Query(value = "SELECT coge.catalogObject.bucket.id FROM CatalogObjectGrantEntity coge WHERE coge.grantee in ?1 AND coge.granteeType='group' AND coge.accessType<>'noAccess'")
     List<Long> findAllBucketsIdFromCatalogObjectGrantsAssignedToAUserGroup(List<String> userGroups);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='user' AND coge.accessType='noAccess'")
     List<CatalogObjectGrantEntity> findAllObjectGrantsWithNoAccessRightsAndAssignedToAUsername(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='tenant' AND coge.accessType='noAccess'")
     List<CatalogObjectGrantEntity> findAllObjectGrantsWithNoAccessRightsAndAssignedToATenant(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee in ?1 AND coge.granteeType='group' AND coge.accessType='noAccess'")
     List<CatalogObjectGrantEntity>
             findAllObjectGrantsWithNoAccessRightsAndAssignedToAUserGroup(List<String> userGroups);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='user' AND coge.accessType<>'noAccess'")
     List<CatalogObjectGrantEntity> findAllAccessibleObjectGrantsAssignedToAUser(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='tenant' AND coge.accessType<>'noAccess'")
     List<CatalogObjectGrantEntity> findAllAccessibleObjectGrantsAssignedToATenant(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee in ?1 AND coge.granteeType='group' AND coge.accessType<>'noAccess'")
     List<CatalogObjectGrantEntity> findAllAccessibleObjectGrantsAssignedToUserGroups(List<String> userGroup);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='user'")
     List<CatalogObjectGrantEntity> findAllObjectGrantsAssignedToAUser(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee = ?1 AND coge.granteeType='tenant'")
     List<CatalogObjectGrantEntity> findAllObjectGrantsAssignedToATenant(String tenant);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query(value = "SELECT coge FROM CatalogObjectGrantEntity coge WHERE coge.grantee in ?1 AND coge.granteeType='group'")
     List<CatalogObjectGrantEntity> findAllObjectGrantsAssignedToUserGroups(List<String> userGroup);
 }
@@ -0,0 +1,150 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectNameGramEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.common.base.Strings;
+
+
+/**
+ * Narrows the catalog objects matching the substring filters on the name and on the project name, which are
+ * LIKE '%x%' patterns no B-tree index can serve, with the trigrams stored in CATALOG_OBJECT_NAME_GRAM.
+ * The LIKE check is still applied on the candidates, so the results are the same with or without the index.
+ *
+ * @author ActiveEon Team
+ */
+@Component
+public class CatalogObjectNameGramIndex {
+
+    // the LIKE wildcards, a trigram containing one of them cannot be looked up
+    private static final Pattern WILDCARDS = Pattern.compile("[%_]");
+
+    @Autowired
+    private CatalogObjectNameGramRepository catalogObjectNameGramRepository;
+
+    // set once all the catalog objects are indexed, before that objects without trigram would be missed
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    /**
+     * @param objectNameFilter substring filter on the object name, may be null
+     * @param projectNameFilter substring filter on the project name, may be null
+     * @param maxCandidates maximum number of candidates worth returning
+     * @return the lower-cased names of the catalog objects which may match both filters, or null when the index
+     * cannot narrow them: filters without any trigram, index being built or more than maxCandidates candidates
+     */
+    @Transactional(readOnly = true)
+    public List<String> findCandidateObjectNames(String objectNameFilter, String projectNameFilter,
+            int maxCandidates) {
+        if (!ready || maxCandidates <= 0) {
+            return null;
+        }
+        Set<String> candidates = null;
+        candidates = narrow(candidates, CatalogObjectNameGramEntity.Field.NAME, objectNameFilter, maxCandidates);
+        candidates = narrow(candidates,
+                            CatalogObjectNameGramEntity.Field.PROJECT_NAME,
+                            projectNameFilter,
+                            maxCandidates);
+        return candidates == null ? null : new ArrayList<>(candidates);
+    }
+
+    /**
+     * Index the next batch of catalog objects which have no trigram yet.
+     *
+     * @return the number of catalog objects indexed
+     */
+    @Transactional
+    public int indexNextBatch(int batchSize) {
+        List<CatalogObjectEntity> catalogObjects = catalogObjectNameGramRepository.findCatalogObjectsWithoutGram(CatalogObjectNameGramEntity.Field.NAME,
+                                                                                                                 new PageRequest(0,
+                                                                                                                                 batchSize));
+        for (CatalogObjectEntity catalogObject : catalogObjects) {
+            CatalogObjectRevisionEntity latestRevision = catalogObject.getLatestRevision();
+            catalogObject.synchronizeNameGrams(latestRevision.getProjectName());
+        }
+        return catalogObjects.size();
+    }
+
+    private Set<String> narrow(Set<String> candidates, CatalogObjectNameGramEntity.Field field, String filter,
+            int maxCandidates) {
+        Set<String> grams = filterTrigrams(filter);
+        if (grams.isEmpty()) {
+            return candidates;
+        }
+        List<String> objectNames = catalogObjectNameGramRepository.findObjectNamesHavingAllGrams(field,
+                                                                                                 grams,
+                                                                                                 grams.size(),
+                                                                                                 new PageRequest(0,
+                                                                                                                 maxCandidates +
+                                                                                                                    1));
+        if (objectNames.size() > maxCandidates) {
+            // not selective enough, the LIKE check alone will do
+            return candidates;
+        }
+        Set<String> fieldCandidates = new LinkedHashSet<>();
+        objectNames.forEach(objectName -> fieldCandidates.add(objectName.toLowerCase()));
+        if (candidates != null) {
+            fieldCandidates.retainAll(candidates);
+        }
+        return fieldCandidates;
+    }
+
+    /**
+     * @return the trigrams which any value matching the LIKE '%filter%' pattern contains
+     */
+    static Set<String> filterTrigrams(String filter) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (Strings.isNullOrEmpty(filter)) {
+            return grams;
+        }
+        for (String literal : WILDCARDS.split(filter.toLowerCase())) {
+            if (literal.length() >= CatalogObjectNameGramEntity.GRAM_LENGTH) {
+                grams.addAll(CatalogObjectNameGramEntity.trigrams(literal));
+            }
+        }
+        return grams;
+    }
+}
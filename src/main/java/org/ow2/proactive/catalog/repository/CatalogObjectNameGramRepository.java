@@ -0,0 +1,59 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectNameGramEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+
+/**
+ * @author ActiveEon Team
+ */
+public interface CatalogObjectNameGramRepository extends JpaRepository<CatalogObjectNameGramEntity, Long> {
+
+    /**
+     * @return the names of the catalog objects having all the given trigrams in the given field, an object name
+     * is returned once per bucket containing it
+     */
+    @Query(value = "SELECT g.catalogObject.id.name FROM CatalogObjectNameGramEntity g WHERE g.field = ?1 AND g.gram IN ?2 GROUP BY g.catalogObject.id.bucketId, g.catalogObject.id.name HAVING COUNT(DISTINCT g.gram) = ?3")
+    List<String> findObjectNamesHavingAllGrams(CatalogObjectNameGramEntity.Field field, Collection<String> grams,
+            long gramCount, Pageable pageable);
+
+    /**
+     * @return catalog objects which have no trigram in the given field, i.e. objects created before the trigram
+     * index existed when the field is the name, which always has a trigram
+     */
+    @Query(value = "SELECT co FROM CatalogObjectEntity co WHERE co.latestRevision IS NOT NULL AND NOT EXISTS (SELECT g.id FROM CatalogObjectNameGramEntity g WHERE g.catalogObject = co AND g.field = ?1)")
+    List<CatalogObjectEntity> findCatalogObjectsWithoutGram(CatalogObjectNameGramEntity.Field field,
+            Pageable pageable);
+
+}
@@ -25,11 +25,12 @@
  */
 package org.ow2.proactive.catalog.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
-import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -53,11 +54,49 @@ public interface CatalogObjectRepository
     @Query(value = "SELECT DISTINCT cos.contentType FROM CatalogObjectEntity cos")
     Set<String> findAllContentTypes();
 
-    @Query(value = "SELECT DISTINCT kvlem.key FROM KeyValueLabelMetadataEntity kvlem where kvlem.label='" +
-                   WorkflowParser.OBJECT_TAG_LABEL + "'")
+    @Query(value = "SELECT DISTINCT t.tag FROM CatalogObjectTagEntity t")
     Set<String> findAllObjectTags();
 
-    @Query("SELECT cos FROM CatalogObjectEntity cos WHERE cos.nameLower = null OR cos.kindLower = null OR cos.contentTypeLower = null")
-    List<CatalogObjectEntity> findWithNullNameKindOrContentType();
+    /**
+     * @return rows of kind and number of catalog objects of this kind
+     */
+    @Query(value = "SELECT cos.kind, COUNT(cos) FROM CatalogObjectEntity cos GROUP BY cos.kind")
+    List<Object[]> countObjectsByKind();
+
+    /**
+     * @return rows of Content-Type and number of catalog objects of this Content-Type
+     */
+    @Query(value = "SELECT cos.contentType, COUNT(cos) FROM CatalogObjectEntity cos GROUP BY cos.contentType")
+    List<Object[]> countObjectsByContentType();
+
+    /**
+     * @return rows of tag and number of catalog objects having this tag
+     */
+    @Query(value = "SELECT t.tag, COUNT(t) FROM CatalogObjectTagEntity t GROUP BY t.tag")
+    List<Object[]> countObjectsByTag();
+
+    @Query("SELECT cos FROM CatalogObjectEntity cos WHERE cos.id.bucketId = ?1 AND cos.id.name IN ?2")
+    List<CatalogObjectEntity> findByBucketIdAndNameIn(Long bucketId, Collection<String> names);
+
+    /**
+     * @return rows of bucket name, object name and kind of the catalog objects in one of the buckets having one of
+     * the names
+     */
+    @Query("SELECT cos.bucket.bucketName, cos.id.name, cos.kind FROM CatalogObjectEntity cos WHERE cos.bucket.bucketName IN ?1 AND cos.id.name IN ?2")
+    List<Object[]> findKinds(Collection<String> bucketNames, Collection<String> names);
+
+    /**
+     * @return the catalog objects whose lower case name, kind or content type is missing while the original value
+     * is set
+     */
+    @Query("SELECT cos FROM CatalogObjectEntity cos WHERE cos.nameLower = null OR cos.kindLower = null OR (cos.contentTypeLower = null AND cos.contentType IS NOT NULL)")
+    List<CatalogObjectEntity> findWithNullNameKindOrContentType(Pageable pageable);
+
+    /**
+     * @return at most one row of last commit time, kind and content type of the catalog object, read without loading
+     * its revisions
+     */
+    @Query("SELECT cos.lastCommitTime, cos.kind, cos.contentType FROM CatalogObjectEntity cos WHERE cos.bucket.bucketName = ?1 AND cos.id.name = ?2")
+    List<Object[]> findVersion(String bucketName, String name);
 
 }
@@ -0,0 +1,87 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+
+/**
+ * @author ActiveEon Team
+ */
+public interface CatalogObjectRevisionContentRepository extends JpaRepository<CatalogObjectRevisionContentEntity, Long>,
+        CatalogObjectRevisionContentRepositoryCustom {
+
+    @Query(value = "SELECT c.id FROM CatalogObjectRevisionContentEntity c WHERE c.hash = ?1")
+    Long findIdByHash(String hash);
+
+    @Modifying
+    @Query(value = "UPDATE CatalogObjectRevisionContentEntity c SET c.referenceCount = c.referenceCount + :count WHERE c.hash = :hash")
+    int incrementReferenceCount(@Param("hash") String hash, @Param("count") long count);
+
+    @Query(value = "SELECT c.id, c.hash FROM CatalogObjectRevisionContentEntity c WHERE c.hash IN ?1")
+    List<Object[]> findIdAndHashByHashIn(Collection<String> hashes);
+
+    @Modifying
+    @Query(value = "UPDATE CatalogObjectRevisionContentEntity c SET c.referenceCount = c.referenceCount + :count WHERE c.id IN :ids")
+    int incrementReferenceCounts(@Param("ids") Collection<Long> ids, @Param("count") long count);
+
+    @Modifying
+    @Query(value = "UPDATE CatalogObjectRevisionContentEntity c SET c.referenceCount = c.referenceCount - :count WHERE c.id = :id")
+    int decrementReferenceCount(@Param("id") Long id, @Param("count") long count);
+
+    /**
+     * @return the contents referenced neither by a revision nor by a delta based on them
+     */
+    @Query(value = "SELECT c.id FROM CatalogObjectRevisionContentEntity c WHERE c.referenceCount <= 0 AND NOT EXISTS (SELECT cor.id FROM CatalogObjectRevisionEntity cor WHERE cor.content = c) AND NOT EXISTS (SELECT d.id FROM CatalogObjectRevisionContentEntity d WHERE d.baseContent = c)")
+    List<Long> findUnreferencedContentIds();
+
+    /**
+     * @return the contents among the given ones referenced neither by a revision nor by a delta based on them
+     */
+    @Query(value = "SELECT c.id FROM CatalogObjectRevisionContentEntity c WHERE c.id IN ?1 AND c.referenceCount <= 0 AND NOT EXISTS (SELECT cor.id FROM CatalogObjectRevisionEntity cor WHERE cor.content = c) AND NOT EXISTS (SELECT d.id FROM CatalogObjectRevisionContentEntity d WHERE d.baseContent = c)")
+    List<Long> findUnreferencedContentIdsByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT c.baseContent.id FROM CatalogObjectRevisionContentEntity c WHERE c.baseContent IS NOT NULL AND c.id IN ?1")
+    List<Long> findBaseContentIdsByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT c.filePath FROM CatalogObjectRevisionContentEntity c WHERE c.filePath IS NOT NULL AND c.id IN ?1")
+    List<String> findContentFilePathsByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT c.filePath FROM CatalogObjectRevisionContentEntity c WHERE c.filePath IS NOT NULL")
+    List<String> findAllContentFilePaths();
+
+    // the contents are selected first: MySQL does not allow a delete statement to select from the deleted table
+    @Modifying
+    @Query(value = "DELETE FROM CatalogObjectRevisionContentEntity c WHERE c.referenceCount <= 0 AND c.id IN ?1")
+    int deleteUnreferencedContentsByIdIn(Collection<Long> ids);
+}
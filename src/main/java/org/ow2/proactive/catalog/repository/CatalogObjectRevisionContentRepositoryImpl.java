@@ -0,0 +1,67 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public class CatalogObjectRevisionContentRepositoryImpl implements CatalogObjectRevisionContentRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Override
+    public boolean insertIfAbsent(CatalogObjectRevisionContentEntity content) {
+        // the pending changes of the transaction are not part of the insertion which may be rolled back
+        em.flush();
+        // a session sharing the connection of the transaction, discarded with its state if the insertion fails
+        Session insertSession = em.unwrap(Session.class).sessionWithOptions().connection().openSession();
+        try {
+            Savepoint savepoint = insertSession.doReturningWork(Connection::setSavepoint);
+            try {
+                insertSession.persist(content);
+                insertSession.flush();
+            } catch (ConstraintViolationException e) {
+                insertSession.doWork(connection -> connection.rollback(savepoint));
+                return false;
+            }
+            // the savepoint is released with the transaction, not every driver supports releasing it earlier
+            return true;
+        } finally {
+            insertSession.close();
+        }
+    }
+}
@@ -27,7 +27,13 @@ package org.ow2.proactive.catalog.repository;
 
 import java.util.List;
 
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadataPage;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 
 
 /**
@@ -35,14 +41,41 @@ import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
  */
 public interface CatalogObjectRevisionCustom {
 
-    List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameInBucket(
+    /**
+     * Returns the metadata of the latest revisions of the matching objects without loading their entities.
+     */
+    List<CatalogObjectMetadata> findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameInBucket(
             List<String> bucketNames, List<String> kindList, String contentType, String objectName, String projectName,
             String lastCommitBy, String committedAtLeastOnceBy, Long lastCommitTimeGreater, Long lastCommitTimeLessThan,
             int pageNo, int pageSize);
 
-    List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameAndTagInBucket(
+    /**
+     * Same as above, optionally restricted to the given lower-cased object names and to the objects having a tag
+     * starting with the given one, or matching it when it contains % wildcards. Bucket and object name lists of any
+     * size are applied within a single query, so that the requested page is exact. The key-value metadata of the
+     * objects is only fetched when withKeyValueMetadata is true.
+     */
+    List<CatalogObjectMetadata> findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucket(
             List<String> bucketNames, List<String> objectNames, List<String> kindList, String contentType,
             String objectName, String projectName, String lastCommitBy, String committedAtLeastOnceBy, String tag,
-            Long lastCommitTimeGreater, Long lastCommitTimeLessThan, int pageNo, int pageSize);
+            Long lastCommitTimeGreater, Long lastCommitTimeLessThan, int pageNo, int pageSize,
+            boolean withKeyValueMetadata);
+
+    /**
+     * Keyset variant of the metadata projection: returns at most pageSize objects located after the given cursor
+     * (from the first object when the cursor is null) in the {@link CatalogObjectRevisionKeyset} order. The tag
+     * filter is ignored when null.
+     */
+    CatalogObjectMetadataPage findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucketAfter(
+            List<String> bucketNames, List<String> kindList, String contentType, String objectName, String projectName,
+            String lastCommitBy, String committedAtLeastOnceBy, String tag, Long lastCommitTimeGreater,
+            Long lastCommitTimeLessThan, CatalogObjectCursor after, int pageSize);
+
+    /**
+     * Returns the requested page of the revisions matching the given specification without counting them, the page
+     * only telling whether a next page exists.
+     */
+    Slice<CatalogObjectRevisionEntity> findSliceWithoutCount(Specification<CatalogObjectRevisionEntity> specification,
+            Pageable pageable);
 
 }
@@ -0,0 +1,88 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
+
+
+/**
+ * Ordering and seek predicate used to list the latest revisions of catalog objects by key, i.e. by
+ * (project name, bucket, object name).
+ * <p>
+ * The project name is ordered through the project sort key of the catalog object, which groups empty project names
+ * first, and the bucket through its id, so that the ordering is identical on all supported databases and is served
+ * by the PROJECT_SORT_KEY_INDEX of the catalog objects.
+ *
+ * @author ActiveEon Team
+ */
+public final class CatalogObjectRevisionKeyset {
+
+    private CatalogObjectRevisionKeyset() {
+    }
+
+    public static List<Order> orderBy(CriteriaBuilder cb, Root<CatalogObjectRevisionEntity> root) {
+        return Arrays.asList(cb.asc(projectSortKey(root)), cb.asc(bucketId(root)), cb.asc(objectName(root)));
+    }
+
+    /**
+     * @return a predicate selecting the revisions located strictly after the given cursor in the keyset order
+     */
+    public static Predicate after(CriteriaBuilder cb, Root<CatalogObjectRevisionEntity> root,
+            CatalogObjectCursor cursor) {
+        String projectSortKey = CatalogObjectEntity.projectSortKey(cursor.getProjectName());
+        Predicate afterInProject = cb.or(cb.greaterThan(bucketId(root), cursor.getBucketId()),
+                                         cb.and(cb.equal(bucketId(root), cursor.getBucketId()),
+                                                cb.greaterThan(objectName(root), cursor.getName())));
+        // the leading range on the sort key lets the database seek the index instead of evaluating the disjunction
+        // on all the objects
+        return cb.and(cb.greaterThanOrEqualTo(projectSortKey(root), projectSortKey),
+                      cb.or(cb.greaterThan(projectSortKey(root), projectSortKey),
+                            cb.and(cb.equal(projectSortKey(root), projectSortKey), afterInProject)));
+    }
+
+    private static Path<String> projectSortKey(Root<CatalogObjectRevisionEntity> root) {
+        return root.get("catalogObject").get("projectSortKey");
+    }
+
+    private static Path<Long> bucketId(Root<CatalogObjectRevisionEntity> root) {
+        return root.get("catalogObject").get("id").get("bucketId");
+    }
+
+    private static Path<String> objectName(Root<CatalogObjectRevisionEntity> root) {
+        return root.get("catalogObject").get("id").get("name");
+    }
+}
@@ -25,17 +25,16 @@
  */
 package org.ow2.proactive.catalog.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
-import org.ow2.proactive.catalog.util.parser.WorkflowParser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 
 /**
@@ -45,16 +44,19 @@ import org.springframework.data.repository.query.Param;
 public interface CatalogObjectRevisionRepository extends JpaRepository<CatalogObjectRevisionEntity, UUID>,
         JpaSpecificationExecutor<CatalogObjectRevisionEntity>, CatalogObjectRevisionCustom {
 
-    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.projectName = null OR cor.projectName = ''")
-    List<CatalogObjectRevisionEntity> findWithEmptyOrNullProjectName();
+    /**
+     * @return the revisions after the given id whose project name is empty or not set, by increasing id
+     */
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.id > ?1 AND (cor.projectName = null OR cor.projectName = '') ORDER BY cor.id")
+    List<CatalogObjectRevisionEntity> findWithEmptyOrNullProjectName(long afterRevisionId, Pageable pageable);
 
-    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.bucket.bucketName in ?1 AND cor.catalogObject.lastCommitTime = cor.commitTime ORDER BY cor.projectName")
+    @Query(value = "SELECT cor FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor WHERE co.bucket.bucketName in ?1 ORDER BY cor.projectName", countQuery = "SELECT count(cor) FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor WHERE co.bucket.bucketName in ?1")
     Page<CatalogObjectRevisionEntity> findDefaultCatalogObjectsInBucket(List<String> bucketNames, Pageable pageable);
 
-    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.bucket.bucketName in ?1 AND cor.catalogObject.id.name = ?2 AND cor.catalogObject.lastCommitTime = cor.commitTime")
+    @Query("SELECT cor FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor WHERE co.bucket.bucketName in ?1 AND co.id.name = ?2")
     CatalogObjectRevisionEntity findDefaultCatalogObjectByNameInBucket(List<String> bucketNames, String name);
 
-    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.bucket.bucketName = ?1 AND cor.catalogObject.id.name in ?2 AND cor.catalogObject.lastCommitTime = cor.commitTime")
+    @Query("SELECT cor FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor WHERE co.bucket.bucketName = ?1 AND co.id.name in ?2")
     List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsByNameInBucket(String bucketName,
             List<String> objectName);
 
@@ -65,37 +67,54 @@ public interface CatalogObjectRevisionRepository extends JpaRepository<CatalogOb
     CatalogObjectRevisionEntity findCatalogObjectRevisionByCommitTime(List<String> bucketNames, String name,
             long commitTime);
 
-    @Query("SELECT metadata.key FROM CatalogObjectRevisionEntity cor INNER JOIN cor.keyValueMetadataList metadata WHERE metadata.label = '" +
-           WorkflowParser.ATTRIBUTE_DEPENDS_ON_LABEL +
-           "' AND cor.catalogObject.bucket.bucketName = :bucketName AND cor.catalogObject.id.name = :objectName " +
-           " AND cor.commitTime = :revisionTime")
-    List<String> findDependsOnCatalogObjectNamesFromKeyValueMetadata(@Param("bucketName") String bucketName,
-            @Param("objectName") String objectName, @Param("revisionTime") long commitTime);
-
-    @Query("SELECT metadata.value FROM CatalogObjectRevisionEntity cor INNER JOIN cor.keyValueMetadataList metadata WHERE metadata.label = '" +
-           WorkflowParser.ATTRIBUTE_DEPENDS_ON_LABEL +
-           "' AND cor.catalogObject.bucket.bucketName = :bucketName AND cor.catalogObject.id.name = :objectName " +
-           " AND cor.commitTime = :revisionTime AND metadata.key = :dependsOnObject")
-    String findRevisionOfDependsOnCatalogObjectFromKeyLabelMetadata(@Param("bucketName") String bucketName,
-            @Param("objectName") String objectName, @Param("revisionTime") long commitTime,
-            @Param("dependsOnObject") String dependsOnObject);
+    /**
+     * @return rows of bucket name, object name and commit time of the revisions of the catalog objects in one of the
+     * buckets having one of the names, committed at one of the times
+     */
+    @Query("SELECT co.bucket.bucketName, co.id.name, cor.commitTime FROM CatalogObjectRevisionEntity cor INNER JOIN cor.catalogObject co " +
+           "WHERE co.bucket.bucketName IN ?1 AND co.id.name IN ?2 AND cor.commitTime IN ?3")
+    List<Object[]> findRevisionCommitTimes(Collection<String> bucketNames, Collection<String> names,
+            Collection<Long> commitTimes);
 
     /**
-     *
-     * @param bucketObjectName
-     * @return a list of objects (checking only the last revision) that depend on the passed bucketObjectName
+     * @return at most one row of commit time of the revision and kind and content type of its catalog object, read
+     * without loading the revision
      */
-    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor INNER JOIN cor.keyValueMetadataList metadata WHERE metadata.label = '" +
-           WorkflowParser.ATTRIBUTE_DEPENDS_ON_LABEL + "' AND metadata.key = :bucketObjectName" +
-           " AND cor.commitTime = cor.catalogObject.lastCommitTime")
-    List<CatalogObjectRevisionEntity>
-            findCalledByCatalogObjectsFromKeyValueMetadata(@Param("bucketObjectName") String bucketObjectName);
-
-    @Query(value = "SELECT cor FROM CatalogObjectRevisionEntity cor " +
-                   "WHERE cor.catalogObject.kindLower LIKE lower(concat(?1, '%')) " +
-                   "AND cor.catalogObject.contentTypeLower LIKE lower(concat(?2, '%'))  " +
-                   "AND cor.commitTime = cor.catalogObject.lastCommitTime ")
+    @Query("SELECT cor.commitTime, co.kind, co.contentType FROM CatalogObjectRevisionEntity cor INNER JOIN cor.catalogObject co " +
+           "WHERE co.bucket.bucketName = ?1 AND co.id.name = ?2 AND cor.commitTime = ?3")
+    List<Object[]> findRevisionVersion(String bucketName, String name, long commitTime);
+
+    @Query(value = "SELECT cor FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor " +
+                   "WHERE co.kindLower LIKE lower(concat(?1, '%')) " +
+                   "AND co.contentTypeLower LIKE lower(concat(?2, '%'))")
     List<CatalogObjectRevisionEntity> findCatalogObjectNameReferenceByKindAndContentType(String kind,
             String contentType);
 
+    /**
+     * @return the last revision of the catalog objects whose latest revision pointer was not set yet
+     */
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.latestRevision IS NULL AND cor.commitTime = cor.catalogObject.lastCommitTime")
+    List<CatalogObjectRevisionEntity> findLastRevisionsWithoutLatestRevisionPointer(Pageable pageable);
+
+    /**
+     * @return the latest revision of the catalog objects whose project sort key was not set yet
+     */
+    @Query("SELECT cor FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor WHERE co.projectSortKey IS NULL")
+    List<CatalogObjectRevisionEntity> findLatestRevisionsWithoutProjectSortKey(Pageable pageable);
+
+    /**
+     * @return the id, object name, commit time and restored from commit time of the first revisions of the bucket,
+     * from the most recent to the oldest revision of each object
+     */
+    @Query("SELECT cor.id, co.id.name, cor.commitTime, cor.restoredFromCommitTime FROM CatalogObjectRevisionEntity cor INNER JOIN cor.catalogObject co WHERE co.id.bucketId = ?1 ORDER BY co.id.name, cor.commitTime DESC")
+    List<Object[]> findRevisionSummariesInBucket(Long bucketId, Pageable pageable);
+
+    /**
+     * @return the same rows as {@link #findRevisionSummariesInBucket(Long, Pageable)}, following the revision of the
+     * given object committed at the given time
+     */
+    @Query("SELECT cor.id, co.id.name, cor.commitTime, cor.restoredFromCommitTime FROM CatalogObjectRevisionEntity cor INNER JOIN cor.catalogObject co WHERE co.id.bucketId = ?1 AND (co.id.name > ?2 OR (co.id.name = ?2 AND cor.commitTime < ?3)) ORDER BY co.id.name, cor.commitTime DESC")
+    List<Object[]> findRevisionSummariesInBucketAfter(Long bucketId, String afterName, long afterCommitTime,
+            Pageable pageable);
+
 }
@@ -26,177 +26,287 @@
 package org.ow2.proactive.catalog.repository;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.*;
 
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadataPage;
+import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
-import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
-import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTagEntity;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 
+import lombok.AllArgsConstructor;
+
 
 @Repository
 public class CatalogObjectRevisionRepositoryImpl implements CatalogObjectRevisionCustom {
 
+    private static final String BUCKET_IDS_BY_NAME_QUERY = "SELECT b.id FROM BucketEntity b WHERE b.bucketName IN :names";
+
+    private static final String LATEST_REVISION_IDS_BY_OBJECT_NAME_QUERY = "SELECT co.latestRevision.id FROM CatalogObjectEntity co WHERE co.nameLower IN :names";
+
     @PersistenceContext
     EntityManager em;
 
     @Value("${pa.catalog.db.items.max.size}")
     private Integer dbItemsMaxSize;
 
+    @Value("${pa.catalog.db.parameters.max.size}")
+    private Integer dbParametersMaxSize;
+
+    @Autowired
+    private CatalogObjectNameGramIndex catalogObjectNameGramIndex;
+
     @Override
-    public List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameInBucket(
+    public List<CatalogObjectMetadata> findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameInBucket(
             List<String> bucketNames, List<String> kindList, String contentType, String objectName, String projectName,
             String lastCommitBy, String committedAtLeastOnceBy, Long lastCommitTimeGreater, Long lastCommitTimeLessThan,
             int pageNo, int pageSize) {
-        if (pageSize < 0) {
-            throw new IllegalArgumentException("pageSize cannot be negative");
-        }
-        return bucketNames != null && bucketNames.isEmpty() ? new ArrayList<>()
-                                                            : em.createQuery(buildCriteriaQuery(bucketNames,
-                                                                                                kindList,
-                                                                                                contentType,
-                                                                                                objectName,
-                                                                                                projectName,
-                                                                                                lastCommitBy,
-                                                                                                committedAtLeastOnceBy,
-                                                                                                lastCommitTimeGreater,
-                                                                                                lastCommitTimeLessThan))
-                                                                .setMaxResults(pageSize)
-                                                                .setFirstResult(pageNo * pageSize)
-                                                                .getResultList();
+        return findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucket(bucketNames,
+                                                                                                   null,
+                                                                                                   kindList,
+                                                                                                   contentType,
+                                                                                                   objectName,
+                                                                                                   projectName,
+                                                                                                   lastCommitBy,
+                                                                                                   committedAtLeastOnceBy,
+                                                                                                   null,
+                                                                                                   lastCommitTimeGreater,
+                                                                                                   lastCommitTimeLessThan,
+                                                                                                   pageNo,
+                                                                                                   pageSize,
+                                                                                                   true);
     }
 
     @Override
-    public List<CatalogObjectRevisionEntity>
-            findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameAndTagInBucket(List<String> bucketNames,
-                    List<String> objectNames, List<String> kindList, String contentType, String objectName,
-                    String projectName, String lastCommitBy, String committedAtLeastOnceBy, String tag,
-                    Long lastCommitTimeGreater, Long lastCommitTimeLessThan, int pageNo, int pageSize) {
+    public List<CatalogObjectMetadata>
+            findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucket(
+                    List<String> bucketNames, List<String> objectNames, List<String> kindList, String contentType,
+                    String objectName, String projectName, String lastCommitBy, String committedAtLeastOnceBy,
+                    String tag, Long lastCommitTimeGreater, Long lastCommitTimeLessThan, int pageNo, int pageSize,
+                    boolean withKeyValueMetadata) {
         if (pageSize < 0) {
             throw new IllegalArgumentException("pageSize cannot be negative");
         }
-        if (bucketNames != null) {
-            if (bucketNames.isEmpty()) {
-                return new ArrayList<>();
-            } else if (bucketNames.size() > dbItemsMaxSize) {
-                // if the number of buckets to filter is greater than the configurable max items, we consider not to filter by bucket names.
-                // doing otherwise would be very complex
-                bucketNames = null;
-            }
+        if (objectNames == null) {
+            objectNames = findCandidateObjectNames(bucketNames, objectName, projectName);
         }
-        if (objectNames != null && objectNames.isEmpty()) {
+        if ((bucketNames != null && bucketNames.isEmpty()) || (objectNames != null && objectNames.isEmpty())) {
             return new ArrayList<>();
-        } else if (objectNames != null && objectNames.size() > dbItemsMaxSize) {
-            // we create a split partition for a big size of object name list
-            List<CatalogObjectRevisionEntity> answer = new ArrayList<>();
-            List<List<String>> partition = Lists.partition(objectNames, dbItemsMaxSize);
-            for (List<String> objectNamesSubList : partition) {
-                List<CatalogObjectRevisionEntity> subAnswer = em.createQuery(buildCriteriaQuery(bucketNames,
-                                                                                                objectNamesSubList,
-                                                                                                kindList,
-                                                                                                contentType,
-                                                                                                objectName,
-                                                                                                projectName,
-                                                                                                lastCommitBy,
-                                                                                                committedAtLeastOnceBy,
-                                                                                                lastCommitTimeGreater,
-                                                                                                lastCommitTimeLessThan,
-                                                                                                tag))
-                                                                .setMaxResults(pageSize)
-                                                                .setFirstResult(pageNo * pageSize)
-                                                                .getResultList()
-                                                                .stream()
-                                                                .distinct()
-                                                                .collect(Collectors.toList());
-                answer.addAll(subAnswer);
-            }
-            return answer;
-        } else {
-            return em.createQuery(buildCriteriaQuery(bucketNames,
-                                                     objectNames,
-                                                     kindList,
-                                                     contentType,
-                                                     objectName,
-                                                     projectName,
-                                                     lastCommitBy,
-                                                     committedAtLeastOnceBy,
-                                                     lastCommitTimeGreater,
-                                                     lastCommitTimeLessThan,
-                                                     tag))
-                     .setMaxResults(pageSize)
-                     .setFirstResult(pageNo * pageSize)
-                     .getResultList()
-                     .stream()
-                     .distinct()
-                     .collect(Collectors.toList());
         }
+        List<Tuple> rows = findRows(nameFilter -> buildMetadataCriteriaQuery(nameFilter,
+                                                                             kindList,
+                                                                             contentType,
+                                                                             objectName,
+                                                                             projectName,
+                                                                             lastCommitBy,
+                                                                             committedAtLeastOnceBy,
+                                                                             lastCommitTimeGreater,
+                                                                             lastCommitTimeLessThan,
+                                                                             tag,
+                                                                             null),
+                                    bucketNames,
+                                    objectNames,
+                                    pageNo * pageSize,
+                                    pageSize);
+        return toCatalogObjectMetadataList(rows, withKeyValueMetadata);
     }
 
-    private String toRightSidePredicatePattern(String pattern) {
-        return pattern.contains("%") ? pattern.toLowerCase() : pattern.toLowerCase() + "%";
-    }
-
-    private String toBothSidesPredicatePattern(String pattern) {
-        return pattern.contains("%") ? pattern.toLowerCase() : "%" + pattern.toLowerCase() + "%";
+    @Override
+    public CatalogObjectMetadataPage findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucketAfter(
+            List<String> bucketNames, List<String> kindList, String contentType, String objectName, String projectName,
+            String lastCommitBy, String committedAtLeastOnceBy, String tag, Long lastCommitTimeGreater,
+            Long lastCommitTimeLessThan, CatalogObjectCursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<String> objectNames = findCandidateObjectNames(bucketNames, objectName, projectName);
+        if ((bucketNames != null && bucketNames.isEmpty()) || (objectNames != null && objectNames.isEmpty())) {
+            return new CatalogObjectMetadataPage(new ArrayList<>(), null);
+        }
+        // one more row is fetched to know whether there is a next page
+        List<Tuple> rows = findRows(nameFilter -> buildMetadataCriteriaQuery(nameFilter,
+                                                                             kindList,
+                                                                             contentType,
+                                                                             objectName,
+                                                                             projectName,
+                                                                             lastCommitBy,
+                                                                             committedAtLeastOnceBy,
+                                                                             lastCommitTimeGreater,
+                                                                             lastCommitTimeLessThan,
+                                                                             tag,
+                                                                             after),
+                                    bucketNames,
+                                    objectNames,
+                                    0,
+                                    pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1);
+        CatalogObjectCursor nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Tuple last = rows.get(pageSize - 1);
+            nextCursor = new CatalogObjectCursor(last.get("projectName", String.class),
+                                                 last.get("bucketId", Long.class),
+                                                 last.get("name", String.class));
+        }
+        return new CatalogObjectMetadataPage(toCatalogObjectMetadataList(rows, true), nextCursor);
     }
 
-    private CriteriaQuery<CatalogObjectRevisionEntity> buildCriteriaQuery(List<String> bucketNames,
-            List<String> objectNames, List<String> kindList, String contentType, String objectName, String projectName,
-            String lastCommitBy, String committedAtLeastOnceBy, Long lastCommitTimeGreater, Long lastCommitTimeLessThan,
-            String tag) {
+    @Override
+    public Slice<CatalogObjectRevisionEntity> findSliceWithoutCount(
+            Specification<CatalogObjectRevisionEntity> specification, Pageable pageable) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<CatalogObjectRevisionEntity> cq = cb.createQuery(CatalogObjectRevisionEntity.class);
         Root<CatalogObjectRevisionEntity> root = cq.from(CatalogObjectRevisionEntity.class);
+        Predicate predicate = specification.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        cq.select(root);
+        // one more row is fetched to know whether there is a next page
+        List<CatalogObjectRevisionEntity> revisions = em.createQuery(cq)
+                                                        .setFirstResult(pageable.getOffset())
+                                                        .setMaxResults(pageable.getPageSize() + 1)
+                                                        .getResultList();
+        boolean hasNext = revisions.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? revisions.subList(0, pageable.getPageSize()) : revisions,
+                               pageable,
+                               hasNext);
+    }
 
-        ListJoin<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadata = null;
-
-        if (tag != null) {
-            metadata = root.joinList("keyValueMetadataList");
+    /**
+     * Substring filters on the object and project names are narrowed by the trigram index to a list of object names,
+     * bound like the object names given by the caller, the LIKE check being kept on the candidates.
+     *
+     * @return the candidate object names, or null when the index cannot narrow the filters
+     */
+    private List<String> findCandidateObjectNames(List<String> bucketNames, String objectName, String projectName) {
+        if (Strings.isNullOrEmpty(objectName) && Strings.isNullOrEmpty(projectName)) {
+            return null;
         }
+        return catalogObjectNameGramIndex.findCandidateObjectNames(objectName,
+                                                                   projectName,
+                                                                   dbParametersMaxSize -
+                                                                                (bucketNames == null ? 0
+                                                                                                     : bucketNames.size()));
+    }
 
-        List<Predicate> allPredicates = getCommonPredicates(kindList,
-                                                            cb,
-                                                            cq,
-                                                            root,
-                                                            contentType,
-                                                            objectName,
-                                                            projectName,
-                                                            lastCommitBy,
-                                                            committedAtLeastOnceBy,
-                                                            lastCommitTimeGreater,
-                                                            lastCommitTimeLessThan,
-                                                            bucketNames,
-                                                            objectNames);
+    /**
+     * Returns a page of the rows of the query built for the given bucket and object name filters, paginated by the
+     * database. The names are bound as parameters as long as they fit in a statement
+     * (pa.catalog.db.parameters.max.size), lists larger than pa.catalog.db.items.max.size being split into several
+     * IN expressions. Above, the names are first resolved to the ids of the buckets and of the latest revisions of the
+     * named objects, which are written in the query as literals and so are not bound as parameters.
+     */
+    private List<Tuple> findRows(Function<NameFilter, CriteriaQuery<Tuple>> queryBuilder, List<String> bucketNames,
+            List<String> objectNames, int firstResult, int maxResults) {
+        int bucketCount = bucketNames == null ? 0 : bucketNames.size();
+        int objectCount = objectNames == null ? 0 : objectNames.size();
+        NameFilter nameFilter;
+        if (bucketCount + objectCount <= dbParametersMaxSize) {
+            nameFilter = new NameFilter(bucketNames, objectNames, null, null);
+        } else {
+            List<Long> bucketIds = bucketNames == null ? null : findIds(BUCKET_IDS_BY_NAME_QUERY, bucketNames);
+            List<Long> latestRevisionIds = objectNames == null ? null
+                                                               : findIds(LATEST_REVISION_IDS_BY_OBJECT_NAME_QUERY,
+                                                                         objectNames);
+            if ((bucketIds != null && bucketIds.isEmpty()) ||
+                (latestRevisionIds != null && latestRevisionIds.isEmpty())) {
+                return new ArrayList<>();
+            }
+            nameFilter = new NameFilter(null, null, bucketIds, latestRevisionIds);
+        }
+        return em.createQuery(queryBuilder.apply(nameFilter))
+                 .setFirstResult(firstResult)
+                 .setMaxResults(maxResults)
+                 .getResultList();
+    }
 
-        if (tag != null) {
-            allPredicates.add(cb.equal(metadata.get("label"), WorkflowParser.OBJECT_TAG_LABEL));
-            allPredicates.add(cb.like(cb.lower(metadata.get("key")), toBothSidesPredicatePattern(tag)));
+    private List<Long> findIds(String query, List<String> names) {
+        List<Long> ids = new ArrayList<>();
+        for (List<String> namesSubList : Lists.partition(names, dbItemsMaxSize)) {
+            ids.addAll(em.createQuery(query, Long.class).setParameter("names", namesSubList).getResultList());
         }
+        return ids;
+    }
 
-        cq.where(allPredicates.toArray(new Predicate[0]));
+    /**
+     * Builds the metadata list of the given projection rows, the key-value metadata of all the revisions of the page
+     * being fetched at once.
+     */
+    private List<CatalogObjectMetadata> toCatalogObjectMetadataList(List<Tuple> rows, boolean withKeyValueMetadata) {
+        Map<Long, Tuple> rowsById = new LinkedHashMap<>();
+        rows.forEach(row -> rowsById.put(row.get("id", Long.class), row));
+        List<Long> revisionIds = new ArrayList<>(rowsById.keySet());
+        Map<Long, List<Metadata>> keyValueMetadataById = withKeyValueMetadata ? findKeyValueMetadataByRevisionIds(revisionIds)
+                                                                              : Collections.emptyMap();
+        return rowsById.entrySet()
+                       .stream()
+                       .map(entry -> toCatalogObjectMetadata(entry.getValue(),
+                                                             keyValueMetadataById.getOrDefault(entry.getKey(),
+                                                                                               new ArrayList<>())))
+                       .collect(Collectors.toList());
+    }
 
-        cq.orderBy(cb.asc(root.get("projectName")));
+    private CatalogObjectMetadata toCatalogObjectMetadata(Tuple row, List<Metadata> keyValueMetadataList) {
+        return new CatalogObjectMetadata(row.get("bucketName", String.class),
+                                         row.get("name", String.class),
+                                         Strings.nullToEmpty(row.get("projectName", String.class)),
+                                         Strings.nullToEmpty(row.get("tags", String.class)),
+                                         row.get("kind", String.class),
+                                         row.get("contentType", String.class),
+                                         row.get("commitTime", Long.class),
+                                         Strings.nullToEmpty(row.get("commitMessage", String.class)),
+                                         row.get("username", String.class),
+                                         keyValueMetadataList,
+                                         row.get("extension", String.class));
+    }
 
-        cq.select(root);
-        // we avoid using distinct as it creates an issue in Oracle
-        // distinct is performed in java on the returned result
-        return cq;
+    private Map<Long, List<Metadata>> findKeyValueMetadataByRevisionIds(List<Long> revisionIds) {
+        Map<Long, List<Metadata>> keyValueMetadataById = new LinkedHashMap<>();
+        for (List<Long> revisionIdsSubList : Lists.partition(revisionIds, dbItemsMaxSize)) {
+            em.createQuery("SELECT kv.catalogObjectRevision.id, kv.key, kv.value, kv.label FROM KeyValueLabelMetadataEntity kv WHERE kv.catalogObjectRevision.id IN :ids ORDER BY kv.id",
+                           Object[].class)
+              .setParameter("ids", revisionIdsSubList)
+              .getResultList()
+              .forEach(row -> keyValueMetadataById.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                                                  .add(new Metadata((String) row[1],
+                                                                    (String) row[2],
+                                                                    (String) row[3])));
+        }
+        return keyValueMetadataById;
+    }
+
+    private String toRightSidePredicatePattern(String pattern) {
+        return pattern.contains("%") ? pattern.toLowerCase() : pattern.toLowerCase() + "%";
+    }
+
+    private String toBothSidesPredicatePattern(String pattern) {
+        return pattern.contains("%") ? pattern.toLowerCase() : "%" + pattern.toLowerCase() + "%";
     }
 
-    private List<Predicate> getCommonPredicates(List<String> kindList, CriteriaBuilder cb,
-            CriteriaQuery<CatalogObjectRevisionEntity> cq, Root<CatalogObjectRevisionEntity> root, String contentType,
+    private List<Predicate> getCommonPredicates(List<String> kindList, CriteriaBuilder cb, CriteriaQuery<?> cq, Root<CatalogObjectRevisionEntity> root, String contentType,
             String objectName, String projectName, String lastCommitBy, String committedAtLeastOnceBy,
-            Long lastCommitTimeGreater, Long lastCommitTimeLessThan, List<String> bucketNames,
-            List<String> objectNames) {
+            Long lastCommitTimeGreater, Long lastCommitTimeLessThan, NameFilter nameFilter) {
         List<Predicate> allPredicates = new ArrayList<>();
         if (!kindList.isEmpty()) {
             List<Predicate> kindPredicates = new ArrayList<>();
@@ -248,30 +358,62 @@ public class CatalogObjectRevisionRepositoryImpl implements CatalogObjectRevisio
             allPredicates.add(cb.lessThan(root.get("catalogObject").get("lastCommitTime"), lastCommitTimeLessThan));
         }
 
-        if (bucketNames != null && bucketNames.size() <= dbItemsMaxSize) {
-            Predicate bucketNamesPredicate = cb.in(root.get("catalogObject").get("bucket").get("bucketName"))
-                                               .value(bucketNames);
-            allPredicates.add(bucketNamesPredicate);
+        if (nameFilter.bucketNames != null) {
+            allPredicates.add(in(cb, root.get("catalogObject").get("bucket").get("bucketName"), nameFilter.bucketNames));
+        }
 
+        if (nameFilter.bucketIds != null) {
+            allPredicates.add(inLiterals(cb, root.get("catalogObject").get("id").get("bucketId"), nameFilter.bucketIds));
         }
 
-        if (objectNames != null && objectNames.size() <= dbItemsMaxSize) {
-            Predicate objectNamesPredicate = cb.in(root.get("catalogObject").get("nameLower")).value(objectNames);
-            allPredicates.add(objectNamesPredicate);
+        if (nameFilter.objectNames != null) {
+            allPredicates.add(in(cb, root.get("catalogObject").get("nameLower"), nameFilter.objectNames));
+        }
 
+        if (nameFilter.latestRevisionIds != null) {
+            allPredicates.add(inLiterals(cb, root.get("id"), nameFilter.latestRevisionIds));
         }
 
-        Predicate lastCommitTimePredicate = cb.equal(root.get("catalogObject").get("lastCommitTime"),
-                                                     root.get("commitTime"));
-        allPredicates.add(lastCommitTimePredicate);
+        Predicate latestRevisionPredicate = cb.equal(root.get("catalogObject").get("latestRevision").get("id"),
+                                                     root.get("id"));
+        allPredicates.add(latestRevisionPredicate);
         return allPredicates;
     }
 
-    private CriteriaQuery<CatalogObjectRevisionEntity> buildCriteriaQuery(List<String> bucketNames,
-            List<String> kindList, String contentType, String objectName, String projectName, String lastCommitBy,
-            String committedAtLeastOnceBy, Long lastCommitTimeGreater, Long lastCommitTimeLessThan) {
+    /**
+     * Splits the values in several IN expressions of at most pa.catalog.db.items.max.size values (the Oracle limit).
+     */
+    private Predicate in(CriteriaBuilder cb, Expression<?> expression, List<String> values) {
+        Predicate[] inPredicates = Lists.partition(values, dbItemsMaxSize)
+                                        .stream()
+                                        .map(expression::in)
+                                        .toArray(Predicate[]::new);
+        return inPredicates.length == 1 ? inPredicates[0] : cb.or(inPredicates);
+    }
+
+    /**
+     * Same as {@link #in} for ids, given as literals: Hibernate writes numeric literals in the query instead of
+     * binding them as parameters.
+     */
+    private Predicate inLiterals(CriteriaBuilder cb, Expression<?> expression, List<Long> ids) {
+        Predicate[] inPredicates = Lists.partition(ids, dbItemsMaxSize)
+                                        .stream()
+                                        .map(idsSubList -> expression.in(idsSubList.stream()
+                                                                                   .map(cb::literal)
+                                                                                   .toArray(Expression<?>[]::new)))
+                                        .toArray(Predicate[]::new);
+        return inPredicates.length == 1 ? inPredicates[0] : cb.or(inPredicates);
+    }
+
+    /**
+     * Only selects the columns needed by {@link CatalogObjectMetadata} so that neither the revision, the catalog
+     * object, the bucket nor the key-value metadata get hydrated.
+     */
+    private CriteriaQuery<Tuple> buildMetadataCriteriaQuery(NameFilter nameFilter, List<String> kindList, String contentType, String objectName, String projectName, String lastCommitBy,
+            String committedAtLeastOnceBy, Long lastCommitTimeGreater, Long lastCommitTimeLessThan, String tag,
+            CatalogObjectCursor after) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<CatalogObjectRevisionEntity> cq = cb.createQuery(CatalogObjectRevisionEntity.class);
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
         Root<CatalogObjectRevisionEntity> root = cq.from(CatalogObjectRevisionEntity.class);
 
         List<Predicate> allPredicates = getCommonPredicates(kindList,
@@ -285,14 +427,58 @@ public class CatalogObjectRevisionRepositoryImpl implements CatalogObjectRevisio
                                                             committedAtLeastOnceBy,
                                                             lastCommitTimeGreater,
                                                             lastCommitTimeLessThan,
-                                                            bucketNames,
-                                                            null);
+                                                            nameFilter);
+
+        if (tag != null) {
+            // a subquery rather than a join, so that objects with several matching tags are returned once
+            // and pages are not shortened by duplicates. Tags are matched by prefix, which the tag index serves,
+            // unless the filter gives its own pattern
+            Subquery<Long> tagSubQuery = cq.subquery(Long.class);
+            Root<CatalogObjectTagEntity> objectTag = tagSubQuery.from(CatalogObjectTagEntity.class);
+            tagSubQuery.select(objectTag.get("id"))
+                       .where(cb.equal(objectTag.get("catalogObject"), root.get("catalogObject")),
+                              cb.like(objectTag.get("tagLower"), toRightSidePredicatePattern(tag)));
+            allPredicates.add(cb.exists(tagSubQuery));
+        }
+
+        if (after != null) {
+            allPredicates.add(CatalogObjectRevisionKeyset.after(cb, root, after));
+        }
 
         cq.where(allPredicates.toArray(new Predicate[0]));
 
-        cq.orderBy(cb.asc(root.get("projectName")));
-        cq.select(root);
+        // the objects are ordered by their full key so that offset and keyset pages are deterministic
+        cq.orderBy(CatalogObjectRevisionKeyset.orderBy(cb, root));
+
+        Path<Object> catalogObject = root.get("catalogObject");
+        cq.multiselect(root.get("id").alias("id"),
+                       catalogObject.get("id").get("bucketId").alias("bucketId"),
+                       catalogObject.get("bucket").get("bucketName").alias("bucketName"),
+                       catalogObject.get("id").get("name").alias("name"),
+                       root.get("projectName").alias("projectName"),
+                       root.get("tags").alias("tags"),
+                       catalogObject.get("kind").alias("kind"),
+                       catalogObject.get("contentType").alias("contentType"),
+                       root.get("commitTime").alias("commitTime"),
+                       root.get("commitMessage").alias("commitMessage"),
+                       root.get("username").alias("username"),
+                       catalogObject.get("extension").alias("extension"));
         return cq;
     }
 
+    /**
+     * Bucket and object filters of a listing query, given either by names bound as parameters or by ids written as
+     * literals. A null list does not filter.
+     */
+    @AllArgsConstructor
+    private static class NameFilter {
+
+        private final List<String> bucketNames;
+
+        private final List<String> objectNames;
+
+        private final List<Long> bucketIds;
+
+        private final List<Long> latestRevisionIds;
+    }
 }
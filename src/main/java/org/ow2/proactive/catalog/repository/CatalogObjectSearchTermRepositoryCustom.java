@@ -0,0 +1,50 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.CatalogObjectReadScope;
+
+
+/**
+ * @author ActiveEon Team
+ */
+public interface CatalogObjectSearchTermRepositoryCustom {
+
+    /**
+     * Ranks the catalog objects matching at least one of the given terms: objects matching more terms come first,
+     * then objects with the highest summed weight.
+     *
+     * @param user user whose tenant restricts the buckets searched, or null when no session is required
+     * @param readScope objects readable by the user, or null when all the objects are readable
+     * @return a page of rows of bucket name, bucket owner and object name, in ranking order
+     */
+    List<Object[]> findRankedCatalogObjects(Collection<String> terms, AuthenticatedUser user,
+            CatalogObjectReadScope readScope, int pageNo, int pageSize);
+}
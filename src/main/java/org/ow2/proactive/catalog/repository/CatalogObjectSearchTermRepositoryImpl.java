@@ -0,0 +1,129 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import static org.ow2.proactive.catalog.service.BucketService.DEFAULT_BUCKET_OWNER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectSearchTermEntity;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.CatalogObjectReadScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.google.common.base.Strings;
+
+
+@Repository
+public class CatalogObjectSearchTermRepositoryImpl implements CatalogObjectSearchTermRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Value("${pa.catalog.tenant.filtering}")
+    private boolean isTenantFiltering;
+
+    @Override
+    public List<Object[]> findRankedCatalogObjects(Collection<String> terms, AuthenticatedUser user,
+            CatalogObjectReadScope readScope, int pageNo, int pageSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+        Root<CatalogObjectSearchTermEntity> termRoot = cq.from(CatalogObjectSearchTermEntity.class);
+        Join<CatalogObjectSearchTermEntity, CatalogObjectEntity> catalogObjectJoin = termRoot.join("catalogObject");
+        Join<CatalogObjectEntity, BucketEntity> bucketJoin = catalogObjectJoin.join("bucket");
+        Path<String> bucketName = bucketJoin.get("bucketName");
+        Path<String> bucketOwner = bucketJoin.get("owner");
+        Path<String> objectName = catalogObjectJoin.get("id").get("name");
+
+        List<Predicate> allPredicates = new ArrayList<>();
+        allPredicates.add(termRoot.get("term").in(terms));
+        if (user != null && isTenantFiltering && !user.isAllTenantAccess()) {
+            String userTenant = user.getTenant();
+            Predicate nullTenantPredicate = cb.isNull(bucketJoin.get("tenant"));
+            if (!Strings.isNullOrEmpty(userTenant)) {
+                allPredicates.add(cb.or(cb.equal(bucketJoin.get("tenant"), userTenant), nullTenantPredicate));
+            } else {
+                allPredicates.add(nullTenantPredicate);
+            }
+        }
+        if (readScope != null) {
+            allPredicates.add(buildReadScopePredicate(cb, bucketName, bucketOwner, objectName, readScope));
+        }
+
+        cq.multiselect(bucketName, bucketOwner, objectName)
+          .where(cb.and(allPredicates.toArray(new Predicate[0])))
+          .groupBy(bucketName, bucketOwner, objectName)
+          .orderBy(cb.desc(cb.count(termRoot.get("id"))),
+                   cb.desc(cb.sum(termRoot.<Integer> get("weight"))),
+                   cb.asc(bucketName),
+                   cb.asc(objectName));
+        return em.createQuery(cq).setFirstResult(pageNo * pageSize).setMaxResults(pageSize).getResultList();
+    }
+
+    private Predicate buildReadScopePredicate(CriteriaBuilder cb, Path<String> bucketName, Path<String> bucketOwner,
+            Path<String> objectName, CatalogObjectReadScope readScope) {
+        List<Predicate> readablePredicates = new ArrayList<>();
+
+        // buckets without grants for the user are readable when public or owned by one of the user's groups
+        Predicate ownerPredicate = cb.equal(bucketOwner, DEFAULT_BUCKET_OWNER);
+        if (!readScope.getOwnerGroups().isEmpty()) {
+            ownerPredicate = cb.or(ownerPredicate, bucketOwner.in(readScope.getOwnerGroups()));
+        }
+        if (!readScope.getGrantedBucketNames().isEmpty()) {
+            ownerPredicate = cb.and(ownerPredicate, cb.not(bucketName.in(readScope.getGrantedBucketNames())));
+        }
+        readablePredicates.add(ownerPredicate);
+
+        List<String> fullyReadableBucketNames = new ArrayList<>();
+        for (String readableBucketName : readScope.getReadableBucketNames()) {
+            Collection<String> unreadableObjectNames = readScope.getUnreadableObjectNamesByBucket()
+                                                                .get(readableBucketName);
+            if (unreadableObjectNames == null) {
+                fullyReadableBucketNames.add(readableBucketName);
+            } else {
+                readablePredicates.add(cb.and(cb.equal(bucketName, readableBucketName),
+                                              cb.not(objectName.in(unreadableObjectNames))));
+            }
+        }
+        if (!fullyReadableBucketNames.isEmpty()) {
+            readablePredicates.add(bucketName.in(fullyReadableBucketNames));
+        }
+        readScope.getReadableObjectNamesByBucket()
+                 .forEach((grantedBucketName, readableObjectNames) -> readablePredicates.add(cb.and(cb.equal(bucketName,
+                                                                                                             grantedBucketName),
+                                                                                                    objectName.in(readableObjectNames))));
+        return cb.or(readablePredicates.toArray(new Predicate[0]));
+    }
+}
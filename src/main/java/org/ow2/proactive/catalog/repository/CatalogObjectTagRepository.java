@@ -0,0 +1,50 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTagEntity;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+
+/**
+ * @author ActiveEon Team
+ */
+public interface CatalogObjectTagRepository extends JpaRepository<CatalogObjectTagEntity, Long> {
+
+    /**
+     * @return the catalog objects and tags of their latest revision which have no tag row yet
+     */
+    @Query(value = "SELECT co, metadata.key FROM CatalogObjectEntity co INNER JOIN co.latestRevision cor INNER JOIN cor.keyValueMetadataList metadata WHERE metadata.label = '" +
+                   WorkflowParser.OBJECT_TAG_LABEL +
+                   "' AND NOT EXISTS (SELECT t.id FROM CatalogObjectTagEntity t WHERE t.catalogObject = co AND t.tag = metadata.key)")
+    List<Object[]> findLatestRevisionTagsWithoutObjectTag(Pageable pageable);
+
+}
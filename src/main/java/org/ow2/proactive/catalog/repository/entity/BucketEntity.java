@@ -78,6 +78,28 @@ public class BucketEntity implements Serializable {
     @Column(name = "TENANT")
     protected String tenant;
 
+    /**
+     * Retention policy of the revisions of the bucket objects, see {@link #hasRetentionPolicy()}.
+     * The number of most recent revisions kept for each object, null to keep them all.
+     */
+    @Column(name = "RETENTION_MAX_REVISIONS")
+    protected Integer retentionMaxRevisions;
+
+    /**
+     * The number of days during which revisions are kept, null to keep them all.
+     */
+    @Column(name = "RETENTION_MAX_AGE_DAYS")
+    protected Integer retentionMaxAgeDays;
+
+    /**
+     * Number of catalog objects in the bucket, so that bucket listings do not load the objects to count them.
+     * It is only written by {@link org.ow2.proactive.catalog.repository.BucketRepository} updates, on object creation
+     * and deletion, and by {@link org.ow2.proactive.catalog.service.BucketObjectCountReconciler}.
+     * Null until the bucket is reconciled.
+     */
+    @Column(name = "OBJECT_COUNT", updatable = false)
+    protected Integer objectCount = 0;
+
     @OneToMany(mappedBy = "bucket", fetch = FetchType.LAZY, cascade = { CascadeType.PERSIST,
                                                                         CascadeType.REMOVE }, orphanRemoval = true)
     @Fetch(FetchMode.SELECT)
@@ -105,6 +127,18 @@ public class BucketEntity implements Serializable {
         this.catalogObjects = new HashSet<>();
     }
 
+    /**
+     * A revision is removed once it is neither among the retentionMaxRevisions most recent revisions of its object
+     * nor younger than retentionMaxAgeDays, only one of both being required.
+     */
+    public boolean hasRetentionPolicy() {
+        return retentionMaxRevisions != null || retentionMaxAgeDays != null;
+    }
+
+    public int getObjectCount() {
+        return objectCount == null ? 0 : objectCount;
+    }
+
     public void addCatalogObject(CatalogObjectEntity catalogObject) {
         this.catalogObjects.add(catalogObject);
         catalogObject.setBucket(this);
@@ -33,6 +33,8 @@ import java.util.Deque;
 
 import javax.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
@@ -47,6 +49,8 @@ import lombok.Data;
  * @author ActiveEon Team
  */
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bucket-grant")
+@Cacheable
 @Data
 @Entity
 @Table(name = "BUCKET_GRANT", uniqueConstraints = @UniqueConstraint(columnNames = { "ID" }), indexes = { @Index(name = "BUCKET_GRANT_INDEX", columnList = "ID, GRANTEE_TYPE, CREATOR, GRANTEE") })
@@ -0,0 +1,87 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.*;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Edge of the dependency graph: a catalog object which a revision depends on, as extracted from its depends_on
+ * key-value metadata. The target revision is a commit time or {@link org.ow2.proactive.catalog.util.parser.WorkflowParser#LATEST_VERSION}.
+ * The target object may not exist in the catalog.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "CATALOG_OBJECT_DEPENDENCY", indexes = { @Index(name = "DEPENDENCY_SOURCE_INDEX", columnList = "SOURCE_REVISION_ID"),
+                                                       @Index(name = "DEPENDENCY_TARGET_INDEX", columnList = "TARGET_BUCKET_NAME,TARGET_OBJECT_NAME") })
+// dependencies are only compared within the dependency set of their revision
+@EqualsAndHashCode(of = { "targetBucketName", "targetObjectName", "targetRevision" })
+public class CatalogObjectDependencyEntity implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_DEPENDENCY_SEQ")
+    @GenericGenerator(name = "CATALOG_OBJECT_DEPENDENCY_SEQ", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_DEPENDENCY_SEQ"),
+                                                                                                                                            @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                            @Parameter(name = "increment_size", value = "50"),
+                                                                                                                                            @Parameter(name = "optimizer", value = "hilo") })
+    @Column(name = "ID")
+    protected Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "SOURCE_REVISION_ID", nullable = false)
+    private CatalogObjectRevisionEntity sourceRevision;
+
+    @Column(name = "TARGET_BUCKET_NAME", nullable = false)
+    private String targetBucketName;
+
+    @Column(name = "TARGET_OBJECT_NAME", nullable = false)
+    private String targetObjectName;
+
+    @Column(name = "TARGET_REVISION", nullable = false)
+    private String targetRevision;
+
+    public CatalogObjectDependencyEntity(CatalogObjectRevisionEntity sourceRevision, String targetBucketName,
+            String targetObjectName, String targetRevision) {
+        this.sourceRevision = sourceRevision;
+        this.targetBucketName = targetBucketName;
+        this.targetObjectName = targetObjectName;
+        this.targetRevision = targetRevision;
+    }
+}
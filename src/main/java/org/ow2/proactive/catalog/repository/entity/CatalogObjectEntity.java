@@ -26,17 +26,24 @@
 package org.ow2.proactive.catalog.repository.entity;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.ConstraintMode;
 import javax.persistence.Embeddable;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
@@ -48,6 +55,8 @@ import javax.persistence.OrderBy;
 import javax.persistence.Table;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
@@ -64,11 +73,15 @@ import lombok.NoArgsConstructor;
  */
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-object")
+@Cacheable
 @Data
 @BatchSize(size = 25)
 @Entity
 @NamedEntityGraph(name = "catalogObject.withRevisions", attributeNodes = { @NamedAttributeNode("revisions") })
-@Table(name = "CATALOG_OBJECT", indexes = { @Index(columnList = "LAST_COMMIT_TIME,NAME_LOWER,KIND_LOWER,CONTENT_TYPE_LOWER") })
+@Table(name = "CATALOG_OBJECT", indexes = { @Index(columnList = "LAST_COMMIT_TIME,NAME_LOWER,KIND_LOWER,CONTENT_TYPE_LOWER"),
+                                            @Index(name = "LATEST_REVISION_INDEX", columnList = "LATEST_REVISION_ID"),
+                                            @Index(name = "PROJECT_SORT_KEY_INDEX", columnList = "PROJECT_SORT_KEY,BUCKET_ID,NAME") })
 public class CatalogObjectEntity implements Serializable {
 
     @AllArgsConstructor
@@ -152,13 +165,117 @@ public class CatalogObjectEntity implements Serializable {
     @Column(name = "LAST_COMMIT_TIME")
     private long lastCommitTime;
 
+    /**
+     * Denormalized pointer to the most recent revision, maintained by {@link #addRevision}.
+     * No foreign key constraint is generated so that revisions and objects can be removed in any order.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "LATEST_REVISION_ID", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private CatalogObjectRevisionEntity latestRevision;
+
+    /**
+     * Project name of the latest revision as ordered by listings, see {@link #projectSortKey}. Maintained by
+     * {@link #setLatestRevision} so that listings are ordered on the columns of a single index.
+     */
+    @Column(name = "PROJECT_SORT_KEY")
+    private String projectSortKey;
+
+    /**
+     * Tags of the latest revision, maintained by {@link #synchronizeTags}.
+     */
+    @OneToMany(mappedBy = "catalogObject", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<CatalogObjectTagEntity> tags = new LinkedHashSet<>();
+
+    /**
+     * Full-text search terms of the latest revision, maintained by {@link #synchronizeSearchTerms}.
+     */
+    @OneToMany(mappedBy = "catalogObject", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<CatalogObjectSearchTermEntity> searchTerms = new LinkedHashSet<>();
+
+    /**
+     * Trigrams of the name and of the latest project name, maintained by {@link #synchronizeNameGrams}.
+     */
+    @OneToMany(mappedBy = "catalogObject", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<CatalogObjectNameGramEntity> nameGrams = new LinkedHashSet<>();
+
     public CatalogObjectEntity() {
         revisions = new TreeSet<>();
+        tags = new LinkedHashSet<>();
+        searchTerms = new LinkedHashSet<>();
+        nameGrams = new LinkedHashSet<>();
     }
 
     public void addRevision(CatalogObjectRevisionEntity catalogObjectRevision) {
         this.revisions.add(catalogObjectRevision);
         this.lastCommitTime = catalogObjectRevision.getCommitTime();
+        setLatestRevision(catalogObjectRevision);
+    }
+
+    public void setLatestRevision(CatalogObjectRevisionEntity latestRevision) {
+        this.latestRevision = latestRevision;
+        this.projectSortKey = projectSortKey(latestRevision.getProjectName());
+    }
+
+    /**
+     * Empty project names are stored as either null or an empty string depending on the database, so they are all
+     * mapped to the same key, ordered before the keys of the other project names.
+     */
+    public static String projectSortKey(String projectName) {
+        return projectName == null || projectName.isEmpty() ? "0" : "1" + projectName;
+    }
+
+    /**
+     * Replaces the tags of the object by the given ones, the tags of its new latest revision.
+     * Unchanged tags keep their row.
+     */
+    public void synchronizeTags(Collection<String> newTags) {
+        Set<String> newTagSet = new LinkedHashSet<>(newTags);
+        this.tags.removeIf(tag -> !newTagSet.contains(tag.getTag()));
+        Set<String> existingTags = this.tags.stream().map(CatalogObjectTagEntity::getTag).collect(Collectors.toSet());
+        newTagSet.stream()
+                 .filter(tag -> !existingTags.contains(tag))
+                 .forEach(tag -> this.tags.add(new CatalogObjectTagEntity(this, tag)));
+    }
+
+    /**
+     * Replaces the search terms of the object by the given terms and weights, computed from its new latest revision.
+     * Unchanged terms keep their row.
+     */
+    public void synchronizeSearchTerms(Map<String, Integer> termWeights) {
+        this.searchTerms.removeIf(searchTerm -> !termWeights.containsKey(searchTerm.getTerm()));
+        Map<String, CatalogObjectSearchTermEntity> existingTerms = this.searchTerms.stream()
+                                                                                   .collect(Collectors.toMap(CatalogObjectSearchTermEntity::getTerm,
+                                                                                                             Function.identity()));
+        termWeights.forEach((term, weight) -> {
+            CatalogObjectSearchTermEntity existingTerm = existingTerms.get(term);
+            if (existingTerm == null) {
+                this.searchTerms.add(new CatalogObjectSearchTermEntity(this, term, weight));
+            } else {
+                existingTerm.setWeight(weight);
+            }
+        });
+    }
+
+    /**
+     * Replaces the trigrams of the object by the ones of its name and of the given project name, the project name
+     * of its new latest revision. Unchanged trigrams keep their row.
+     */
+    public void synchronizeNameGrams(String projectName) {
+        Set<CatalogObjectNameGramEntity> newGrams = new LinkedHashSet<>();
+        CatalogObjectNameGramEntity.trigrams(this.id.getName())
+                                   .forEach(gram -> newGrams.add(new CatalogObjectNameGramEntity(this,
+                                                                                                 CatalogObjectNameGramEntity.Field.NAME,
+                                                                                                 gram)));
+        CatalogObjectNameGramEntity.trigrams(projectName)
+                                   .forEach(gram -> newGrams.add(new CatalogObjectNameGramEntity(this,
+                                                                                                 CatalogObjectNameGramEntity.Field.PROJECT_NAME,
+                                                                                                 gram)));
+        this.nameGrams.retainAll(newGrams);
+        newGrams.removeAll(this.nameGrams);
+        this.nameGrams.addAll(newGrams);
     }
 
     @Override
@@ -0,0 +1,115 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.persistence.*;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Trigram of the name or of the project name of a catalog object. Substring filters on these fields look up the
+ * trigrams of the filter to narrow the candidate objects before the LIKE check.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "CATALOG_OBJECT_NAME_GRAM", indexes = { @Index(name = "NAME_GRAM_INDEX", columnList = "GRAM,FIELD"),
+                                                      @Index(name = "NAME_GRAM_OBJECT_INDEX", columnList = "BUCKET,NAME") })
+// grams are only compared within the gram set of their object
+@EqualsAndHashCode(of = { "field", "gram" })
+public class CatalogObjectNameGramEntity implements Serializable {
+
+    public static final int GRAM_LENGTH = 3;
+
+    public enum Field {
+        NAME,
+        PROJECT_NAME
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_NAME_GRAM_SEQ")
+    @GenericGenerator(name = "CATALOG_OBJECT_NAME_GRAM_SEQ", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_NAME_GRAM_SEQ"),
+                                                                                                                                           @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                           @Parameter(name = "increment_size", value = "50"),
+                                                                                                                                           @Parameter(name = "optimizer", value = "hilo") })
+    @Column(name = "ID")
+    protected Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({ @JoinColumn(name = "BUCKET", referencedColumnName = "BUCKET_ID"),
+                   @JoinColumn(name = "NAME", referencedColumnName = "NAME") })
+    private CatalogObjectEntity catalogObject;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "FIELD", nullable = false, length = 16)
+    private Field field;
+
+    @Column(name = "GRAM", nullable = false, length = GRAM_LENGTH)
+    private String gram;
+
+    public CatalogObjectNameGramEntity(CatalogObjectEntity catalogObject, Field field, String gram) {
+        this.catalogObject = catalogObject;
+        this.field = field;
+        this.gram = gram;
+    }
+
+    /**
+     * @return the distinct trigrams of the lower-cased text, the whole text when it is shorter than a trigram
+     */
+    public static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return grams;
+        }
+        String lowerText = text.toLowerCase();
+        if (lowerText.length() < GRAM_LENGTH) {
+            grams.add(lowerText);
+        }
+        for (int i = 0; i + GRAM_LENGTH <= lowerText.length(); i++) {
+            grams.add(lowerText.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogObjectNameGramEntity{" + "field=" + field + ", gram='" + gram + '\'' + '}';
+    }
+}
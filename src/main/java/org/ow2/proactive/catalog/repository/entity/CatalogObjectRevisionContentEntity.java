@@ -0,0 +1,117 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.*;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Raw content of catalog object revisions, kept apart from the revision metadata
+ * so that listings never have to read the LOB column.
+ * Contents are addressed by the SHA-256 hash of their bytes: revisions with identical content share
+ * the same row, which is removed once no revision references it anymore.
+ * The hash is computed on the decoded bytes, RAW_OBJECT holds them encoded with the codec named in ENCODING.
+ * A content can also be stored as a delta against a base content, the content of the previous revision
+ * of the object, the delta being encoded in the same way.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode(exclude = "baseContent")
+@Entity
+@Table(name = "CATALOG_OBJECT_REVISION_CONTENT", uniqueConstraints = @UniqueConstraint(columnNames = { "CONTENT_HASH" }), indexes = { @Index(name = "CONTENT_BASE_INDEX", columnList = "BASE_CONTENT_ID") })
+public class CatalogObjectRevisionContentEntity implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_REVISION_CONTENT_SEQ")
+    @GenericGenerator(name = "CATALOG_OBJECT_REVISION_CONTENT_SEQ", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_REVISION_CONTENT_SEQ"),
+                                                                                                                                                  @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                                  @Parameter(name = "increment_size", value = "50"),
+                                                                                                                                                  @Parameter(name = "optimizer", value = "hilo") })
+    @Column(name = "ID")
+    protected Long id;
+
+    // SHA-256 of the raw object, hex encoded
+    @Column(name = "CONTENT_HASH", length = 64)
+    private String hash;
+
+    // Number of revisions pointing to this content
+    @Column(name = "REFERENCE_COUNT")
+    private long referenceCount;
+
+    // Codec applied to the raw object, null when stored as is
+    @Column(name = "ENCODING", length = 32)
+    private String encoding;
+
+    @Lob
+    @Column(name = "RAW_OBJECT", length = Integer.MAX_VALUE)
+    private byte[] rawObject;
+
+    // Path of the file holding the encoded raw object, relative to the content storage directory.
+    // Null when the raw object is stored in the database.
+    @Column(name = "FILE_PATH")
+    private String filePath;
+
+    // Content the raw object is a delta against, null when the raw object is stored in full.
+    // A content cannot be removed while deltas are based on it.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "BASE_CONTENT_ID", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private CatalogObjectRevisionContentEntity baseContent;
+
+    // Number of deltas to apply from the closest content stored in full, null when stored in full
+    @Column(name = "DELTA_DEPTH")
+    private Integer deltaDepth;
+
+    public CatalogObjectRevisionContentEntity(String hash, byte[] rawObject) {
+        this(hash, null, rawObject);
+    }
+
+    public CatalogObjectRevisionContentEntity(String hash, String encoding, byte[] rawObject) {
+        this.hash = hash;
+        this.referenceCount = 1;
+        this.encoding = encoding;
+        this.rawObject = rawObject;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogObjectRevisionContentEntity{" + "id=" + id + ", hash='" + hash + '\'' + ", referenceCount=" +
+               referenceCount + ", encoding='" + encoding + '\'' + ", filePath='" + filePath + '\'' + ", deltaDepth=" +
+               deltaDepth + '}';
+    }
+}
@@ -50,14 +50,18 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "CATALOG_OBJECT_REVISION", uniqueConstraints = @UniqueConstraint(columnNames = { "BUCKET", "NAME",
-                                                                                               "COMMIT_TIME" }), indexes = { @Index(name = "REVISION_INDEX", columnList = "BUCKET,NAME,COMMIT_TIME") })
+                                                                                               "COMMIT_TIME" }), indexes = { @Index(name = "REVISION_INDEX", columnList = "BUCKET,NAME,COMMIT_TIME"),
+                                                                                                                   @Index(name = "REVISION_CONTENT_INDEX", columnList = "CONTENT_ID") })
 public class CatalogObjectRevisionEntity implements Comparable, Serializable {
 
+    // ids are allocated by blocks of 50 for each sequence call, the hilo optimizer keeps the existing sequences
+    // (incremented by 1) valid
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_REVISION_SEQ")
     @GenericGenerator(name = "CATALOG_OBJECT_REVISION_SEQ", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_REVISION_SEQ"),
                                                                                                                                           @Parameter(name = "initial_value", value = "1"),
-                                                                                                                                          @Parameter(name = "increment_size", value = "1") })
+                                                                                                                                          @Parameter(name = "increment_size", value = "50"),
+                                                                                                                                          @Parameter(name = "optimizer", value = "hilo") })
     @Column(name = "ID")
     protected Long id;
 
@@ -76,6 +80,12 @@ public class CatalogObjectRevisionEntity implements Comparable, Serializable {
     @Column(name = "COMMIT_TIME", nullable = false)
     private long commitTime;
 
+    /**
+     * Commit time of the revision this revision was restored from, null when it was not created by a restore.
+     */
+    @Column(name = "RESTORED_FROM_COMMIT_TIME")
+    private Long restoredFromCommitTime;
+
     @ManyToOne(fetch = FetchType.EAGER, cascade = { CascadeType.PERSIST })
     @JoinColumns({ @JoinColumn(name = "BUCKET", referencedColumnName = "BUCKET_ID"),
                    @JoinColumn(name = "NAME", referencedColumnName = "NAME") })
@@ -88,9 +98,16 @@ public class CatalogObjectRevisionEntity implements Comparable, Serializable {
     @Builder.Default
     private List<KeyValueLabelMetadataEntity> keyValueMetadataList = new ArrayList<>();
 
-    @Lob
-    @Column(name = "RAW_OBJECT", length = Integer.MAX_VALUE)
-    private byte[] rawObject;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CONTENT_ID")
+    private CatalogObjectRevisionContentEntity content;
+
+    /**
+     * Catalog objects this revision depends on, extracted from its depends_on key-value metadata.
+     */
+    @OneToMany(mappedBy = "sourceRevision", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<CatalogObjectDependencyEntity> dependencies = new LinkedHashSet<>();
 
     @Override
     public int compareTo(Object o) {
@@ -99,6 +116,7 @@ public class CatalogObjectRevisionEntity implements Comparable, Serializable {
 
     public CatalogObjectRevisionEntity() {
         keyValueMetadataList = new ArrayList<>();
+        dependencies = new LinkedHashSet<>();
     }
 
     public void addKeyValue(KeyValueLabelMetadataEntity keyValueMetadata) {
@@ -110,6 +128,10 @@ public class CatalogObjectRevisionEntity implements Comparable, Serializable {
         keyValueMetadataList.forEach(kv -> addKeyValue(kv));
     }
 
+    public void addDependency(String targetBucketName, String targetObjectName, String targetRevision) {
+        this.dependencies.add(new CatalogObjectDependencyEntity(this, targetBucketName, targetObjectName, targetRevision));
+    }
+
     public String getProjectName() {
         return this.projectName == null ? "" : this.projectName;
     }
@@ -0,0 +1,89 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.*;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Entry of the full-text search index: a term found in the latest revision of a catalog object, with the weight
+ * of the fields it was found in. There is one row per term and object.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "CATALOG_OBJECT_SEARCH_TERM", indexes = { @Index(name = "SEARCH_TERM_INDEX", columnList = "TERM"),
+                                                        @Index(name = "SEARCH_TERM_OBJECT_INDEX", columnList = "BUCKET,NAME") })
+// terms are only compared within the term set of their object
+@EqualsAndHashCode(of = "term")
+public class CatalogObjectSearchTermEntity implements Serializable {
+
+    public static final int TERM_MAX_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_SEARCH_TERM_SEQ")
+    @GenericGenerator(name = "CATALOG_OBJECT_SEARCH_TERM_SEQ", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_SEARCH_TERM_SEQ"),
+                                                                                                                                             @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                             @Parameter(name = "increment_size", value = "50"),
+                                                                                                                                             @Parameter(name = "optimizer", value = "hilo") })
+    @Column(name = "ID")
+    protected Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({ @JoinColumn(name = "BUCKET", referencedColumnName = "BUCKET_ID"),
+                   @JoinColumn(name = "NAME", referencedColumnName = "NAME") })
+    private CatalogObjectEntity catalogObject;
+
+    @Column(name = "TERM", nullable = false, length = TERM_MAX_LENGTH)
+    private String term;
+
+    @Column(name = "WEIGHT", nullable = false)
+    private int weight;
+
+    public CatalogObjectSearchTermEntity(CatalogObjectEntity catalogObject, String term, int weight) {
+        this.catalogObject = catalogObject;
+        this.term = term;
+        this.weight = weight;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogObjectSearchTermEntity{" + "term='" + term + '\'' + ", weight=" + weight + '}';
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Read-only view on the RAW_OBJECT column that used to be stored inline in CATALOG_OBJECT_REVISION.
+ * It is only used to serve revisions which have not been moved yet to CATALOG_OBJECT_REVISION_CONTENT
+ * and by the startup migration which moves them.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "CATALOG_OBJECT_REVISION")
+public class LegacyRevisionRawObjectEntity implements Serializable {
+
+    @Id
+    @Column(name = "ID")
+    private Long id;
+
+    @Lob
+    @Column(name = "RAW_OBJECT", length = Integer.MAX_VALUE, insertable = false, updatable = false)
+    private byte[] rawObject;
+
+    @Override
+    public String toString() {
+        return "LegacyRevisionRawObjectEntity{" + "id=" + id + '}';
+    }
+}
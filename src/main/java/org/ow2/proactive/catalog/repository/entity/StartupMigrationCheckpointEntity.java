@@ -0,0 +1,61 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Last checkpoint reached by a startup migration, so that an interrupted migration resumes where it stopped.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "STARTUP_MIGRATION_CHECKPOINT")
+public class StartupMigrationCheckpointEntity implements Serializable {
+
+    @Id
+    @Column(name = "NAME")
+    private String name;
+
+    @Column(name = "LAST_CHECKPOINT", nullable = false)
+    private long checkpoint;
+
+    @Column(name = "UPDATE_TIME", nullable = false)
+    private long updateTime;
+}
@@ -43,6 +43,7 @@ public enum CatalogObjectEntityMetaModelEnum {
     KEY,
     KIND,
     LAST_COMMIT_TIME,
+    LATEST_REVISION,
     NAME,
     BUCKET_NAME,
     VALUE;
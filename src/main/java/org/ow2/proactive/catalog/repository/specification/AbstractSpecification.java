@@ -39,7 +39,6 @@ import org.ow2.proactive.catalog.graphql.bean.common.Operations;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
-import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -61,26 +60,23 @@ public abstract class AbstractSpecification<T> implements Specification<CatalogO
 
     protected Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin;
 
-    protected Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin;
-
     protected Join<Join, BucketEntity> bucketEntityJoin;
 
     protected void initCatalogObjectJoin(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query,
             CriteriaBuilder cb) {
         if (root.getJoins().size() == 0) {
             catalogObjectJoin = getOrCreateJoin(root, "catalogObject");
-            Predicate revisionPredicate = cb.equal(root.get(CatalogObjectEntityMetaModelEnum.COMMIT_TIME.getName()),
-                                                   catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.LAST_COMMIT_TIME.getName()));
+            Predicate revisionPredicate = cb.equal(root.get(CatalogObjectEntityMetaModelEnum.ID.getName()),
+                                                   catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.LATEST_REVISION.getName())
+                                                                    .get(CatalogObjectEntityMetaModelEnum.ID.getName()));
 
             catalogObjectJoin.on(revisionPredicate);
             query.distinct(true);
         }
     }
 
-    protected void initMetadataJoin(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query,
-            CriteriaBuilder cb) {
+    protected void reuseCatalogObjectJoin(Root<CatalogObjectRevisionEntity> root) {
         catalogObjectJoin = getOrCreateJoin(root, "catalogObject");
-        metadataJoin = getOrCreateJoin(root, "keyValueMetadataList");
     }
 
     protected void initBucketJoin(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
@@ -48,19 +48,18 @@ public abstract class AndOrSpecification extends AbstractSpecification {
 
     protected List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications;
 
-    public AndOrSpecification(Operations operations, Object value, Join catalogObjectJoin, Join metadataJoin,
-            Join bucketJoin, List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketJoin);
+    public AndOrSpecification(Operations operations, Object value, Join catalogObjectJoin, Join bucketJoin,
+            List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
+        super(operations, value, catalogObjectJoin, bucketJoin);
         this.fieldSpecifications = fieldSpecifications;
     }
 
     @Override
     protected Predicate buildPredicate(Root root, CriteriaQuery query, CriteriaBuilder cb) {
-        initMetadataJoin(root, query, cb);
+        reuseCatalogObjectJoin(root);
         List<Predicate> predicates = fieldSpecifications.stream().map(spec -> {
             AbstractSpecification abstractSpecification = (AbstractSpecification) spec;
             abstractSpecification.setCatalogObjectJoin(catalogObjectJoin);
-            abstractSpecification.setMetadataJoin(metadataJoin);
             return abstractSpecification.toPredicate(root, query, cb);
         }).collect(Collectors.toList());
 
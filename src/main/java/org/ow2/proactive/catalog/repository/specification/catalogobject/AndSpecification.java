@@ -45,9 +45,9 @@ import lombok.Builder;
 public class AndSpecification extends AndOrSpecification {
 
     @Builder
-    public AndSpecification(Operations operations, Object value, Join catalogObjectJoin, Join metadataJoin,
-            Join bucketJoin, List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketJoin, fieldSpecifications);
+    public AndSpecification(Operations operations, Object value, Join catalogObjectJoin, Join bucketJoin,
+            List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
+        super(operations, value, catalogObjectJoin, bucketJoin, fieldSpecifications);
     }
 
     @Override
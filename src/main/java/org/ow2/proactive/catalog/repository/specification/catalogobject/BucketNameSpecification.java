@@ -34,7 +34,6 @@ import javax.persistence.criteria.Root;
 import org.ow2.proactive.catalog.graphql.bean.common.Operations;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
-import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.ow2.proactive.catalog.repository.specification.AbstractSpecification;
 
@@ -49,9 +48,8 @@ public class BucketNameSpecification extends AbstractSpecification<String> {
 
     @Builder
     BucketNameSpecification(Operations operations, String value,
-            Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
-            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin, Join bucketEntityJoin) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketEntityJoin);
+            Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin, Join bucketEntityJoin) {
+        super(operations, value, catalogObjectJoin, bucketEntityJoin);
     }
 
     @Override
@@ -35,7 +35,6 @@ import org.ow2.proactive.catalog.graphql.bean.common.Operations;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
-import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.ow2.proactive.catalog.repository.specification.AbstractSpecification;
 
@@ -51,9 +50,8 @@ public class CatalogNameSpecification extends AbstractSpecification<String> {
     @Builder
     public CatalogNameSpecification(Operations operations, String value,
             Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
-            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin,
             Join<Join, BucketEntity> bucketEntityJoin) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketEntityJoin);
+        super(operations, value, catalogObjectJoin, bucketEntityJoin);
     }
 
     @Override
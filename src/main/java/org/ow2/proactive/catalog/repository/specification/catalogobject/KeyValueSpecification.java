@@ -30,6 +30,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import org.ow2.proactive.catalog.graphql.bean.common.Operations;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
@@ -55,30 +56,39 @@ public class KeyValueSpecification extends AbstractSpecification<String> {
     @Builder
     public KeyValueSpecification(Operations operations, String value,
             Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
-            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin,
             Join<Join, BucketEntity> bucketEntityJoin, String key) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketEntityJoin);
+        super(operations, value, catalogObjectJoin, bucketEntityJoin);
         this.key = key;
     }
 
+    /**
+     * The metadata are matched in a subquery rather than joined, so that a revision is returned once whatever the
+     * number of its metadata and the listing queries do not need distinct.
+     */
     @Override
     protected Predicate buildPredicate(Root root, CriteriaQuery query, CriteriaBuilder cb) {
-        initMetadataJoin(root, query, cb);
-        Predicate keyPredicate = cb.equal(metadataJoin.get(CatalogObjectEntityMetaModelEnum.KEY.getName()), key);
+        Subquery<Long> metadataQuery = query.subquery(Long.class);
+        Root<KeyValueLabelMetadataEntity> metadata = metadataQuery.from(KeyValueLabelMetadataEntity.class);
+        Predicate revisionPredicate = cb.equal(metadata.get("catalogObjectRevision"), root);
+        Predicate keyPredicate = cb.equal(metadata.get(CatalogObjectEntityMetaModelEnum.KEY.getName()), key);
+        Predicate valuePredicate;
 
         switch (operations) {
             case EQ:
-                return cb.and(keyPredicate,
-                              cb.equal(metadataJoin.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value));
+                valuePredicate = cb.equal(metadata.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value);
+                break;
             case NE:
-                return cb.and(keyPredicate,
-                              cb.notEqual(metadataJoin.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value));
+                valuePredicate = cb.notEqual(metadata.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value);
+                break;
             case LIKE:
-                return cb.and(keyPredicate,
-                              cb.like(metadataJoin.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value));
+                valuePredicate = cb.like(metadata.get(CatalogObjectEntityMetaModelEnum.VALUE.getName()), value);
+                break;
             default:
                 throw new IllegalStateException(operations + " is not supported");
         }
+        metadataQuery.select(metadata.get(CatalogObjectEntityMetaModelEnum.ID.getName()))
+                     .where(revisionPredicate, keyPredicate, valuePredicate);
+        return cb.exists(metadataQuery);
     }
 
 }
@@ -0,0 +1,71 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.specification.catalogobject;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionKeyset;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+
+/**
+ * Orders the results of the given specification by catalog object key and, when a cursor is given, only keeps the
+ * objects located after it. The specifications only join many-to-one associations, metadata filters being
+ * subqueries, so each revision is returned once without distinct.
+ *
+ * @author ActiveEon Team
+ */
+public class KeysetSpecification implements Specification<CatalogObjectRevisionEntity> {
+
+    private final Specification<CatalogObjectRevisionEntity> specification;
+
+    private final CatalogObjectCursor after;
+
+    public KeysetSpecification(Specification<CatalogObjectRevisionEntity> specification, CatalogObjectCursor after) {
+        this.specification = specification;
+        this.after = after;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (after != null) {
+            predicate = cb.and(predicate, CatalogObjectRevisionKeyset.after(cb, root, after));
+        }
+        if (!Long.class.equals(query.getResultType())) {
+            // the keyset order uses columns of the catalog object which are not part of the selection, which is not
+            // allowed with distinct. Count queries are left untouched.
+            query.distinct(false);
+            query.orderBy(CatalogObjectRevisionKeyset.orderBy(cb, root));
+        }
+        return predicate;
+    }
+}
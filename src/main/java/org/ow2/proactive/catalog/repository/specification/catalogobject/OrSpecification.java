@@ -47,9 +47,9 @@ import lombok.Getter;
 public class OrSpecification extends AndOrSpecification {
 
     @Builder
-    public OrSpecification(Operations operations, Object value, Join catalogObjectJoin, Join metadataJoin,
-            Join bucketJoin, List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
-        super(operations, value, catalogObjectJoin, metadataJoin, bucketJoin, fieldSpecifications);
+    public OrSpecification(Operations operations, Object value, Join catalogObjectJoin, Join bucketJoin,
+            List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
+        super(operations, value, catalogObjectJoin, bucketJoin, fieldSpecifications);
     }
 
     @Override
@@ -36,7 +36,6 @@ import java.util.stream.Collectors;
 
 import org.ow2.proactive.catalog.dto.BucketGrantMetadata;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
-import org.ow2.proactive.catalog.dto.CatalogObjectGrantMetadata;
 import org.ow2.proactive.catalog.service.*;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.BucketAlreadyExistingException;
@@ -81,12 +80,6 @@ public class BucketController {
     @Autowired
     private GrantRightsService grantRightsService;
 
-    @Autowired
-    private BucketGrantService bucketGrantService;
-
-    @Autowired
-    private CatalogObjectGrantService catalogObjectGrantService;
-
     @Autowired
     private JobPlannerService jobPlannerService;
 
@@ -153,6 +146,27 @@ public class BucketController {
         }
     }
 
+    @Operation(summary = "Update the revision retention policy of the bucket objects")
+    @ApiResponses(value = { @ApiResponse(responseCode = "404", description = "Bucket not found"),
+                            @ApiResponse(responseCode = "401", description = "User not authenticated"),
+                            @ApiResponse(responseCode = "403", description = "Permission denied"), })
+    @RequestMapping(value = "/{bucketName}/retention", method = PUT)
+    @ResponseStatus(HttpStatus.OK)
+    public BucketMetadata updateRetentionPolicy(
+            @Parameter(description = "sessionID", required = true) @RequestHeader(value = "sessionID", required = true) String sessionId,
+            @Parameter(description = "The name of the existing Bucket", required = true, schema = @Schema(pattern = BucketNameValidator.VALID_BUCKET_NAME_PATTERN)) @PathVariable String bucketName,
+            @Parameter(description = "The number of most recent revisions kept for each object.<br />All revisions are kept by number when absent") @RequestParam(value = "maxRevisions", required = false) Integer maxRevisions,
+            @Parameter(description = "The number of days during which revisions are kept.<br />All revisions are kept by age when absent") @RequestParam(value = "maxAgeDays", required = false) Integer maxAgeDays)
+            throws NotAuthenticatedException, AccessDeniedException {
+        AuthenticatedUser user = getAuthenticatedUser(sessionId, bucketName);
+        BucketMetadata bucketMetadata = bucketService.updateRetentionPolicyByBucketName(bucketName,
+                                                                                        maxRevisions,
+                                                                                        maxAgeDays);
+        log.info(ACTION + user.getName() + " changed bucket " + bucketName + " retention policy to " +
+                 maxRevisions + " revisions and " + maxAgeDays + " days");
+        return bucketMetadata;
+    }
+
     @Operation(summary = "Gets a bucket's metadata by ID")
     @ApiResponses(value = { @ApiResponse(responseCode = "404", description = "Bucket not found"),
                             @ApiResponse(responseCode = "401", description = "User not authenticated"),
@@ -239,28 +253,23 @@ public class BucketController {
                                                           sessionId,
                                                           allBucketsEnabled,
                                                           user);
-            listBucket.addAll(grantRightsService.getBucketsByPrioritizedGrants(user));
+            UserGrantIndex userGrantIndex = grantRightsService.getUserGrantIndex(user);
+            listBucket.addAll(grantRightsService.getBucketsByPrioritizedGrants(userGrantIndex));
             listBucket = GrantHelper.removeDuplicate(listBucket);
 
-            List<BucketGrantMetadata> allBucketsGrants = bucketGrantService.getUserAllBucketsGrants(user);
-            List<CatalogObjectGrantMetadata> allCatalogObjectsGrants = catalogObjectGrantService.getObjectsGrants(user);
-
             for (BucketMetadata bucket : listBucket) {
                 if (GrantHelper.isPublicBucket(bucket.getOwner()) || user.isCatalogAdmin()) {
                     bucket.setRights(admin.name());
                 } else {
-                    List<BucketGrantMetadata> bucketGrants = GrantHelper.filterBucketGrants(allBucketsGrants,
-                                                                                            bucket.getName());
+                    List<BucketGrantMetadata> bucketGrants = userGrantIndex.getBucketGrants(bucket.getName());
                     grantRightsService.addGrantsForBucketOwner(user, bucket.getName(), bucket.getOwner(), bucketGrants);
 
                     String bucketRights = grantRightsService.getBucketRights(bucketGrants);
                     bucket.setRights(bucketRights);
 
-                    List<CatalogObjectGrantMetadata> objectsInBucketGrants = GrantHelper.filterBucketGrants(allCatalogObjectsGrants,
-                                                                                                            bucket.getName());
                     int objectCount = grantRightsService.getNumberOfAccessibleObjectsInBucket(bucket,
                                                                                               bucketGrants,
-                                                                                              objectsInBucketGrants);
+                                                                                              userGrantIndex);
                     bucket.setObjectCount(objectCount);
                 }
             }
@@ -51,6 +51,8 @@ import org.ow2.proactive.catalog.service.exception.BucketGrantAccessException;
 import org.ow2.proactive.catalog.service.exception.CatalogObjectGrantAccessException;
 import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.BucketDescriptor;
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
 import org.ow2.proactive.catalog.util.*;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
 import org.ow2.proactive.catalog.util.name.validator.BucketNameValidator;
@@ -65,6 +67,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -118,10 +121,15 @@ public class CatalogObjectController {
     @Autowired
     private JobPlannerService jobPlannerService;
 
+    @Autowired
+    private CatalogObjectSearchService catalogObjectSearchService;
+
     private static final String ZIP_CONTENT_TYPE = "application/zip";
 
     private static final long MAXVALUE = Integer.MAX_VALUE;
 
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+
     @Value("${pa.catalog.security.required.sessionid}")
     private boolean sessionIdRequired;
 
@@ -226,6 +234,27 @@ public class CatalogObjectController {
         return catalogObjectService.getObjectTags();
     }
 
+    @Operation(summary = "Searches catalog objects", description = "Full-text search in the name, project name, tags, description, variable names and generic information of the latest revision of catalog objects. The best matches are returned first: objects matching the most terms of the query, then the objects matching them in their name or tags.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "401", description = "User not authenticated"),
+                            @ApiResponse(responseCode = "403", description = "Permission denied") })
+    @RequestMapping(value = "/resources/search", method = GET, produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public List<CatalogObjectMetadata> search(
+            @Parameter(description = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @Parameter(description = "Terms to search, separated by spaces", required = true) @RequestParam(value = "query") String query,
+            @Parameter(description = "Page number", required = false) @RequestParam(defaultValue = "0", value = "pageNo") int pageNo,
+            @Parameter(description = "Page size", required = false) @RequestParam(defaultValue = "50", value = "pageSize") int pageSize)
+            throws NotAuthenticatedException, AccessDeniedException {
+        AuthenticatedUser user = null;
+        if (sessionIdRequired) {
+            if (!restApiAccessService.isSessionActive(sessionId)) {
+                throw new AccessDeniedException("Session id is not active. Please login.");
+            }
+            user = restApiAccessService.getUserFromSessionId(sessionId);
+        }
+        return catalogObjectSearchService.search(user, query, pageNo, pageSize);
+    }
+
     @Operation(summary = "Lists catalog object name references by kind and Content-Type")
     @ApiResponses(value = { @ApiResponse(responseCode = "401", description = "User not authenticated"),
                             @ApiResponse(responseCode = "403", description = "Permission denied") })
@@ -351,13 +380,13 @@ public class CatalogObjectController {
     @ApiResponses(value = { @ApiResponse(responseCode = "404", description = "Bucket or catalog object not found"),
                             @ApiResponse(responseCode = "401", description = "User not authenticated"),
                             @ApiResponse(responseCode = "403", description = "Permission denied") })
-    @ResponseStatus(HttpStatus.OK)
     @RequestMapping(value = REQUEST_API_QUERY + "/{name:.+}", method = GET)
     public CatalogObjectMetadata get(
             @Parameter(description = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
             @Parameter(description = "The name of the existing Bucket", required = true, schema = @Schema(pattern = BucketNameValidator.VALID_BUCKET_NAME_PATTERN)) @PathVariable String bucketName,
             @Parameter(description = "The name of the existing Object", required = true, schema = @Schema(pattern = ObjectNameValidator.VALID_OBJECT_NAME_PATTERN)) @PathVariable String name,
-            @Parameter(description = "Check job planner association status", required = false) @RequestParam(value = "checkAssociationStatus", required = false, defaultValue = "false") boolean checkAssociationStatus)
+            @Parameter(description = "Check job planner association status", required = false) @RequestParam(value = "checkAssociationStatus", required = false, defaultValue = "false") boolean checkAssociationStatus,
+            @Parameter(hidden = true) ServletWebRequest webRequest)
             throws MalformedURLException, UnsupportedEncodingException, NotAuthenticatedException,
             AccessDeniedException {
         String objectRights = "";
@@ -376,13 +405,22 @@ public class CatalogObjectController {
             }
         }
 
+        // the association status is not part of the catalog object version
+        boolean checkAssociation = sessionIdRequired && checkAssociationStatus;
+        if (!checkAssociation) {
+            CatalogObjectVersion version = catalogObjectService.getCatalogObjectVersion(bucketName, name);
+            if (ConditionalRequestHelper.checkMetadataNotModified(webRequest, version, objectRights)) {
+                return null;
+            }
+        }
+
         CatalogObjectMetadata metadata = catalogObjectService.getCatalogObjectMetadata(bucketName, name);
         if (sessionIdRequired) {
             metadata.setRights(objectRights);
         }
         metadata.add(LinkUtil.createLink(bucketName, metadata.getName()));
         metadata.add(LinkUtil.createRelativeLink(bucketName, metadata.getName()));
-        if (sessionIdRequired && checkAssociationStatus) {
+        if (checkAssociation) {
             AssociatedObject associatedObject = jobPlannerService.getAssociatedObject(sessionId, bucketName, name);
             addAssociationStatus(metadata, associatedObject);
         }
@@ -399,12 +437,20 @@ public class CatalogObjectController {
     public ResponseEntity<String> getRaw(
             @Parameter(description = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
             @Parameter(description = "The name of the existing Bucket", required = true, schema = @Schema(pattern = BucketNameValidator.VALID_BUCKET_NAME_PATTERN)) @PathVariable String bucketName,
-            @Parameter(description = "The name of the existing Object", required = true, schema = @Schema(pattern = ObjectNameValidator.VALID_OBJECT_NAME_PATTERN)) @PathVariable String name)
+            @Parameter(description = "The name of the existing Object", required = true, schema = @Schema(pattern = ObjectNameValidator.VALID_OBJECT_NAME_PATTERN)) @PathVariable String name,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) ServletWebRequest webRequest)
             throws UnsupportedEncodingException, NotAuthenticatedException, AccessDeniedException {
 
         checkUserAccess(sessionId, bucketName, name, read);
 
-        CatalogRawObject rawObject = catalogObjectService.getCatalogRawObject(bucketName, name);
+        boolean gzipAccepted = rawObjectResponseCreator.isGzipAccepted(acceptEncoding);
+        CatalogObjectVersion version = catalogObjectService.getCatalogObjectVersion(bucketName, name);
+        if (ConditionalRequestHelper.checkRawObjectNotModified(webRequest, version, gzipAccepted)) {
+            return null;
+        }
+
+        CatalogRawObject rawObject = catalogObjectService.getCatalogRawObject(bucketName, name, gzipAccepted);
         return rawObjectResponseCreator.createRawObjectResponse(rawObject);
 
     }
@@ -438,7 +484,7 @@ public class CatalogObjectController {
             @Parameter(description = "Filter according to kind(s).<br/>Multiple kinds can be specified using comma separators") @RequestParam(required = false) Optional<String> kind,
             @Parameter(description = "Filter according to Content-Type.") @RequestParam(required = false) Optional<String> contentType,
             @Parameter(description = "Filter according to Object Name.") @RequestParam(value = "objectName", required = false) Optional<String> objectNameFilter,
-            @Parameter(description = "Filter according to Object Tag.") @RequestParam(value = "objectTag", required = false) Optional<String> objectTagFilter,
+            @Parameter(description = "Filter according to Object Tag: objects having a tag starting with the given value, ignoring case. The value can also be a pattern using % wildcards, e.g. %tag% for tags containing it, which is slower on large catalogs.") @RequestParam(value = "objectTag", required = false) Optional<String> objectTagFilter,
             @Parameter(description = "Filter according to Job-Planner association status.<br/>If enabled, only objects for which a job-planner association exists with the provided status will be returned.<br/>Parameter can be ALL, PLANNED, DEACTIVATED, FAILED or UNPLANNED.<br/>ALL will filter objects which have an association with any status.<br/>UNPLANNED will filter objects without any association.", schema = @Schema(type = "string", allowableValues = { "ALL",
                                                                                                                                                                                                                                                                                                                                                                                                                                                                             "PLANNED", "DEACTIVATED", "FAILED", "UNPLANNED" })) @RequestParam(value = "associationStatus", required = false) Optional<String> associationStatusFilter,
             @Parameter(description = "Include only objects whose project name contains the given string.") @RequestParam(value = "projectName", required = false) Optional<String> projectNameFilter,
@@ -447,6 +493,8 @@ public class CatalogObjectController {
             @Parameter(description = "Include only objects whose last commit time is greater than the given EPOCH time.") @RequestParam(value = "lastCommitTimeGreater", required = false) Optional<Long> lastCommitTimeGreater,
             @Parameter(description = "Include only objects whose last commit time is less than the given EPOCH time.") @RequestParam(value = "lastCommitTimeLessThan", required = false) Optional<Long> lastCommitTimeLessThan,
             @Parameter(description = "Give a list of name separated by comma to get them in an archive", array = @ArraySchema(schema = @Schema())) @RequestParam(value = "listObjectNamesForArchive", required = false) Optional<List<String>> names,
+            @Parameter(description = "Continuation token returned in the " + CONTINUATION_TOKEN_HEADER +
+                                     " header of the previous page.<br/>When given, the page starts right after the last object of the previous page and pageNo is ignored.") @RequestParam(value = "continuationToken", required = false) Optional<String> continuationToken,
             @Parameter(description = "Page number", required = false) @RequestParam(defaultValue = "0", value = "pageNo") int pageNo,
             @Parameter(description = "Page size", required = false) @RequestParam(defaultValue = MAXVALUE +
                                                                                                  "", value = "pageSize") int pageSize,
@@ -474,18 +522,21 @@ public class CatalogObjectController {
             ZipArchiveContent content = catalogObjectService.getCatalogObjectsAsZipArchive(bucketName, names.get());
             return getResponseAsArchive(content, response, bucketName);
         } else {
-            List<CatalogObjectMetadata> metadataList = catalogObjectService.listCatalogObjects(Collections.singletonList(bucketName),
-                                                                                               kind,
-                                                                                               contentType,
-                                                                                               objectNameFilter,
-                                                                                               objectTagFilter,
-                                                                                               projectNameFilter,
-                                                                                               lastCommitBy,
-                                                                                               committedAtLeastOnceBy,
-                                                                                               lastCommitTimeGreater,
-                                                                                               lastCommitTimeLessThan,
-                                                                                               pageNo,
-                                                                                               pageSize);
+            CatalogObjectMetadataPage page = catalogObjectService.listCatalogObjectsPage(Collections.singletonList(bucketName),
+                                                                                         kind,
+                                                                                         contentType,
+                                                                                         objectNameFilter,
+                                                                                         objectTagFilter,
+                                                                                         projectNameFilter,
+                                                                                         lastCommitBy,
+                                                                                         committedAtLeastOnceBy,
+                                                                                         lastCommitTimeGreater,
+                                                                                         lastCommitTimeLessThan,
+                                                                                         continuationToken.filter(s -> !s.isEmpty())
+                                                                                                          .map(CatalogObjectCursor::fromToken),
+                                                                                         pageNo,
+                                                                                         pageSize);
+            List<CatalogObjectMetadata> metadataList = new ArrayList<>(page.getContent());
 
             if (sessionIdRequired && !userGrants.isPublicBucket() && !userGrants.isCatalogAdmin()) {
                 // remove all objects that the user shouldn't have access according to the grants specification.
@@ -540,7 +591,12 @@ public class CatalogObjectController {
                 }
             }
             Collections.sort(metadataList);
-            return ResponseEntity.ok(metadataList);
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                // objects filtered out above are still accounted in the cursor, so the next page never repeats them
+                responseBuilder.header(CONTINUATION_TOKEN_HEADER, page.getNextCursor().toToken());
+            }
+            return responseBuilder.body(metadataList);
         }
     }
 
@@ -691,7 +747,7 @@ public class CatalogObjectController {
                 throw new AccessDeniedException("Session id is not active. Please login.");
             }
             user = restApiAccessService.getUserFromSessionId(sessionId);
-            BucketMetadata bucket = bucketService.getBucketMetadata(bucketName);
+            BucketDescriptor bucket = bucketService.getBucketDescriptor(bucketName);
             isPublicBucket = GrantHelper.isPublicBucket(bucket.getOwner());
             if (isPublicBucket || user.isCatalogAdmin()) {
                 bucketRights = admin.name();
@@ -42,7 +42,9 @@ import org.ow2.proactive.catalog.service.*;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.BucketGrantAccessException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
 import org.ow2.proactive.catalog.util.AccessTypeHelper;
+import org.ow2.proactive.catalog.util.ConditionalRequestHelper;
 import org.ow2.proactive.catalog.util.LinkUtil;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
 import org.ow2.proactive.catalog.util.name.validator.BucketNameValidator;
@@ -50,10 +52,12 @@ import org.ow2.proactive.catalog.util.name.validator.ObjectNameValidator;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -156,12 +160,11 @@ public class CatalogObjectRevisionController {
                             @ApiResponse(responseCode = "401", description = "User not authenticated"),
                             @ApiResponse(responseCode = "403", description = "Permission denied") })
     @RequestMapping(value = "/{commitTimeRaw}", method = GET)
-    @ResponseStatus(HttpStatus.OK)
     public CatalogObjectMetadata get(
             @Parameter(description = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
             @Parameter(description = "The name of the existing Bucket", required = true, schema = @Schema(pattern = BucketNameValidator.VALID_BUCKET_NAME_PATTERN)) @PathVariable String bucketName,
             @Parameter(description = "The name of the existing Object", required = true, schema = @Schema(pattern = ObjectNameValidator.VALID_OBJECT_NAME_PATTERN)) @PathVariable String name,
-            @PathVariable long commitTimeRaw)
+            @PathVariable long commitTimeRaw, @Parameter(hidden = true) ServletWebRequest webRequest)
             throws UnsupportedEncodingException, NotAuthenticatedException, AccessDeniedException {
         if (sessionIdRequired) {
             // Check session validation
@@ -176,6 +179,13 @@ public class CatalogObjectRevisionController {
             }
         }
 
+        CatalogObjectVersion version = catalogObjectService.getCatalogObjectRevisionVersion(bucketName,
+                                                                                            name,
+                                                                                            commitTimeRaw);
+        if (ConditionalRequestHelper.checkMetadataNotModified(webRequest, version, "")) {
+            return null;
+        }
+
         CatalogObjectMetadata metadata = catalogObjectService.getCatalogObjectRevision(bucketName, name, commitTimeRaw);
         metadata.add(LinkUtil.createLink(bucketName, metadata.getName(), metadata.getCommitDateTime()));
         metadata.add(LinkUtil.createRelativeLink(bucketName, metadata.getName(), metadata.getCommitDateTime()));
@@ -189,12 +199,13 @@ public class CatalogObjectRevisionController {
                             @ApiResponse(responseCode = "403", description = "Permission denied"),
                             @ApiResponse(responseCode = "404", description = "Bucket, catalog object or catalog object revision not found") })
     @RequestMapping(value = "/{commitTimeRaw}/raw", method = GET, produces = MediaType.ALL_VALUE)
-    @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<String> getRaw(
             @Parameter(description = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
             @Parameter(description = "The name of the existing Bucket", required = true, schema = @Schema(pattern = BucketNameValidator.VALID_BUCKET_NAME_PATTERN)) @PathVariable String bucketName,
             @Parameter(description = "The name of the existing Object", required = true, schema = @Schema(pattern = ObjectNameValidator.VALID_OBJECT_NAME_PATTERN)) @PathVariable String name,
-            @PathVariable long commitTimeRaw)
+            @PathVariable long commitTimeRaw,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) ServletWebRequest webRequest)
             throws UnsupportedEncodingException, NotAuthenticatedException, AccessDeniedException {
         if (sessionIdRequired) {
             // Check session validation
@@ -209,9 +220,18 @@ public class CatalogObjectRevisionController {
             }
         }
 
+        boolean gzipAccepted = rawObjectResponseCreator.isGzipAccepted(acceptEncoding);
+        CatalogObjectVersion version = catalogObjectService.getCatalogObjectRevisionVersion(bucketName,
+                                                                                            name,
+                                                                                            commitTimeRaw);
+        if (ConditionalRequestHelper.checkRawObjectNotModified(webRequest, version, gzipAccepted)) {
+            return null;
+        }
+
         CatalogRawObject objectRevisionRaw = catalogObjectService.getCatalogObjectRevisionRaw(bucketName,
                                                                                               name,
-                                                                                              commitTimeRaw);
+                                                                                              commitTimeRaw,
+                                                                                              gzipAccepted);
 
         return rawObjectResponseCreator.createRawObjectResponse(objectRevisionRaw);
     }
@@ -0,0 +1,78 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.service.model.BucketDescriptor;
+import org.ow2.proactive.catalog.util.InvalidatingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * Keeps the descriptors of the existing buckets by name, so that the access checks of each request do not read the
+ * bucket from the database. Only existing buckets are cached, the cache is thus bounded by their number.
+ *
+ * The bucket mutations invalidate the descriptor, see {@link InvalidatingCache}, the expiration bounds the staleness
+ * of the descriptors changed by another catalog instance.
+ */
+@Component
+public class BucketDescriptorCache {
+
+    @Value("${pa.catalog.bucket.descriptor.cache.expiration.seconds}")
+    protected long expirationSeconds;
+
+    private InvalidatingCache<String, BucketDescriptor> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new InvalidatingCache<>(CacheBuilder.newBuilder()
+                                                    .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                                                    .build());
+    }
+
+    /**
+     * Get the descriptor of the bucket, reading it with the loader when it is not cached. Exceptions of the loader
+     * are propagated and nothing is cached.
+     */
+    public BucketDescriptor get(String bucketName, Supplier<BucketDescriptor> loader) {
+        return cache.get(bucketName, loader);
+    }
+
+    public void invalidate(String bucketName) {
+        cache.invalidate(bucketName);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -68,6 +68,9 @@ public class BucketGrantService {
     @Autowired
     private CatalogObjectGrantService catalogObjectGrantService;
 
+    @Autowired
+    private GrantRightsCache grantRightsCache;
+
     /**
      * Get the list of all the bucket grants assigned to the user and its groups for all the buckets.
      *
@@ -191,6 +194,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata updateBucketGrantForASpecificUser(AuthenticatedUser currentUser, String bucketName,
             String username, String accessType) {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and get its id
         long bucketId;
@@ -235,6 +239,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata updateBucketGrantForASpecificTenant(AuthenticatedUser currentUser, String bucketName,
             String tenant, String accessType) {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and get its id
         long bucketId;
@@ -279,6 +284,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata updateBucketGrantForASpecificUserGroup(AuthenticatedUser currentUser, String bucketName,
             String userGroup, String accessType, int priority) {
+        grantRightsCache.invalidateBucket(bucketName);
         PriorityLevelValidator.checkAndValidateTheGivenPriorityLevel(priority);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and get its id
@@ -328,6 +334,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata createBucketGrantForAUser(String bucketName, String currentUser, String accessType,
             String username) throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the corresponding bucket from the DB
         BucketEntity bucket = bucketRepository.findOneByBucketName(bucketName);
@@ -369,6 +376,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata createBucketGrantForATenant(String bucketName, String currentUser, String accessType,
             String tenant) throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the corresponding bucket from the DB
         BucketEntity bucket = bucketRepository.findOneByBucketName(bucketName);
@@ -407,6 +415,7 @@ public class BucketGrantService {
     @Transactional
     public BucketGrantMetadata createBucketGrantForAGroup(String bucketName, String currentUser, String accessType,
             int priority, String userGroup) throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         PriorityLevelValidator.checkAndValidateTheGivenPriorityLevel(priority);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the corresponding bucket from the DB
@@ -444,6 +453,7 @@ public class BucketGrantService {
      */
     @Transactional
     public BucketGrantMetadata deleteBucketGrantForAUser(String bucketName, String username) {
+        grantRightsCache.invalidateBucket(bucketName);
         // Find the bucket
         BucketEntity bucketEntity = bucketRepository.findOneByBucketName(bucketName);
         // Find the user grant
@@ -466,6 +476,7 @@ public class BucketGrantService {
      */
     @Transactional
     public BucketGrantMetadata deleteBucketGrantForATenant(String bucketName, String tenant) {
+        grantRightsCache.invalidateBucket(bucketName);
         // Find the bucket
         BucketEntity bucketEntity = bucketRepository.findOneByBucketName(bucketName);
         // Find the user grant
@@ -488,6 +499,7 @@ public class BucketGrantService {
      */
     @Transactional
     public BucketGrantMetadata deleteBucketGrantForAGroup(String bucketName, String userGroup) {
+        grantRightsCache.invalidateBucket(bucketName);
         // Find the bucket
         BucketEntity bucketEntity = bucketRepository.findOneByBucketName(bucketName);
         // Find the group grant
@@ -524,6 +536,7 @@ public class BucketGrantService {
 
     @Transactional
     public AllBucketGrants deleteAllBucketAndItsObjectsGrants(String bucketName) {
+        grantRightsCache.invalidateBucket(bucketName);
         AllBucketGrants allBucketGrants = this.getAllBucketAndObjectGrants(bucketName);
         this.deleteAllGrantsAssignedToABucketAndItsObjects(this.getBucketIdByName(bucketName));
         return allBucketGrants;
@@ -538,6 +551,7 @@ public class BucketGrantService {
      */
     @Transactional
     public List<BucketGrantMetadata> deleteAllGrantsAssignedToABucket(String bucketName) {
+        grantRightsCache.invalidateBucket(bucketName);
         long bucketId = this.getBucketIdByName(bucketName);
         return GrantHelper.mapToGrants(bucketGrantRepository.deleteAllByBucketEntityId(bucketId));
     }
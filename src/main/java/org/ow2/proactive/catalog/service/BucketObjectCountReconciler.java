@@ -0,0 +1,73 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Recounts the catalog objects of each bucket and fixes the object counts which drifted, e.g. counts of buckets
+ * created before the OBJECT_COUNT column existed or objects removed directly in the database.
+ * It runs at startup and then periodically.
+ */
+@Log4j2
+@Component
+public class BucketObjectCountReconciler {
+
+    @Autowired
+    private BucketRepository bucketRepository;
+
+    @Scheduled(initialDelayString = "${pa.catalog.bucket.object.count.reconciliation.period.ms}", fixedDelayString = "${pa.catalog.bucket.object.count.reconciliation.period.ms}")
+    @Transactional
+    public void reconcileObjectCounts() {
+        Map<Long, Integer> actualCounts = new HashMap<>();
+        bucketRepository.countObjectsByBucketId()
+                        .forEach(row -> actualCounts.put((Long) row[0], ((Number) row[1]).intValue()));
+        int reconciled = 0;
+        List<Object[]> storedCounts = bucketRepository.findObjectCounts();
+        for (Object[] row : storedCounts) {
+            Long bucketId = (Long) row[0];
+            int storedCount = ((Number) row[1]).intValue();
+            int actualCount = actualCounts.getOrDefault(bucketId, 0);
+            if (storedCount != actualCount) {
+                reconciled += bucketRepository.compareAndSetObjectCount(bucketId, storedCount, actualCount);
+            }
+        }
+        if (reconciled > 0) {
+            log.info("Object count of " + reconciled + " buckets reconciled.");
+        }
+    }
+}
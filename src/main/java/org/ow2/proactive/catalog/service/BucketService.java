@@ -36,6 +36,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.ow2.proactive.catalog.dto.AssociatedObjectsByBucket;
 import org.ow2.proactive.catalog.dto.AssociationStatus;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
@@ -44,7 +45,9 @@ import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.BucketNameIsNotValidException;
 import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
 import org.ow2.proactive.catalog.service.exception.DeleteNonEmptyBucketException;
+import org.ow2.proactive.catalog.service.exception.WrongParametersException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.BucketDescriptor;
 import org.ow2.proactive.catalog.util.name.validator.BucketNameValidator;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -94,6 +97,18 @@ public class BucketService {
     @Autowired
     private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
 
+    @Autowired
+    private RevisionContentService revisionContentService;
+
+    @Autowired
+    private CatalogObjectDictionary catalogObjectDictionary;
+
+    @Autowired
+    private GrantRightsCache grantRightsCache;
+
+    @Autowired
+    private BucketDescriptorCache bucketDescriptorCache;
+
     @Value("${pa.catalog.tenant.filtering}")
     private boolean isTenantFiltering;
 
@@ -109,6 +124,7 @@ public class BucketService {
 
         BucketEntity bucketEntity = new BucketEntity(name, owner, tenant);
 
+        bucketDescriptorCache.invalidate(name);
         bucketEntity = bucketRepository.save(bucketEntity);
         return new BucketMetadata(bucketEntity, 0);
     }
@@ -116,6 +132,8 @@ public class BucketService {
     @Transactional
     public BucketMetadata updateOwnerByBucketName(String bucketName, String owner)
             throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
+        bucketDescriptorCache.invalidate(bucketName);
         BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
         bucketEntity.setOwner(owner);
 
@@ -123,7 +141,25 @@ public class BucketService {
 
         createRevisionForObjects(bucketName, COMMIT_MESSAGE_UPDATE_BUCKET);
 
-        return new BucketMetadata(bucketEntity, bucketEntity.getCatalogObjects().size());
+        return new BucketMetadata(bucketEntity, bucketEntity.getObjectCount());
+    }
+
+    /**
+     * Sets the revision retention policy of the bucket, applied by {@link RevisionCompactor}.
+     * Null values remove the corresponding limit.
+     */
+    @Transactional
+    public BucketMetadata updateRetentionPolicyByBucketName(String bucketName, Integer maxRevisions,
+            Integer maxAgeDays) {
+        if ((maxRevisions != null && maxRevisions < 1) || (maxAgeDays != null && maxAgeDays < 1)) {
+            throw new WrongParametersException("retention limits must be positive");
+        }
+        BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
+        bucketEntity.setRetentionMaxRevisions(maxRevisions);
+        bucketEntity.setRetentionMaxAgeDays(maxAgeDays);
+
+        bucketEntity = bucketRepository.save(bucketEntity);
+        return new BucketMetadata(bucketEntity, bucketEntity.getObjectCount());
     }
 
     //create a new revision for objects when the bucket owner is updated
@@ -141,6 +177,21 @@ public class BucketService {
         return new BucketMetadata(bucketEntity);
     }
 
+    /**
+     * Get the identity, owner and tenant of the bucket. Once read, they are served from memory until the bucket
+     * is changed, so this method does not start a transaction.
+     */
+    public BucketDescriptor getBucketDescriptor(String bucketName) {
+        return bucketDescriptorCache.get(bucketName, () -> {
+            BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
+            return new BucketDescriptor(bucketEntity.getId(),
+                                        bucketEntity.getBucketName(),
+                                        bucketEntity.getOwner(),
+                                        bucketEntity.getTenant(),
+                                        DEFAULT_BUCKET_OWNER.equals(bucketEntity.getOwner()));
+        });
+    }
+
     @Transactional(readOnly = true)
     public List<BucketMetadata> listBuckets(List<String> owners, String tenant, AuthenticatedUser user,
             Optional<String> kind, Optional<String> contentType, Optional<String> objectName, Optional<String> tag,
@@ -272,8 +323,7 @@ public class BucketService {
 
     private List<BucketMetadata> generateBucketMetadataList(List<BucketEntity> bucketEntityList) {
         return bucketEntityList.stream()
-                               .map(bucketEntity -> new BucketMetadata(bucketEntity,
-                                                                       bucketEntity.getCatalogObjects().size()))
+                               .map(bucketEntity -> new BucketMetadata(bucketEntity, bucketEntity.getObjectCount()))
                                .collect(Collectors.toList());
 
     }
@@ -367,7 +417,7 @@ public class BucketService {
         List<String> bucketNames = entities.stream().map(BucketMetadata::getName).collect(Collectors.toList());
         List<String> objectNames = null;
         // search in the DB the latest revision of catalog objects which matching the other filters including the tag
-        List<CatalogObjectRevisionEntity> objectList;
+        List<CatalogObjectMetadata> objectList;
         List<AssociatedObjectsByBucket> associatedObjectsByBucketList = null;
 
         if (sessionId != null && associationStatus.isPresent()) {
@@ -379,19 +429,20 @@ public class BucketService {
             }
         }
 
-        objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameAndTagInBucket(bucketNames,
-                                                                                                                                  objectNames,
-                                                                                                                                  kindList,
-                                                                                                                                  contentType.orElse(null),
-                                                                                                                                  objectName.orElse(null),
-                                                                                                                                  projectNameFilter,
-                                                                                                                                  lastCommitByFilter,
-                                                                                                                                  committedAtLeastOnceByFilter,
-                                                                                                                                  tagFilter,
-                                                                                                                                  lastCommitTimeGreaterFilter,
-                                                                                                                                  lastCommitTimeLessThanFilter,
-                                                                                                                                  0,
-                                                                                                                                  Integer.MAX_VALUE);
+        objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucket(bucketNames,
+                                                                                                                                         objectNames,
+                                                                                                                                         kindList,
+                                                                                                                                         contentType.orElse(null),
+                                                                                                                                         objectName.orElse(null),
+                                                                                                                                         projectNameFilter,
+                                                                                                                                         lastCommitByFilter,
+                                                                                                                                         committedAtLeastOnceByFilter,
+                                                                                                                                         tagFilter,
+                                                                                                                                         lastCommitTimeGreaterFilter,
+                                                                                                                                         lastCommitTimeLessThanFilter,
+                                                                                                                                         0,
+                                                                                                                                         Integer.MAX_VALUE,
+                                                                                                                                         false);
         // filter by association status if requested
 
         if (sessionId != null && associationStatus.isPresent()) {
@@ -399,19 +450,15 @@ public class BucketService {
                                                                                                                .collect(Collectors.toMap(AssociatedObjectsByBucket::getBucketName,
                                                                                                                                          Function.identity()));
             objectList = objectList.stream()
-                                   .filter(entity -> isObjectMatchingJobPlannerAssociationStatus(entity,
-                                                                                                 associatedObjectsByBucketMap.get(entity.getCatalogObject()
-                                                                                                                                        .getBucket()
-                                                                                                                                        .getBucketName()),
+                                   .filter(object -> isObjectMatchingJobPlannerAssociationStatus(object,
+                                                                                                 associatedObjectsByBucketMap.get(object.getBucketName()),
                                                                                                  associationStatusFilter))
                                    .collect(Collectors.toList());
         }
 
         // group entities per bucket
-        Map<String, List<CatalogObjectRevisionEntity>> objectsPerBucket = objectList.stream()
-                                                                                    .collect(Collectors.groupingBy(obj -> obj.getCatalogObject()
-                                                                                                                             .getBucket()
-                                                                                                                             .getBucketName()));
+        Map<String, List<CatalogObjectMetadata>> objectsPerBucket = objectList.stream()
+                                                                              .collect(Collectors.groupingBy(CatalogObjectMetadata::getBucketName));
 
         // updating the object counts based on the objects which satisfying also the tag filter
         for (Iterator<BucketMetadata> it = entities.iterator(); it.hasNext();) {
@@ -447,7 +494,7 @@ public class BucketService {
                                             .collect(Collectors.toSet());
     }
 
-    private boolean isObjectMatchingJobPlannerAssociationStatus(CatalogObjectRevisionEntity entity,
+    private boolean isObjectMatchingJobPlannerAssociationStatus(CatalogObjectMetadata object,
             AssociatedObjectsByBucket associatedObjectsByBucket, String expectedStatus) {
         if (associatedObjectsByBucket == null) {
             return UNPLANNED.equalsIgnoreCase(expectedStatus);
@@ -457,8 +504,7 @@ public class BucketService {
                 return associatedObjectsByBucket.getObjects()
                                                 .stream()
                                                 .anyMatch(associatedObject -> associatedObject.getObjectName()
-                                                                                              .equalsIgnoreCase(entity.getCatalogObject()
-                                                                                                                      .getNameLower()) &&
+                                                                                              .equalsIgnoreCase(object.getName()) &&
                                                                               !associatedObject.getStatuses()
                                                                                                .isEmpty());
             case UNPLANNED:
@@ -466,15 +512,13 @@ public class BucketService {
                 return associatedObjectsByBucket.getObjects()
                                                 .stream()
                                                 .noneMatch(associatedObject -> associatedObject.getObjectName()
-                                                                                               .equalsIgnoreCase(entity.getCatalogObject()
-                                                                                                                       .getNameLower()));
+                                                                                               .equalsIgnoreCase(object.getName()));
             default:
                 AssociationStatus associationStatus = AssociationStatus.convert(expectedStatus);
                 return associatedObjectsByBucket.getObjects()
                                                 .stream()
                                                 .anyMatch(associatedObject -> associatedObject.getObjectName()
-                                                                                              .equalsIgnoreCase(entity.getCatalogObject()
-                                                                                                                      .getNameLower()) &&
+                                                                                              .equalsIgnoreCase(object.getName()) &&
                                                                               associatedObject.getStatuses()
                                                                                               .contains(associationStatus));
         }
@@ -491,16 +535,27 @@ public class BucketService {
     @Transactional
     public void cleanAllEmptyBuckets() {
         List<BucketEntity> emptyBucketsForUpdate = bucketRepository.findEmptyBucketsForUpdate();
+        emptyBucketsForUpdate.forEach(bucket -> {
+            grantRightsCache.invalidateBucket(bucket.getBucketName());
+            bucketDescriptorCache.invalidate(bucket.getBucketName());
+        });
         bucketRepository.deleteInBatch(emptyBucketsForUpdate);
     }
 
     @Transactional
     public void cleanAll() {
+        grantRightsCache.invalidateAll();
+        bucketDescriptorCache.invalidateAll();
         bucketRepository.deleteAll();
+        bucketRepository.flush();
+        revisionContentService.deleteAllContents();
+        catalogObjectDictionary.clear();
     }
 
     @Transactional
     public BucketMetadata deleteEmptyBucket(String bucketName) {
+        grantRightsCache.invalidateBucket(bucketName);
+        bucketDescriptorCache.invalidate(bucketName);
         BucketEntity bucketEntity = bucketRepository.findBucketForUpdate(bucketName);
 
         if (bucketEntity == null) {
@@ -0,0 +1,72 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Logs the hit, miss and put counts of each region of the Hibernate second-level cache and of the query cache,
+ * when Hibernate statistics are enabled.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class CacheStatisticsLogger {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Scheduled(initialDelayString = "${pa.catalog.cache.statistics.log.period.ms}", fixedDelayString = "${pa.catalog.cache.statistics.log.period.ms}")
+    public void logCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+            log.info(String.format("Cache region %s: %d hits, %d misses, %d puts, %d entries",
+                                   regionName,
+                                   regionStatistics.getHitCount(),
+                                   regionStatistics.getMissCount(),
+                                   regionStatistics.getPutCount(),
+                                   regionStatistics.getElementCountInMemory()));
+        }
+        log.info(String.format("Query cache: %d hits, %d misses, %d puts",
+                               statistics.getQueryCacheHitCount(),
+                               statistics.getQueryCacheMissCount(),
+                               statistics.getQueryCachePutCount()));
+    }
+}
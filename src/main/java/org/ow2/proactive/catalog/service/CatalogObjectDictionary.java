@@ -0,0 +1,274 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * In-memory dictionaries of the kinds, Content-Types and tags of the catalog objects, so that listing them does not
+ * scan the catalog. Each value is counted once per catalog object having it and disappears with its last object.
+ * <p>
+ * The counts are loaded by {@link #rebuild()} at startup, then changed by the catalog object writes. The changes of
+ * a transaction are applied once it is committed, and dropped if it is rolled back.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Component
+public class CatalogObjectDictionary {
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Value("${kind.separator}")
+    protected String kindSeparator;
+
+    private final Map<String, Integer> kindCounts = new HashMap<>();
+
+    private final Map<String, Integer> contentTypeCounts = new HashMap<>();
+
+    private final Map<String, Integer> tagCounts = new HashMap<>();
+
+    // sorted snapshots served to readers, recomputed only when a value appears or disappears
+    private volatile SortedSet<String> kinds = Collections.emptySortedSet();
+
+    private volatile SortedSet<String> contentTypes = Collections.emptySortedSet();
+
+    private volatile SortedSet<String> tags = Collections.emptySortedSet();
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reloads the counts from the database. Object writes committed while it runs could be missed, it is meant to
+     * run at startup before the catalog serves requests.
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Changes counts = new Changes();
+        counts.cleared = true;
+        loadCounts(catalogObjectRepository.countObjectsByKind(), counts.kinds);
+        loadCounts(catalogObjectRepository.countObjectsByContentType(), counts.contentTypes);
+        loadCounts(catalogObjectRepository.countObjectsByTag(), counts.tags);
+        apply(counts);
+        ready = true;
+        log.info("Catalog dictionaries loaded: " + kindCounts.size() + " kinds, " + contentTypeCounts.size() +
+                 " Content-Types, " + tagCounts.size() + " tags");
+    }
+
+    /**
+     * @return the kinds with their parent kinds, e.g. a, a/b, a/c, d, d/f, d/f/g for the kinds a/b, a/c and d/f/g
+     */
+    public TreeSet<String> getKinds() {
+        return new TreeSet<>(kinds);
+    }
+
+    public TreeSet<String> getContentTypes() {
+        return new TreeSet<>(contentTypes);
+    }
+
+    public TreeSet<String> getTags() {
+        return new TreeSet<>(tags);
+    }
+
+    public void addObject(String kind, String contentType) {
+        record(changes -> {
+            Changes.add(changes.kinds, kind, 1);
+            Changes.add(changes.contentTypes, contentType, 1);
+        });
+    }
+
+    public void removeObject(String kind, String contentType, Collection<String> objectTags) {
+        record(changes -> {
+            Changes.add(changes.kinds, kind, -1);
+            Changes.add(changes.contentTypes, contentType, -1);
+            new HashSet<>(objectTags).forEach(tag -> Changes.add(changes.tags, tag, -1));
+        });
+    }
+
+    public void replaceKindAndContentType(String previousKind, String newKind, String previousContentType,
+            String newContentType) {
+        record(changes -> {
+            Changes.add(changes.kinds, previousKind, -1);
+            Changes.add(changes.kinds, newKind, 1);
+            Changes.add(changes.contentTypes, previousContentType, -1);
+            Changes.add(changes.contentTypes, newContentType, 1);
+        });
+    }
+
+    public void replaceTags(Collection<String> previousTags, Collection<String> newTags) {
+        Set<String> removedTags = new HashSet<>(previousTags);
+        removedTags.removeAll(newTags);
+        Set<String> addedTags = new HashSet<>(newTags);
+        addedTags.removeAll(previousTags);
+        if (removedTags.isEmpty() && addedTags.isEmpty()) {
+            return;
+        }
+        record(changes -> {
+            removedTags.forEach(tag -> Changes.add(changes.tags, tag, -1));
+            addedTags.forEach(tag -> Changes.add(changes.tags, tag, 1));
+        });
+    }
+
+    /**
+     * Empties the dictionaries, once all the catalog objects are deleted.
+     */
+    public void clear() {
+        record(Changes::clear);
+    }
+
+    public static TreeSet<String> withParentKinds(Collection<String> kinds, String kindSeparator) {
+        TreeSet<String> resultKinds = new TreeSet<>();
+        kinds.forEach(kind -> {
+            String[] splittedKinds = kind.split(kindSeparator);
+            StringBuilder rootKinds = new StringBuilder();
+            for (int i = 0; i < splittedKinds.length - 1; i++) {
+                rootKinds.append(splittedKinds[i]);
+                resultKinds.add(rootKinds.toString());
+                rootKinds.append(kindSeparator);
+            }
+            resultKinds.add(kind);
+        });
+        return resultKinds;
+    }
+
+    private void record(Consumer<Changes> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Changes changes = new Changes();
+            change.accept(changes);
+            apply(changes);
+            return;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Changes transactionChanges = new Changes();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogObjectDictionary.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(transactionChanges);
+                    }
+                }
+            });
+            changes = transactionChanges;
+        }
+        change.accept(changes);
+    }
+
+    private synchronized void apply(Changes changes) {
+        if (changes.cleared) {
+            kindCounts.clear();
+            contentTypeCounts.clear();
+            tagCounts.clear();
+        }
+        if (applyDeltas(kindCounts, changes.kinds) || changes.cleared) {
+            kinds = Collections.unmodifiableSortedSet(withParentKinds(kindCounts.keySet(), kindSeparator));
+        }
+        if (applyDeltas(contentTypeCounts, changes.contentTypes) || changes.cleared) {
+            contentTypes = Collections.unmodifiableSortedSet(new TreeSet<>(contentTypeCounts.keySet()));
+        }
+        if (applyDeltas(tagCounts, changes.tags) || changes.cleared) {
+            tags = Collections.unmodifiableSortedSet(new TreeSet<>(tagCounts.keySet()));
+        }
+    }
+
+    /**
+     * @return whether a value appeared in or disappeared from the counts
+     */
+    private static boolean applyDeltas(Map<String, Integer> counts, Map<String, Integer> deltas) {
+        boolean valuesChanged = false;
+        for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+            Integer previousCount = counts.get(delta.getKey());
+            int count = (previousCount == null ? 0 : previousCount) + delta.getValue();
+            if (count > 0) {
+                counts.put(delta.getKey(), count);
+            } else {
+                counts.remove(delta.getKey());
+            }
+            valuesChanged |= (previousCount == null) != (count <= 0);
+        }
+        return valuesChanged;
+    }
+
+    private static void loadCounts(List<Object[]> rows, Map<String, Integer> counts) {
+        rows.stream()
+            .filter(row -> row[0] != null)
+            .forEach(row -> counts.put((String) row[0], ((Number) row[1]).intValue()));
+    }
+
+    /**
+     * Count deltas of the values, accumulated during a transaction.
+     */
+    private static class Changes {
+
+        private boolean cleared = false;
+
+        private final Map<String, Integer> kinds = new HashMap<>();
+
+        private final Map<String, Integer> contentTypes = new HashMap<>();
+
+        private final Map<String, Integer> tags = new HashMap<>();
+
+        private static void add(Map<String, Integer> deltas, String value, int delta) {
+            if (value != null) {
+                deltas.merge(value, delta, Integer::sum);
+            }
+        }
+
+        // the deltas recorded before concern objects which no longer exist
+        private void clear() {
+            cleared = true;
+            kinds.clear();
+            contentTypes.clear();
+            tags.clear();
+        }
+    }
+}
@@ -67,6 +67,9 @@ public class CatalogObjectGrantService {
     @Autowired
     private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
 
+    @Autowired
+    private GrantRightsCache grantRightsCache;
+
     /**
      *
      * @param bucketName name of the bucket where the catalog object is stored.
@@ -207,6 +210,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata createCatalogObjectGrantForAUser(String bucketName, String catalogObjectName,
             String currentUser, String accessType, String username) throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and the catalog object
         List<String> bucketsName = new LinkedList<>();
@@ -251,6 +255,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata createCatalogObjectGrantForATenant(String bucketName, String catalogObjectName,
             String currentUser, String accessType, String tenant) throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and the catalog object
         List<String> bucketsName = new LinkedList<>();
@@ -296,6 +301,7 @@ public class CatalogObjectGrantService {
     public CatalogObjectGrantMetadata createCatalogObjectGrantForAGroup(String bucketName, String catalogObjectName,
             String currentUser, String accessType, int priority, String userGroup)
             throws DataIntegrityViolationException {
+        grantRightsCache.invalidateBucket(bucketName);
         PriorityLevelValidator.checkAndValidateTheGivenPriorityLevel(priority);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         // Find the bucket and the catalog object
@@ -341,6 +347,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata updateCatalogObjectGrantForAUser(AuthenticatedUser currentUser, String username,
             String catalogObjectName, String bucketName, String accessType) {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         List<String> bucketsName = new LinkedList<>();
         bucketsName.add(bucketName);
@@ -384,6 +391,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata updateCatalogObjectGrantForATenant(AuthenticatedUser currentUser, String tenant,
             String catalogObjectName, String bucketName, String accessType) {
+        grantRightsCache.invalidateBucket(bucketName);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         List<String> bucketsName = new LinkedList<>();
         bucketsName.add(bucketName);
@@ -427,6 +435,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata updateCatalogObjectGrantForAGroup(AuthenticatedUser currentUser, String userGroup,
             String catalogObjectName, String bucketName, String accessType, int priority) {
+        grantRightsCache.invalidateBucket(bucketName);
         PriorityLevelValidator.checkAndValidateTheGivenPriorityLevel(priority);
         accessType = AccessTypeValidator.checkAndValidateTheGivenAccessType(accessType);
         List<String> bucketsName = new LinkedList<>();
@@ -471,6 +480,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata deleteCatalogObjectGrantForAUser(String bucketName, String catalogObjectName,
             String username) {
+        grantRightsCache.invalidateBucket(bucketName);
         List<String> bucketsName = new LinkedList<>();
         bucketsName.add(bucketName);
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucketsName,
@@ -500,6 +510,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata deleteCatalogObjectGrantForATenant(String bucketName, String catalogObjectName,
             String tenant) {
+        grantRightsCache.invalidateBucket(bucketName);
         List<String> bucketsName = new LinkedList<>();
         bucketsName.add(bucketName);
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucketsName,
@@ -529,6 +540,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public CatalogObjectGrantMetadata deleteCatalogObjectGrantForAGroup(String bucketName, String catalogObjectName,
             String userGroup) {
+        grantRightsCache.invalidateBucket(bucketName);
         List<String> bucketsName = new LinkedList<>();
         bucketsName.add(bucketName);
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucketsName,
@@ -572,6 +584,7 @@ public class CatalogObjectGrantService {
     @Transactional
     public List<CatalogObjectGrantMetadata> deleteAllCatalogObjectGrantsAssignedToAnObjectInABucket(String bucketName,
             String catalogObjectName) {
+        grantRightsCache.invalidateBucket(bucketName);
         List<CatalogObjectGrantEntity> result = catalogObjectGrantRepository.findGrantsAssignedToAnObject(bucketName,
                                                                                                           catalogObjectName);
 
@@ -588,6 +601,7 @@ public class CatalogObjectGrantService {
      */
     @Transactional
     public void deleteAllCatalogObjectGrantsByBucketNameAndObjectName(String bucketName, String catalogObjectName) {
+        grantRightsCache.invalidateBucket(bucketName);
         // Get the catalog objects grants
         List<CatalogObjectGrantEntity> catalogObjectGrants = catalogObjectGrantRepository.findCatalogObjectGrantsByBucketNameAndCatalogObjectName(bucketName,
                                                                                                                                                   catalogObjectName);
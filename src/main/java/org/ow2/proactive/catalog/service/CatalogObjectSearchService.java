@@ -0,0 +1,258 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static org.ow2.proactive.catalog.util.AccessType.admin;
+import static org.ow2.proactive.catalog.util.AccessType.read;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.ow2.proactive.catalog.dto.BucketGrantMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectGrantMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.repository.CatalogObjectSearchTermRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.CatalogObjectReadScope;
+import org.ow2.proactive.catalog.util.AccessTypeHelper;
+import org.ow2.proactive.catalog.util.GrantHelper;
+import org.ow2.proactive.catalog.util.SearchTermExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+
+/**
+ * Full-text search over the latest revision of catalog objects, backed by the CATALOG_OBJECT_SEARCH_TERM table.
+ *
+ * @author ActiveEon Team
+ */
+@Service
+public class CatalogObjectSearchService {
+
+    @Autowired
+    private CatalogObjectSearchTermRepository catalogObjectSearchTermRepository;
+
+    @Autowired
+    private SearchTermExtractor searchTermExtractor;
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private BucketGrantService bucketGrantService;
+
+    @Autowired
+    private CatalogObjectGrantService catalogObjectGrantService;
+
+    @Autowired
+    private BucketService bucketService;
+
+    @Autowired
+    private OwnerGroupStringHelper ownerGroupStringHelper;
+
+    /**
+     * Search the catalog objects matching the terms of the query, the best matches first.
+     *
+     * @param user authenticated user whose grants filter the results, or null when no session is required
+     * @param query free text query
+     * @param pageNo page number
+     * @param pageSize page size
+     * @return the metadata of the latest revision of the matching catalog objects readable by the user
+     */
+    @Transactional(readOnly = true)
+    public List<CatalogObjectMetadata> search(AuthenticatedUser user, String query, int pageNo, int pageSize) {
+        Set<String> terms = searchTermExtractor.tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Function<Object[], String> rightsResolver;
+        CatalogObjectReadScope readScope;
+        if (user == null || user.isCatalogAdmin()) {
+            rightsResolver = row -> admin.name();
+            readScope = null;
+        } else {
+            List<BucketGrantMetadata> allBucketGrants = bucketGrantService.getUserAllBucketsGrants(user);
+            List<CatalogObjectGrantMetadata> allObjectGrants = catalogObjectGrantService.getObjectsGrants(user);
+            rightsResolver = getRightsResolver(user, allBucketGrants, allObjectGrants);
+            readScope = getReadScope(user, allBucketGrants, allObjectGrants, rightsResolver);
+        }
+        // the query only returns the objects of the user's tenant readable by the user, paginated by the database
+        Map<String, String> pageRights = new LinkedHashMap<>();
+        Map<String, List<String>> pageObjectNamesByBucket = new LinkedHashMap<>();
+        for (Object[] row : catalogObjectSearchTermRepository.findRankedCatalogObjects(terms,
+                                                                                         user,
+                                                                                         readScope,
+                                                                                         pageNo,
+                                                                                         pageSize)) {
+            String bucketName = (String) row[0];
+            String objectName = (String) row[2];
+            pageRights.put(toKey(bucketName, objectName), rightsResolver.apply(row));
+            pageObjectNamesByBucket.computeIfAbsent(bucketName, bucket -> new ArrayList<>()).add(objectName);
+        }
+
+        Map<String, CatalogObjectMetadata> metadataByKey = new HashMap<>();
+        pageObjectNamesByBucket.forEach((bucketName,
+                objectNames) -> catalogObjectService.listSelectedCatalogObjects(bucketName, objectNames)
+                                                    .forEach(metadata -> metadataByKey.put(toKey(bucketName,
+                                                                                                 metadata.getName()),
+                                                                                           metadata)));
+
+        // keep the ranking order, objects removed since the term lookup are skipped
+        List<CatalogObjectMetadata> result = new ArrayList<>();
+        pageRights.forEach((key, rights) -> {
+            CatalogObjectMetadata metadata = metadataByKey.get(key);
+            if (metadata != null) {
+                if (user != null) {
+                    metadata.setRights(rights);
+                }
+                result.add(metadata);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Index the next batch of catalog objects which have no search term yet.
+     *
+     * @return the number of catalog objects indexed
+     */
+    @Transactional
+    public int indexNextBatch(int batchSize) {
+        List<CatalogObjectEntity> catalogObjects = catalogObjectSearchTermRepository.findCatalogObjectsWithoutSearchTerm(new PageRequest(0,
+                                                                                                                                          batchSize));
+        for (CatalogObjectEntity catalogObject : catalogObjects) {
+            CatalogObjectRevisionEntity latestRevision = catalogObject.getLatestRevision();
+            catalogObject.synchronizeSearchTerms(searchTermExtractor.extractTerms(catalogObject.getId().getName(),
+                                                                                  latestRevision.getProjectName(),
+                                                                                  latestRevision.getKeyValueMetadataList()));
+        }
+        return catalogObjects.size();
+    }
+
+    /**
+     * The rights of each result are computed from the grants of the user the same way as when listing the objects
+     * of a bucket.
+     *
+     * @return a function giving the rights of the user on a row of bucket name, bucket owner and object name
+     */
+    private Function<Object[], String> getRightsResolver(AuthenticatedUser user,
+            List<BucketGrantMetadata> allBucketGrants, List<CatalogObjectGrantMetadata> allObjectGrants) {
+        Map<String, List<BucketGrantMetadata>> bucketGrantsByBucket = new HashMap<>();
+        Map<String, List<CatalogObjectGrantMetadata>> objectGrantsByBucket = new HashMap<>();
+        return row -> {
+            String bucketName = (String) row[0];
+            String bucketOwner = (String) row[1];
+            String objectName = (String) row[2];
+            if (GrantHelper.isPublicBucket(bucketOwner)) {
+                return admin.name();
+            }
+            List<BucketGrantMetadata> bucketGrants = bucketGrantsByBucket.computeIfAbsent(bucketName, bucket -> {
+                List<BucketGrantMetadata> grants = new ArrayList<>(GrantHelper.filterBucketGrants(allBucketGrants,
+                                                                                                  bucket));
+                GrantRightsService.addGrantsForBucketOwner(user, bucket, bucketOwner, grants);
+                return grants;
+            });
+            List<CatalogObjectGrantMetadata> objectGrants = GrantHelper.filterObjectGrants(objectGrantsByBucket.computeIfAbsent(bucketName,
+                                                                                                                                bucket -> GrantHelper.filterBucketGrants(allObjectGrants,
+                                                                                                                                                                         bucket)),
+                                                                                           objectName);
+            Optional<String> userSpecificBucketRights = GrantHelper.filterFirstUserSpecificGrant(bucketGrants)
+                                                                   .map(BucketGrantMetadata::getAccessType);
+            return GrantRightsService.getCatalogObjectRights(false,
+                                                             GrantRightsService.getBucketRights(bucketGrants),
+                                                             userSpecificBucketRights,
+                                                             objectGrants);
+        };
+    }
+
+    /**
+     * Only the buckets targeted by the grants of the user need their rights to be resolved here, the other ones are
+     * readable when public or owned by one of the user's groups.
+     */
+    private CatalogObjectReadScope getReadScope(AuthenticatedUser user, List<BucketGrantMetadata> allBucketGrants,
+            List<CatalogObjectGrantMetadata> allObjectGrants, Function<Object[], String> rightsResolver) {
+        Set<String> grantedBucketNames = new LinkedHashSet<>(GrantHelper.collectBucketNames(allBucketGrants));
+        grantedBucketNames.addAll(GrantHelper.collectBucketNames(allObjectGrants));
+        Set<String> readableBucketNames = new LinkedHashSet<>();
+        Map<String, Set<String>> unreadableObjectNamesByBucket = new HashMap<>();
+        Map<String, Set<String>> readableObjectNamesByBucket = new HashMap<>();
+        for (String bucketName : grantedBucketNames) {
+            String bucketOwner;
+            try {
+                bucketOwner = bucketService.getBucketDescriptor(bucketName).getOwner();
+            } catch (BucketNotFoundException e) {
+                continue;
+            }
+            boolean bucketReadable = GrantHelper.isPublicBucket(bucketOwner);
+            if (!bucketReadable) {
+                List<BucketGrantMetadata> bucketGrants = new ArrayList<>(GrantHelper.filterBucketGrants(allBucketGrants,
+                                                                                                        bucketName));
+                GrantRightsService.addGrantsForBucketOwner(user, bucketName, bucketOwner, bucketGrants);
+                bucketReadable = AccessTypeHelper.satisfy(GrantRightsService.getBucketRights(bucketGrants), read);
+            }
+            if (bucketReadable) {
+                readableBucketNames.add(bucketName);
+            }
+            // object grants only matter when they give different rights than the bucket
+            for (String objectName : GrantHelper.collectObjectNames(GrantHelper.filterBucketGrants(allObjectGrants,
+                                                                                                   bucketName))) {
+                boolean objectReadable = AccessTypeHelper.satisfy(rightsResolver.apply(new Object[] { bucketName,
+                                                                                                      bucketOwner,
+                                                                                                      objectName }),
+                                                                  read);
+                if (objectReadable != bucketReadable) {
+                    (objectReadable ? readableObjectNamesByBucket
+                                    : unreadableObjectNamesByBucket).computeIfAbsent(bucketName,
+                                                                                     bucket -> new HashSet<>())
+                                                                    .add(objectName);
+                }
+            }
+        }
+        return new CatalogObjectReadScope(new HashSet<>(ownerGroupStringHelper.getGroupsWithPrefixFromGroupList(user.getGroups())),
+                                          grantedBucketNames,
+                                          readableBucketNames,
+                                          unreadableObjectNamesByBucket,
+                                          readableObjectNamesByBucket);
+    }
+
+    private static String toKey(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
+}
@@ -39,28 +39,36 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AutoDetectParser;
 import org.ow2.proactive.catalog.dto.CatalogObjectDependencies;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadataPage;
 import org.ow2.proactive.catalog.dto.CatalogObjectNameReference;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
 import org.ow2.proactive.catalog.dto.DependsOnCatalogObject;
 import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectDependencyRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectDependencyEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTagEntity;
 import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.service.exception.*;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
 import org.ow2.proactive.catalog.service.model.GenericInfoBucketData;
 import org.ow2.proactive.catalog.util.*;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.FileNameAndContent;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
+import org.ow2.proactive.catalog.util.PackageMetadataJSONParser.CatalogObjectData;
 import org.ow2.proactive.catalog.util.name.validator.KindAndContentTypeValidator;
 import org.ow2.proactive.catalog.util.name.validator.ObjectNameValidator;
 import org.ow2.proactive.catalog.util.name.validator.TagsValidator;
@@ -111,6 +119,9 @@ public class CatalogObjectService {
     @Autowired
     private WorkflowInfoAdder workflowInfoAdder;
 
+    @Autowired
+    private RevisionContentService revisionContentService;
+
     @Autowired
     private RevisionCommitMessageBuilder revisionCommitMessageBuilder;
 
@@ -129,6 +140,15 @@ public class CatalogObjectService {
     @Autowired
     private SeparatorUtility separatorUtility;
 
+    @Autowired
+    private SearchTermExtractor searchTermExtractor;
+
+    @Autowired
+    private CatalogObjectDictionary catalogObjectDictionary;
+
+    @Autowired
+    private CatalogObjectDependencyRepository catalogObjectDependencyRepository;
+
     @Autowired
     CatalogObjectGrantService catalogObjectGrantService;
 
@@ -138,6 +158,9 @@ public class CatalogObjectService {
     @Value("${kind.separator}")
     protected String kindSeparator;
 
+    @Value("${pa.catalog.import.batch.size}")
+    protected int importBatchSize;
+
     @VisibleForTesting
     static final String KIND_NOT_FOUND = "N/A";
 
@@ -166,6 +189,10 @@ public class CatalogObjectService {
                                         extension);
     }
 
+    /**
+     * Imports the objects of a zip archive, creating new objects or new revisions of existing objects.
+     * Objects are written by batches of pa.catalog.import.batch.size.
+     */
     @Transactional
     public List<CatalogObjectMetadata> createCatalogObjects(String bucketName, String projectName, String tags,
             String kind, String commitMessage, AuthenticatedUser user, byte[] zipArchive) {
@@ -177,40 +204,50 @@ public class CatalogObjectService {
         }
         BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
 
-        return filesContainedInArchive.stream().map(file -> {
-            String objectName = file.getName();
-            CatalogObjectEntity catalogObject = catalogObjectRepository.findOne(new CatalogObjectEntity.CatalogObjectEntityKey(bucketEntity.getId(),
-                                                                                                                               objectName));
-            if (catalogObject == null) {
-                String contentTypeOfFile = getFileMimeType(file);
-                return this.createCatalogObject(bucketName,
-                                                objectName,
-                                                projectName,
-                                                tags,
-                                                kind,
-                                                commitMessage,
-                                                user.getName(),
-                                                contentTypeOfFile,
-                                                Collections.emptyList(),
-                                                file.getContent(),
-                                                FilenameUtils.getExtension(file.getFileNameWithExtension()));
-            } else {
-                if (!user.equals(AuthenticatedUser.EMPTY) &&
-                    !AccessTypeHelper.satisfy(grantRightsService.getCatalogObjectRights(user, bucketName, objectName),
-                                              write)) {
-                    throw new CatalogObjectGrantAccessException(bucketName, objectName);
+        List<CatalogObjectMetadata> objectsList = new ArrayList<>(filesContainedInArchive.size());
+        for (List<FileNameAndContent> batch : Lists.partition(filesContainedInArchive, importBatchSize)) {
+            Map<String, CatalogObjectEntity> catalogObjects = findCatalogObjectsByName(bucketEntity,
+                                                                                       batch.stream()
+                                                                                            .map(FileNameAndContent::getName)
+                                                                                            .collect(Collectors.toList()));
+            Map<CatalogObjectRevisionEntity, byte[]> importedRevisions = new LinkedHashMap<>();
+            int createdObjects = 0;
+            for (FileNameAndContent file : batch) {
+                String objectName = file.getName();
+                CatalogObjectEntity catalogObject = catalogObjects.get(objectName);
+                if (catalogObject == null) {
+                    String contentTypeOfFile = getFileMimeType(file);
+                    validateCatalogObject(objectName, kind, contentTypeOfFile, tags);
+                    catalogObject = newCatalogObjectEntity(bucketEntity,
+                                                           objectName,
+                                                           kind,
+                                                           contentTypeOfFile,
+                                                           FilenameUtils.getExtension(file.getFileNameWithExtension()));
+                    catalogObjects.put(objectName, catalogObject);
+                    createdObjects++;
+                } else {
+                    checkCatalogObjectWriteRights(user, bucketName, objectName);
                 }
-                return this.createCatalogObjectRevision(bucketName,
-                                                        objectName,
-                                                        projectName,
-                                                        tags,
-                                                        commitMessage,
-                                                        user.getName(),
-                                                        file.getContent());
+                buildCatalogObjectRevisionEntity(commitMessage,
+                                                 user.getName(),
+                                                 projectName,
+                                                 tags,
+                                                 file.getContent(),
+                                                 catalogObject,
+                                                 Collections.emptyList(),
+                                                 false,
+                                                 importedRevisions);
             }
-        }).collect(Collectors.toList());
+            objectsList.addAll(saveImportedRevisions(importedRevisions));
+            addToObjectCount(bucketEntity, createdObjects);
+        }
+        return objectsList;
     }
 
+    /**
+     * Imports the objects described in the metadata file of a catalog package, creating new objects or new revisions
+     * of existing objects. Objects are written by batches of pa.catalog.import.batch.size.
+     */
     @Transactional
     public List<CatalogObjectMetadata> createCatalogObjectsFromPackage(String bucketName, AuthenticatedUser user,
             String projectName, String tags, byte[] zipArchive, String commitMessage) {
@@ -221,55 +258,135 @@ public class CatalogObjectService {
         List<CatalogObjectMetadata> objectsList = new ArrayList<>();
         BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
 
-        metadata.getCatalog().getObjects().forEach(object -> {
-            byte[] objectFile = ArchiveManagerHelper.extractObjectByPath(zipArchive, object.getFile());
-            CatalogObjectEntity catalogObject = catalogObjectRepository.findOne(new CatalogObjectEntity.CatalogObjectEntityKey(bucketEntity.getId(),
-                                                                                                                               object.getName()));
-            CatalogObjectMetadata objectMetadata;
-            if (catalogObject == null) {
-                objectMetadata = this.createCatalogObject(bucketName,
-                                                          object.getName(),
-                                                          Strings.isNullOrEmpty(projectName) ? object.getMetadata()
-                                                                                                     .getProjectName()
-                                                                                             : projectName,
-                                                          Strings.isNullOrEmpty(tags) ? object.getMetadata().getTags()
-                                                                                      : tags,
-                                                          object.getMetadata().getKind(),
-                                                          Strings.isNullOrEmpty(commitMessage) ? object.getMetadata()
-                                                                                                       .getCommitMessage()
-                                                                                               : commitMessage,
-                                                          user.getName(),
-                                                          object.getMetadata().getContentType(),
-                                                          Collections.emptyList(),
-                                                          objectFile,
-                                                          FilenameUtils.getExtension(object.getFile()));
-            } else {
-                if (!user.equals(AuthenticatedUser.EMPTY) &&
-                    !AccessTypeHelper.satisfy(grantRightsService.getCatalogObjectRights(user,
-                                                                                        bucketName,
-                                                                                        object.getName()),
-                                              write)) {
-                    throw new CatalogObjectGrantAccessException(bucketName, object.getName());
+        for (List<CatalogObjectData> batch : Lists.partition(metadata.getCatalog().getObjects(), importBatchSize)) {
+            Map<String, CatalogObjectEntity> catalogObjects = findCatalogObjectsByName(bucketEntity,
+                                                                                       batch.stream()
+                                                                                            .map(CatalogObjectData::getName)
+                                                                                            .collect(Collectors.toList()));
+            Map<CatalogObjectRevisionEntity, byte[]> importedRevisions = new LinkedHashMap<>();
+            int createdObjects = 0;
+            for (CatalogObjectData object : batch) {
+                byte[] objectFile = ArchiveManagerHelper.extractObjectByPath(zipArchive, object.getFile());
+                String objectCommitMessage = Strings.isNullOrEmpty(commitMessage) ? object.getMetadata()
+                                                                                          .getCommitMessage()
+                                                                                  : commitMessage;
+                CatalogObjectEntity catalogObject = catalogObjects.get(object.getName());
+                if (catalogObject == null) {
+                    String objectTags = Strings.isNullOrEmpty(tags) ? object.getMetadata().getTags() : tags;
+                    validateCatalogObject(object.getName(),
+                                          object.getMetadata().getKind(),
+                                          object.getMetadata().getContentType(),
+                                          objectTags);
+                    catalogObject = newCatalogObjectEntity(bucketEntity,
+                                                           object.getName(),
+                                                           object.getMetadata().getKind(),
+                                                           object.getMetadata().getContentType(),
+                                                           FilenameUtils.getExtension(object.getFile()));
+                    catalogObjects.put(object.getName(), catalogObject);
+                    createdObjects++;
+                    buildCatalogObjectRevisionEntity(objectCommitMessage,
+                                                     user.getName(),
+                                                     Strings.isNullOrEmpty(projectName) ? object.getMetadata()
+                                                                                                .getProjectName()
+                                                                                        : projectName,
+                                                     objectTags,
+                                                     objectFile,
+                                                     catalogObject,
+                                                     Collections.emptyList(),
+                                                     false,
+                                                     importedRevisions);
+                } else {
+                    checkCatalogObjectWriteRights(user, bucketName, object.getName());
+                    buildCatalogObjectRevisionEntity(objectCommitMessage,
+                                                     user.getName(),
+                                                     projectName,
+                                                     tags,
+                                                     objectFile,
+                                                     catalogObject,
+                                                     Collections.emptyList(),
+                                                     false,
+                                                     importedRevisions);
                 }
-                objectMetadata = this.createCatalogObjectRevision(bucketName,
-                                                                  object.getName(),
-                                                                  projectName,
-                                                                  tags,
-                                                                  Strings.isNullOrEmpty(commitMessage) ? object.getMetadata()
-                                                                                                               .getCommitMessage()
-                                                                                                       : commitMessage,
-                                                                  user.getName(),
-                                                                  objectFile);
             }
-            objectsList.add(objectMetadata);
-        });
+            objectsList.addAll(saveImportedRevisions(importedRevisions));
+            addToObjectCount(bucketEntity, createdObjects);
+        }
         return objectsList;
     }
 
+    private Map<String, CatalogObjectEntity> findCatalogObjectsByName(BucketEntity bucketEntity,
+            List<String> objectNames) {
+        return catalogObjectRepository.findByBucketIdAndNameIn(bucketEntity.getId(), objectNames)
+                                      .stream()
+                                      .collect(Collectors.toMap(catalogObject -> catalogObject.getId().getName(),
+                                                                catalogObject -> catalogObject));
+    }
+
+    private Set<String> getTagNames(CatalogObjectEntity catalogObjectEntity) {
+        return catalogObjectEntity.getTags()
+                                  .stream()
+                                  .map(CatalogObjectTagEntity::getTag)
+                                  .collect(Collectors.toSet());
+    }
+
+    private void addToObjectCount(BucketEntity bucketEntity, int createdObjects) {
+        if (createdObjects > 0) {
+            bucketRepository.addToObjectCount(bucketEntity.getId(), createdObjects);
+        }
+    }
+
+    private void checkCatalogObjectWriteRights(AuthenticatedUser user, String bucketName, String objectName) {
+        if (!user.equals(AuthenticatedUser.EMPTY) &&
+            !AccessTypeHelper.satisfy(grantRightsService.getCatalogObjectRights(user, bucketName, objectName), write)) {
+            throw new CatalogObjectGrantAccessException(bucketName, objectName);
+        }
+    }
+
+    /**
+     * Persists a batch of imported revisions with a single flush. Their contents are created together and the
+     * statements of the batch are sent as JDBC batches (hibernate.jdbc.batch_size).
+     */
+    private List<CatalogObjectMetadata>
+            saveImportedRevisions(Map<CatalogObjectRevisionEntity, byte[]> importedRevisions) {
+        revisionContentService.createContents(importedRevisions);
+        List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.save(importedRevisions.keySet());
+        catalogObjectRevisionRepository.flush();
+        return revisions.stream().map(CatalogObjectMetadata::new).collect(Collectors.toList());
+    }
+
     @Transactional
     public CatalogObjectMetadata createCatalogObject(String bucketName, String name, String projectName, String tags,
             String kind, String commitMessage, String username, String contentType, List<Metadata> metadataList,
             byte[] rawObject, String extension) {
+        validateCatalogObject(name, kind, contentType, tags);
+
+        BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
+
+        CatalogObjectRevisionEntity catalogObjectEntityCheck = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(Collections.singletonList(bucketName),
+                                                                                                                                      name);
+        if (catalogObjectEntityCheck != null) {
+            throw new CatalogObjectAlreadyExistingException(bucketName, name);
+        }
+
+        CatalogObjectEntity catalogObjectEntity = newCatalogObjectEntity(bucketEntity,
+                                                                         name,
+                                                                         kind,
+                                                                         contentType,
+                                                                         extension);
+        CatalogObjectRevisionEntity result = buildCatalogObjectRevisionEntity(commitMessage,
+                                                                              username,
+                                                                              projectName,
+                                                                              tags,
+                                                                              rawObject,
+                                                                              catalogObjectEntity,
+                                                                              metadataList,
+                                                                              false);
+        CatalogObjectRevisionEntity savedRevision = catalogObjectRevisionRepository.save(result);
+        bucketRepository.addToObjectCount(bucketEntity.getId(), 1);
+        return new CatalogObjectMetadata(savedRevision);
+    }
+
+    private void validateCatalogObject(String name, String kind, String contentType, String tags) {
         if (!objectNameValidator.isValid(name)) {
             throw new ObjectNameIsNotValidException(name);
         }
@@ -282,15 +399,10 @@ public class CatalogObjectService {
         if (!tagsValidator.isValid(tags)) {
             throw new TagsIsNotValidException(tags, "tags");
         }
+    }
 
-        BucketEntity bucketEntity = findBucketByNameAndCheck(bucketName);
-
-        CatalogObjectRevisionEntity catalogObjectEntityCheck = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(Collections.singletonList(bucketName),
-                                                                                                                                      name);
-        if (catalogObjectEntityCheck != null) {
-            throw new CatalogObjectAlreadyExistingException(bucketName, name);
-        }
-
+    private CatalogObjectEntity newCatalogObjectEntity(BucketEntity bucketEntity, String name, String kind,
+            String contentType, String extension) {
         CatalogObjectEntity catalogObjectEntity = CatalogObjectEntity.builder()
                                                                      .bucket(bucketEntity)
                                                                      .contentType(contentType)
@@ -302,16 +414,8 @@ public class CatalogObjectService {
                                                                                                                         name))
                                                                      .nameLower(name)
                                                                      .build();
-        bucketEntity.getCatalogObjects().add(catalogObjectEntity);
-        CatalogObjectRevisionEntity result = buildCatalogObjectRevisionEntity(commitMessage,
-                                                                              username,
-                                                                              projectName,
-                                                                              tags,
-                                                                              rawObject,
-                                                                              catalogObjectEntity,
-                                                                              metadataList,
-                                                                              false);
-        return new CatalogObjectMetadata(catalogObjectRevisionRepository.save(result));
+        catalogObjectDictionary.addObject(kind, contentType);
+        return catalogObjectEntity;
     }
 
     private String getFileMimeType(FileNameAndContent file) {
@@ -378,7 +482,7 @@ public class CatalogObjectService {
                                                                                                   username,
                                                                                                   projectName.orElse(previousProjectName),
                                                                                                   tags.orElse(previousTags),
-                                                                                                  catalogObjectRevisionEntity.getRawObject(),
+                                                                                                  revisionContentService.getRawObject(catalogObjectRevisionEntity),
                                                                                                   catalogObjectEntity,
                                                                                                   KeyValueLabelMetadataHelper.convertFromEntity(catalogObjectRevisionEntity.getKeyValueMetadataList()),
                                                                                                   true);
@@ -386,6 +490,10 @@ public class CatalogObjectService {
                 }
 
                 catalogObjectEntity.setNameLower(objectName);
+                catalogObjectDictionary.replaceKindAndContentType(catalogObjectEntity.getKind(),
+                                                                  kind.orElse(catalogObjectEntity.getKind()),
+                                                                  catalogObjectEntity.getContentType(),
+                                                                  contentType.orElse(catalogObjectEntity.getContentType()));
                 kind.ifPresent(catalogObjectEntity::setKind);
                 kind.ifPresent(catalogObjectEntity::setKindLower);
                 contentType.ifPresent(catalogObjectEntity::setContentType);
@@ -412,47 +520,135 @@ public class CatalogObjectService {
     @Transactional(readOnly = true)
     protected CatalogObjectDependencies processObjectDependencies(String bucketName, String name,
             long revisionCommitTime) {
-        List<String> dependsOnCatalogObjectsList = catalogObjectRevisionRepository.findDependsOnCatalogObjectNamesFromKeyValueMetadata(bucketName,
-                                                                                                                                       name,
-                                                                                                                                       revisionCommitTime);
-        List<DependsOnCatalogObject> dependsOnBucketAndObjectNameList = new ArrayList<>();
-
-        String dependOnBucketName;
-        String dependOnObjectName;
-        String dependOnKind;
-        for (String dependOnBucketAndObjectName : dependsOnCatalogObjectsList) {
-            String revisionCommitTimeOfDependsOnObject = catalogObjectRevisionRepository.findRevisionOfDependsOnCatalogObjectFromKeyLabelMetadata(bucketName,
-                                                                                                                                                  name,
-                                                                                                                                                  revisionCommitTime,
-                                                                                                                                                  dependOnBucketAndObjectName);
-            dependOnBucketName = separatorUtility.getSplitBySeparator(dependOnBucketAndObjectName).get(0);
-            dependOnObjectName = separatorUtility.getSplitBySeparator(dependOnBucketAndObjectName).get(1);
-            boolean isCatalogObjectExist = isDependsOnObjectExistInCatalog(dependOnBucketName,
-                                                                           dependOnObjectName,
-                                                                           revisionCommitTimeOfDependsOnObject);
-            dependOnKind = isCatalogObjectExist ? getCatalogObjectMetadata(dependOnBucketName, dependOnObjectName)
-                                                                                                                  .getKind()
-                                                : KIND_NOT_FOUND;
+        List<CatalogObjectDependencyEntity> dependencies = catalogObjectDependencyRepository.findDependencies(bucketName,
+                                                                                                             name,
+                                                                                                             revisionCommitTime);
+        Map<String, String> existingObjectKinds = findExistingObjectKinds(dependencies.stream()
+                                                                                      .map(this::getTargetBucketAndObjectName)
+                                                                                      .collect(Collectors.toSet()));
+        Set<String> existingRevisions = findExistingTargetRevisions(dependencies);
+
+        List<DependsOnCatalogObject> dependsOnBucketAndObjectNameList = new ArrayList<>(dependencies.size());
+        for (CatalogObjectDependencyEntity dependency : dependencies) {
+            String dependOnBucketAndObjectName = getTargetBucketAndObjectName(dependency);
+            boolean isCatalogObjectExist;
+            if (WorkflowParser.LATEST_VERSION.equals(dependency.getTargetRevision())) {
+                isCatalogObjectExist = existingObjectKinds.containsKey(dependOnBucketAndObjectName);
+            } else {
+                isCatalogObjectExist = existingRevisions.contains(separatorUtility.getConcatWithSeparator(dependOnBucketAndObjectName,
+                                                                                                          dependency.getTargetRevision()));
+            }
+            String dependOnKind = isCatalogObjectExist ? existingObjectKinds.get(dependOnBucketAndObjectName)
+                                                       : KIND_NOT_FOUND;
             dependsOnBucketAndObjectNameList.add(new DependsOnCatalogObject(dependOnBucketAndObjectName,
                                                                             dependOnKind,
                                                                             String.valueOf(revisionCommitTime),
                                                                             isCatalogObjectExist));
-
         }
-        String input = separatorUtility.getConcatWithSeparator(bucketName, name);
-        List<CatalogObjectRevisionEntity> calledByCatalogObjectList = catalogObjectRevisionRepository.findCalledByCatalogObjectsFromKeyValueMetadata(input);
-        List<String> calledByBucketAndObjectNameList = calledByCatalogObjectList.stream()
-                                                                                .map(revisionEntity -> separatorUtility.getConcatWithSeparator(revisionEntity.getCatalogObject()
-                                                                                                                                                             .getBucket()
-                                                                                                                                                             .getBucketName(),
-                                                                                                                                               revisionEntity.getCatalogObject()
-                                                                                                                                                             .getId()
-                                                                                                                                                             .getName()))
-                                                                                .collect(Collectors.toList());
+        List<String> calledByBucketAndObjectNameList = catalogObjectDependencyRepository.findDependentObjectNames(bucketName,
+                                                                                                                  name)
+                                                                                        .stream()
+                                                                                        .map(row -> separatorUtility.getConcatWithSeparator((String) row[0],
+                                                                                                                                            (String) row[1]))
+                                                                                        .collect(Collectors.toList());
 
         return new CatalogObjectDependencies(dependsOnBucketAndObjectNameList, calledByBucketAndObjectNameList);
     }
 
+    /**
+     * @param bucketAndObjectNames names of catalog objects prefixed by their bucket name, as found in depends_on
+     * metadata
+     * @return the kinds of the catalog objects which exist, by bucket and object name
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> findExistingObjectKinds(Collection<String> bucketAndObjectNames) {
+        Map<String, String> kinds = new HashMap<>();
+        if (bucketAndObjectNames.isEmpty()) {
+            return kinds;
+        }
+        Set<String> bucketNames = new HashSet<>();
+        Set<String> objectNames = new HashSet<>();
+        bucketAndObjectNames.stream()
+                            .map(separatorUtility::getSplitBySeparator)
+                            .filter(split -> split.size() > 1)
+                            .forEach(split -> {
+                                bucketNames.add(split.get(0));
+                                objectNames.add(split.get(1));
+                            });
+        if (bucketNames.isEmpty()) {
+            return kinds;
+        }
+        for (List<String> partitionedObjectNames : Lists.partition(new ArrayList<>(objectNames),
+                                                                   ORACLEDB_MAX_IN_PARAMS)) {
+            for (Object[] row : catalogObjectRepository.findKinds(bucketNames, partitionedObjectNames)) {
+                String bucketAndObjectName = separatorUtility.getConcatWithSeparator((String) row[0], (String) row[1]);
+                if (bucketAndObjectNames.contains(bucketAndObjectName)) {
+                    kinds.put(bucketAndObjectName, (String) row[2]);
+                }
+            }
+        }
+        return kinds;
+    }
+
+    private Set<String> findExistingTargetRevisions(List<CatalogObjectDependencyEntity> dependencies) {
+        Set<String> bucketNames = new HashSet<>();
+        Set<String> objectNames = new HashSet<>();
+        Set<Long> commitTimes = new HashSet<>();
+        for (CatalogObjectDependencyEntity dependency : dependencies) {
+            if (!WorkflowParser.LATEST_VERSION.equals(dependency.getTargetRevision()) &&
+                NumberUtils.isDigits(dependency.getTargetRevision())) {
+                bucketNames.add(dependency.getTargetBucketName());
+                objectNames.add(dependency.getTargetObjectName());
+                commitTimes.add(Long.parseLong(dependency.getTargetRevision()));
+            }
+        }
+        if (commitTimes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return catalogObjectRevisionRepository.findRevisionCommitTimes(bucketNames, objectNames, commitTimes)
+                                              .stream()
+                                              .map(row -> separatorUtility.getConcatWithSeparator((String) row[0],
+                                                                                                  (String) row[1],
+                                                                                                  String.valueOf(row[2])))
+                                              .collect(Collectors.toSet());
+    }
+
+    private String getTargetBucketAndObjectName(CatalogObjectDependencyEntity dependency) {
+        return separatorUtility.getConcatWithSeparator(dependency.getTargetBucketName(),
+                                                       dependency.getTargetObjectName());
+    }
+
+    /**
+     * Adds the dependency rows of the next batch of revisions created before the dependency table was introduced.
+     *
+     * @return the id of the last revision of the batch, or -1 when there are no more revisions to process
+     */
+    @Transactional
+    public long addMissingDependencies(long afterRevisionId, int batchSize) {
+        List<CatalogObjectRevisionEntity> revisions = catalogObjectDependencyRepository.findRevisionsWithoutDependency(afterRevisionId,
+                                                                                                                      new PageRequest(0,
+                                                                                                                                      batchSize));
+        revisions.forEach(this::synchronizeDependencies);
+        return revisions.isEmpty() ? -1 : revisions.get(revisions.size() - 1).getId();
+    }
+
+    /**
+     * Adds to the revision a dependency row for each of its depends_on key-values, whose key is the bucket and
+     * object name of the target and whose value is its revision.
+     */
+    private void synchronizeDependencies(CatalogObjectRevisionEntity revisionEntity) {
+        revisionEntity.getKeyValueMetadataList()
+                      .stream()
+                      .filter(keyValue -> WorkflowParser.ATTRIBUTE_DEPENDS_ON_LABEL.equals(keyValue.getLabel()))
+                      .forEach(keyValue -> {
+                          List<String> target = separatorUtility.getSplitBySeparator(keyValue.getKey());
+                          if (target.size() > 1 && !target.get(0).isEmpty() && !target.get(1).isEmpty() &&
+                              !Strings.isNullOrEmpty(keyValue.getValue())) {
+                              revisionEntity.addDependency(target.get(0), target.get(1), keyValue.getValue());
+                          }
+                      });
+    }
+
     @Transactional(readOnly = true)
     public boolean isDependsOnObjectExistInCatalog(String bucketName, String name,
             String revisionCommitTimeOfDependsOnObject) {
@@ -512,6 +708,25 @@ public class CatalogObjectService {
     private CatalogObjectRevisionEntity buildCatalogObjectRevisionEntity(final String commitMessage,
             final String username, final String projectName, final String tags, final byte[] rawObject,
             final CatalogObjectEntity catalogObjectEntity, final List<Metadata> metadataList, boolean isUpdate) {
+        return buildCatalogObjectRevisionEntity(commitMessage,
+                                                username,
+                                                projectName,
+                                                tags,
+                                                rawObject,
+                                                catalogObjectEntity,
+                                                metadataList,
+                                                isUpdate,
+                                                null);
+    }
+
+    /**
+     * When importedRevisions is not null, the content of the revision is not created: the revision is added
+     * to this map with its raw object, to be created with the other imported revisions.
+     */
+    private CatalogObjectRevisionEntity buildCatalogObjectRevisionEntity(final String commitMessage,
+            final String username, final String projectName, final String tags, final byte[] rawObject,
+            final CatalogObjectEntity catalogObjectEntity, final List<Metadata> metadataList, boolean isUpdate,
+            final Map<CatalogObjectRevisionEntity, byte[]> importedRevisions) {
         List<KeyValueLabelMetadataEntity> keyValueMetadataEntities = KeyValueLabelMetadataHelper.convertToEntity(metadataList);
         if (keyValueMetadataEntities == null) {
             throw new NullPointerException("Cannot build catalog object!");
@@ -594,14 +809,38 @@ public class CatalogObjectService {
                                                                                                                       .toInstant()
                                                                                                                       .toEpochMilli())
                                                                                              .keyValueMetadataList(synchronizedKeyValueMetadataEntityList)
-                                                                                             .rawObject(workflowWithSynchronizedProjectNameAndTags)
+                                                                                             .content(importedRevisions == null ? revisionContentService.createContent(workflowWithSynchronizedProjectNameAndTags,
+                                                                                                                                                                       catalogObjectEntity.getKind(),
+                                                                                                                                                                       getLatestContent(catalogObjectEntity))
+                                                                                                                                : null)
                                                                                              .catalogObject(catalogObjectEntity)
                                                                                              .build();
         synchronizedKeyValueMetadataEntityList.forEach(keyValue -> keyValue.setCatalogObjectRevision(catalogObjectRevisionEntity));
+        synchronizeDependencies(catalogObjectRevisionEntity);
         catalogObjectEntity.addRevision(catalogObjectRevisionEntity);
+        Set<String> previousTags = getTagNames(catalogObjectEntity);
+        List<String> objectTags = synchronizedKeyValueMetadataEntityList.stream()
+                                                                        .filter(keyValue -> OBJECT_TAG_LABEL.equals(keyValue.getLabel()))
+                                                                        .map(KeyValueLabelMetadataEntity::getKey)
+                                                                        .collect(Collectors.toList());
+        catalogObjectEntity.synchronizeTags(objectTags);
+        catalogObjectDictionary.replaceTags(previousTags, objectTags);
+        catalogObjectEntity.synchronizeSearchTerms(searchTermExtractor.extractTerms(catalogObjectEntity.getId()
+                                                                                                       .getName(),
+                                                                                    synchronizedProjectName,
+                                                                                    synchronizedKeyValueMetadataEntityList));
+        catalogObjectEntity.synchronizeNameGrams(synchronizedProjectName);
+        if (importedRevisions != null) {
+            importedRevisions.put(catalogObjectRevisionEntity, workflowWithSynchronizedProjectNameAndTags);
+        }
         return catalogObjectRevisionEntity;
     }
 
+    private CatalogObjectRevisionContentEntity getLatestContent(CatalogObjectEntity catalogObjectEntity) {
+        CatalogObjectRevisionEntity latestRevision = catalogObjectEntity.getLatestRevision();
+        return latestRevision == null ? null : latestRevision.getContent();
+    }
+
     private String synchronizeMetadataValue(String queryParamMetadata, String metadataListMetadata,
             String workflowXmlMetadata) {
         String synchronizedMetadataValue = "";
@@ -647,9 +886,18 @@ public class CatalogObjectService {
     @Transactional(readOnly = true)
     public List<CatalogObjectMetadata> listCatalogObjects(List<String> bucketNames, int pageNo, int pageSize) {
         bucketNames.forEach(this::findBucketByNameAndCheck);
-        List<CatalogObjectRevisionEntity> result = listCatalogObjectsEntities(bucketNames, pageNo, pageSize);
-
-        return buildMetadataWithLink(result);
+        Pageable paging = new PageRequest(pageNo, pageSize);
+        return catalogObjectRevisionRepository.findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameInBucket(bucketNames,
+                                                                                                                             Collections.emptyList(),
+                                                                                                                             null,
+                                                                                                                             null,
+                                                                                                                             null,
+                                                                                                                             null,
+                                                                                                                             null,
+                                                                                                                             0L,
+                                                                                                                             0L,
+                                                                                                                             paging.getPageNumber(),
+                                                                                                                             paging.getPageSize());
     }
 
     @Transactional(readOnly = true)
@@ -718,42 +966,90 @@ public class CatalogObjectService {
             String projectName, String lastCommitBy, String committedAtLeastOnceBy, Long lastCommitTimeGreater,
             Long lastCommitTimeLessThan, int pageNo, int pageSize) {
         bucketNames.forEach(this::findBucketByNameAndCheck);
+        List<String> kindList = toKindList(kind);
+        List<CatalogObjectMetadata> objectList;
+        if (Strings.isNullOrEmpty(objectTag)) {
+            objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameInBucket(bucketNames,
+                                                                                                                                       kindList,
+                                                                                                                                       contentType,
+                                                                                                                                       objectName,
+                                                                                                                                       projectName,
+                                                                                                                                       lastCommitBy,
+                                                                                                                                       committedAtLeastOnceBy,
+                                                                                                                                       lastCommitTimeGreater,
+                                                                                                                                       lastCommitTimeLessThan,
+                                                                                                                                       pageNo,
+                                                                                                                                       pageSize);
+        } else {
+            objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucket(bucketNames,
+                                                                                                                                             null,
+                                                                                                                                             kindList,
+                                                                                                                                             contentType,
+                                                                                                                                             objectName,
+                                                                                                                                             projectName,
+                                                                                                                                             lastCommitBy,
+                                                                                                                                             committedAtLeastOnceBy,
+                                                                                                                                             objectTag,
+                                                                                                                                             lastCommitTimeGreater,
+                                                                                                                                             lastCommitTimeLessThan,
+                                                                                                                                             pageNo,
+                                                                                                                                             pageSize,
+                                                                                                                                             true);
+        }
+
+        return objectList;
+    }
+
+    /**
+     * Lists a page of catalog objects. When a cursor is given, or for the first page, the page is read with a keyset
+     * query whose cost does not depend on the page depth, and the returned page holds the cursor of the next one.
+     * Other pages are read with an offset, for clients still using page numbers.
+     */
+    @Transactional(readOnly = true)
+    public CatalogObjectMetadataPage listCatalogObjectsPage(List<String> bucketsNames, Optional<String> kind,
+            Optional<String> contentType, Optional<String> objectNameFilter, Optional<String> objectTagFilter,
+            Optional<String> projectNameFilter, Optional<String> lastCommitByFilter,
+            Optional<String> committedAtLeastOnceByFilter, Optional<Long> lastCommitTimeGreater,
+            Optional<Long> lastCommitTimeLessThan, Optional<CatalogObjectCursor> after, int pageNo, int pageSize) {
+        if (!after.isPresent() && pageNo != 0) {
+            return new CatalogObjectMetadataPage(listCatalogObjects(bucketsNames,
+                                                                    kind,
+                                                                    contentType,
+                                                                    objectNameFilter,
+                                                                    objectTagFilter,
+                                                                    projectNameFilter,
+                                                                    lastCommitByFilter,
+                                                                    committedAtLeastOnceByFilter,
+                                                                    lastCommitTimeGreater,
+                                                                    lastCommitTimeLessThan,
+                                                                    pageNo,
+                                                                    pageSize),
+                                                 null);
+        }
+        bucketsNames.forEach(this::findBucketByNameAndCheck);
+        return catalogObjectRevisionRepository.findDefaultCatalogObjectMetadataOfKindListAndContentTypeAndObjectNameAndTagInBucketAfter(bucketsNames,
+                                                                                                                                        kind.map(this::toKindList)
+                                                                                                                                            .orElse(Collections.emptyList()),
+                                                                                                                                        contentType.orElse(null),
+                                                                                                                                        objectNameFilter.orElse(null),
+                                                                                                                                        projectNameFilter.orElse(null),
+                                                                                                                                        lastCommitByFilter.orElse(null),
+                                                                                                                                        committedAtLeastOnceByFilter.orElse(null),
+                                                                                                                                        objectTagFilter.orElse(null),
+                                                                                                                                        lastCommitTimeGreater.orElse(0L),
+                                                                                                                                        lastCommitTimeLessThan.orElse(0L),
+                                                                                                                                        after.orElse(null),
+                                                                                                                                        pageSize);
+    }
+
+    private List<String> toKindList(String kind) {
         List<String> kindList = new ArrayList<>();
         if (!kind.isEmpty()) {
             kindList = Arrays.asList(kind.toLowerCase().split(","));
         } else {
             kindList.add("");
         }
-        List<CatalogObjectRevisionEntity> objectList;
-        if (Strings.isNullOrEmpty(objectTag)) {
-            objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameInBucket(bucketNames,
-                                                                                                                                kindList,
-                                                                                                                                contentType,
-                                                                                                                                objectName,
-                                                                                                                                projectName,
-                                                                                                                                lastCommitBy,
-                                                                                                                                committedAtLeastOnceBy,
-                                                                                                                                lastCommitTimeGreater,
-                                                                                                                                lastCommitTimeLessThan,
-                                                                                                                                pageNo,
-                                                                                                                                pageSize);
-        } else {
-            objectList = catalogObjectRevisionRepository.findDefaultCatalogObjectsOfKindListAndContentTypeAndObjectNameAndTagInBucket(bucketNames,
-                                                                                                                                      null,
-                                                                                                                                      kindList,
-                                                                                                                                      contentType,
-                                                                                                                                      objectName,
-                                                                                                                                      projectName,
-                                                                                                                                      lastCommitBy,
-                                                                                                                                      committedAtLeastOnceBy,
-                                                                                                                                      objectTag,
-                                                                                                                                      lastCommitTimeGreater,
-                                                                                                                                      lastCommitTimeLessThan,
-                                                                                                                                      pageNo,
-                                                                                                                                      pageSize);
-        }
-
-        return buildMetadataWithLink(objectList);
+        return kindList;
     }
 
     @Transactional(readOnly = true)
@@ -792,8 +1088,21 @@ public class CatalogObjectService {
         try {
             // Delete all grants that are associated to the object
             catalogObjectGrantService.deleteAllCatalogObjectGrantsByBucketNameAndObjectName(bucketName, name);
-            // Delete the catalog Object
-            catalogObjectRepository.delete(new CatalogObjectEntity.CatalogObjectEntityKey(bucketEntity.getId(), name));
+            // Release the contents of its revisions and delete the catalog Object
+            CatalogObjectEntity.CatalogObjectEntityKey catalogObjectKey = new CatalogObjectEntity.CatalogObjectEntityKey(bucketEntity.getId(),
+                                                                                                                          name);
+            CatalogObjectEntity catalogObjectEntity = catalogObjectRepository.findOne(catalogObjectKey);
+            Set<Long> releasedContentIds = Collections.emptySet();
+            if (catalogObjectEntity != null) {
+                releasedContentIds = revisionContentService.releaseContents(catalogObjectEntity.getRevisions());
+                catalogObjectDictionary.removeObject(catalogObjectEntity.getKind(),
+                                                     catalogObjectEntity.getContentType(),
+                                                     getTagNames(catalogObjectEntity));
+            }
+            catalogObjectRepository.delete(catalogObjectKey);
+            catalogObjectRepository.flush();
+            bucketRepository.addToObjectCount(bucketEntity.getId(), -1);
+            revisionContentService.deleteUnreferencedContents(releasedContentIds);
         } catch (EmptyResultDataAccessException emptyResultDataAccessException) {
             log.warn("CatalogObject {} does not exist in bucket {}", name, bucketName);
             throw new CatalogObjectNotFoundException(bucketName, name);
@@ -809,7 +1118,25 @@ public class CatalogObjectService {
 
     @Transactional(readOnly = true)
     public CatalogRawObject getCatalogRawObject(String bucketName, String name) {
-        return new CatalogRawObject(findCatalogObjectByNameAndBucketAndCheck(bucketName, name));
+        return getCatalogRawObject(bucketName, name, false);
+    }
+
+    /**
+     * @param gzipAccepted whether the raw object can be returned gzip encoded, see {@link CatalogRawObject#getContentEncoding()}
+     */
+    @Transactional(readOnly = true)
+    public CatalogRawObject getCatalogRawObject(String bucketName, String name, boolean gzipAccepted) {
+        CatalogObjectRevisionEntity revisionEntity = findCatalogObjectByNameAndBucketAndCheck(bucketName, name);
+        return revisionContentService.getCatalogRawObject(revisionEntity, gzipAccepted);
+    }
+
+    /**
+     * @return the version of the last revision of the catalog object, read without loading the revision, or null if
+     * the bucket or the catalog object does not exist
+     */
+    @Transactional(readOnly = true)
+    public CatalogObjectVersion getCatalogObjectVersion(String bucketName, String name) {
+        return toCatalogObjectVersion(catalogObjectRepository.findVersion(bucketName, name));
     }
 
     /**
@@ -881,7 +1208,7 @@ public class CatalogObjectService {
                                            commitMessage,
                                            catalogObjectRevision.getUsername(),
                                            KeyValueLabelMetadataHelper.convertFromEntity(catalogObjectRevision.getKeyValueMetadataList()),
-                                           catalogObjectRevision.getRawObject());
+                                           revisionContentService.getRawObject(catalogObjectRevision));
     }
 
     @Transactional(readOnly = true)
@@ -904,12 +1231,37 @@ public class CatalogObjectService {
 
     @Transactional(readOnly = true)
     public CatalogRawObject getCatalogObjectRevisionRaw(String bucketName, String name, long commitTime) {
+        return getCatalogObjectRevisionRaw(bucketName, name, commitTime, false);
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogRawObject getCatalogObjectRevisionRaw(String bucketName, String name, long commitTime,
+            boolean gzipAccepted) {
         CatalogObjectRevisionEntity revisionEntity = getCatalogObjectRevisionEntityByCommitTime(bucketName,
                                                                                                 name,
                                                                                                 commitTime);
 
-        return new CatalogRawObject(revisionEntity);
+        return revisionContentService.getCatalogRawObject(revisionEntity, gzipAccepted);
+
+    }
+
+    /**
+     * @return the version of the revision of the catalog object committed at the given time, read without loading
+     * the revision, or null if the bucket, the catalog object or the revision does not exist
+     */
+    @Transactional(readOnly = true)
+    public CatalogObjectVersion getCatalogObjectRevisionVersion(String bucketName, String name, long commitTime) {
+        return toCatalogObjectVersion(catalogObjectRevisionRepository.findRevisionVersion(bucketName,
+                                                                                          name,
+                                                                                          commitTime));
+    }
 
+    private CatalogObjectVersion toCatalogObjectVersion(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new CatalogObjectVersion((Long) row[0], (String) row[1], (String) row[2]);
     }
 
     @Transactional
@@ -930,10 +1282,11 @@ public class CatalogObjectService {
                                                                                         catalogObjectRevision.getUsername(),
                                                                                         catalogObjectRevision.getProjectName(),
                                                                                         catalogObjectRevision.getTags(),
-                                                                                        catalogObjectRevision.getRawObject(),
+                                                                                        revisionContentService.getRawObject(catalogObjectRevision),
                                                                                         catalogObjectRevision.getCatalogObject(),
                                                                                         metadataList,
                                                                                         false);
+        restoredRevision.setRestoredFromCommitTime(commitTime);
 
         return new CatalogObjectMetadata(catalogObjectRevisionRepository.save(restoredRevision));
     }
@@ -947,20 +1300,10 @@ public class CatalogObjectService {
      */
     @Transactional(readOnly = true)
     public TreeSet<String> getKinds() {
-        Set<String> allStoredKinds = catalogObjectRepository.findAllKinds();
-        TreeSet<String> resultKinds = new TreeSet<>();
-
-        allStoredKinds.forEach(kind -> {
-            String[] splittedKinds = kind.split(kindSeparator);
-            StringBuilder rootKinds = new StringBuilder();
-            for (int i = 0; i < splittedKinds.length - 1; i++) {
-                rootKinds.append(splittedKinds[i]);
-                resultKinds.add(rootKinds.toString());
-                rootKinds.append(kindSeparator);
-            }
-            resultKinds.add(kind);
-        });
-        return resultKinds;
+        if (catalogObjectDictionary.isReady()) {
+            return catalogObjectDictionary.getKinds();
+        }
+        return CatalogObjectDictionary.withParentKinds(catalogObjectRepository.findAllKinds(), kindSeparator);
     }
 
     /**
@@ -968,6 +1311,9 @@ public class CatalogObjectService {
      */
     @Transactional(readOnly = true)
     public TreeSet<String> getContentTypes() {
+        if (catalogObjectDictionary.isReady()) {
+            return catalogObjectDictionary.getContentTypes();
+        }
         return new TreeSet<>(catalogObjectRepository.findAllContentTypes());
     }
 
@@ -976,6 +1322,9 @@ public class CatalogObjectService {
      */
     @Transactional(readOnly = true)
     public TreeSet<String> getObjectTags() {
+        if (catalogObjectDictionary.isReady()) {
+            return catalogObjectDictionary.getTags();
+        }
         return new TreeSet<>(catalogObjectRepository.findAllObjectTags());
     }
 
@@ -25,15 +25,25 @@
  */
 package org.ow2.proactive.catalog.service;
 
+import java.util.Arrays;
+
 import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import lombok.extern.log4j.Log4j2;
-
 
-@Log4j2
+/**
+ * Brings the data of catalogs created by older versions up to date. The latest revision pointer, the project sort
+ * key, the tag table and the dependency table are filled before requests are served, since listings, tag filters and
+ * dependency queries would otherwise miss the objects lacking them or list them out of order. The other migrations
+ * run in the background, reads see the migrated data batch after batch:
+ * <ul>
+ *     <li>name and project name filters fall back to plain LIKE checks until the trigram index is built</li>
+ *     <li>objects which are not indexed yet are missing from full-text search results</li>
+ *     <li>revisions whose raw content was not moved yet are read from the legacy inline column</li>
+ * </ul>
+ */
 @Component
 public class DatabaseBackwardCompatibilityManager {
 
@@ -43,9 +53,59 @@ public class DatabaseBackwardCompatibilityManager {
     @Autowired
     NameKindContentTypeLowerCaseStartupAdder nameKindContentTypeLowerCaseStartupAdder;
 
+    @Autowired
+    LatestRevisionStartupAdder latestRevisionStartupAdder;
+
+    @Autowired
+    ProjectSortKeyStartupAdder projectSortKeyStartupAdder;
+
+    @Autowired
+    ObjectTagStartupAdder objectTagStartupAdder;
+
+    @Autowired
+    BucketObjectCountReconciler bucketObjectCountReconciler;
+
+    @Autowired
+    CatalogObjectDictionary catalogObjectDictionary;
+
+    @Autowired
+    DependencyStartupAdder dependencyStartupAdder;
+
+    @Autowired
+    RevisionContentStartupMigrator revisionContentStartupMigrator;
+
+    @Autowired
+    SearchIndexStartupBuilder searchIndexStartupBuilder;
+
+    @Autowired
+    NameGramStartupBuilder nameGramStartupBuilder;
+
+    @Autowired
+    StartupMigrationRunner startupMigrationRunner;
+
     @PostConstruct
     public void initMissingColumnsInDatabase() {
-        projectNameStartupAdder.synchronizeProjectName();
-        nameKindContentTypeLowerCaseStartupAdder.synchronizeNameKindAndContentType();
+        // loaded before serving requests, later writes and migrations update it
+        catalogObjectDictionary.rebuild();
+        startupMigrationRunner.run(new StartupMigration("latest-revision",
+                                                        latestRevisionStartupAdder::synchronizeNextLatestRevisions));
+        startupMigrationRunner.run(new StartupMigration("project-sort-key",
+                                                        projectSortKeyStartupAdder::synchronizeNextProjectSortKeys));
+        startupMigrationRunner.run(new StartupMigration("object-tags",
+                                                        objectTagStartupAdder::synchronizeNextObjectTags));
+        startupMigrationRunner.run(new StartupMigration("dependencies",
+                                                        dependencyStartupAdder::synchronizeNextDependencies));
+        startupMigrationRunner.start(Arrays.asList(new StartupMigration("name-kind-content-type-lower-case",
+                                                                        nameKindContentTypeLowerCaseStartupAdder::synchronizeNextNameKindAndContentTypes),
+                                                   new StartupMigration("project-name",
+                                                                        projectNameStartupAdder::synchronizeNextProjectNames),
+                                                   StartupMigration.singleStep("bucket-object-counts",
+                                                                               bucketObjectCountReconciler::reconcileObjectCounts),
+                                                   new StartupMigration("name-gram-index",
+                                                                        nameGramStartupBuilder::indexNextBatch),
+                                                   new StartupMigration("search-index",
+                                                                        searchIndexStartupBuilder::indexNextBatch),
+                                                   new StartupMigration("revision-content",
+                                                                        revisionContentStartupMigrator::migrateNextBatch)));
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectGrantMetadata;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.util.InvalidatingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.CacheBuilder;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+
+/**
+ * Keeps, for each user identity (name, groups and tenant) and bucket, the grants resolved by
+ * {@link GrantRightsService}, so that the rights of many objects of a bucket are computed with the grant queries of a
+ * single lookup.
+ *
+ * The grant and bucket owner mutations invalidate the entries of their bucket, see {@link InvalidatingCache}.
+ */
+@Component
+public class GrantRightsCache {
+
+    @Value("${pa.catalog.grant.rights.cache.size}")
+    protected long maximumSize;
+
+    @Value("${pa.catalog.grant.rights.cache.expiration.seconds}")
+    protected long expirationSeconds;
+
+    private InvalidatingCache<Key, UserBucketRights> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new InvalidatingCache<>(CacheBuilder.newBuilder()
+                                                    .maximumSize(maximumSize)
+                                                    .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                                                    .build());
+    }
+
+    /**
+     * Get the resolved grants of the user for the bucket, computing them with the loader when they are not cached.
+     * Exceptions of the loader are propagated and nothing is cached.
+     */
+    public UserBucketRights get(AuthenticatedUser user, String bucketName, Supplier<UserBucketRights> loader) {
+        return cache.get(new Key(user.getName(), new TreeSet<>(user.getGroups()), user.getTenant(), bucketName),
+                         loader);
+    }
+
+    public void invalidateBucket(String bucketName) {
+        cache.invalidateIf(key -> key.getBucketName().equals(bucketName));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Grants of a user for a bucket and the objects it contains.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class UserBucketRights {
+
+        private final String bucketRights;
+
+        private final Optional<String> userSpecificBucketRights;
+
+        private final Map<String, List<CatalogObjectGrantMetadata>> objectGrantsByObjectName;
+
+        public List<CatalogObjectGrantMetadata> getObjectGrants(String catalogObjectName) {
+            return objectGrantsByObjectName.getOrDefault(catalogObjectName, Collections.emptyList());
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @Getter
+    private static class Key {
+
+        private final String userName;
+
+        private final Set<String> groups;
+
+        private final String tenant;
+
+        private final String bucketName;
+    }
+}
@@ -66,6 +66,9 @@ public class GrantRightsService {
     @Autowired
     private BucketRepository bucketRepository;
 
+    @Autowired
+    private GrantRightsCache grantRightsCache;
+
     /**
      *
      * This method calculates the resulting grant for a user for an operation regarding a bucket, taking into consideration the priorities of the grants assigned
@@ -78,18 +81,13 @@ public class GrantRightsService {
      */
     @Transactional(readOnly = true)
     public String getBucketRights(AuthenticatedUser user, String bucketName) {
-        BucketEntity bucket = bucketRepository.findOneByBucketName(bucketName);
-        if (bucket == null) {
-            throw new BucketNotFoundException(bucketName);
-        }
-        if (GrantHelper.isPublicBucket(bucket.getOwner()) || user.isCatalogAdmin()) {
+        if (user.isCatalogAdmin()) {
+            if (bucketRepository.findOneByBucketName(bucketName) == null) {
+                throw new BucketNotFoundException(bucketName);
+            }
             return admin.name();
         }
-
-        List<BucketGrantMetadata> userBucketGrants = bucketGrantService.getUserBucketGrants(user, bucketName);
-        addGrantsForBucketOwner(user, bucketName, bucket.getOwner(), userBucketGrants);
-
-        return getBucketRights(userBucketGrants);
+        return getUserBucketRights(user, bucketName).getBucketRights();
     }
 
     /**
@@ -128,16 +126,43 @@ public class GrantRightsService {
             return admin.name();
         }
 
-        List<CatalogObjectGrantMetadata> objGrants = catalogObjectGrantService.getObjectGrants(user,
-                                                                                               bucketName,
-                                                                                               catalogObjectName);
+        GrantRightsCache.UserBucketRights rights = getUserBucketRights(user, bucketName);
+        List<CatalogObjectGrantMetadata> objGrants = rights.getObjectGrants(catalogObjectName);
         if (!objGrants.isEmpty()) {
-            Optional<String> userSpecBucketRights = bucketGrantService.getUserSpecificPositiveGrants(user, bucketName)
-                                                                      .map(BucketGrantMetadata::getAccessType);
-            return getCatalogObjectRightsFromHighestPriorityGrant(userSpecBucketRights, objGrants);
+            return getCatalogObjectRightsFromHighestPriorityGrant(rights.getUserSpecificBucketRights(), objGrants);
         }
         // In case when the user and user group object grants are unavailable, we check in the bucket grants for the accessType
-        return this.getBucketRights(user, bucketName);
+        return rights.getBucketRights();
+    }
+
+    /**
+     * Get the grants of a non-admin user for the bucket and its objects, from the cache when they were already
+     * resolved for the same user identity.
+     */
+    private GrantRightsCache.UserBucketRights getUserBucketRights(AuthenticatedUser user, String bucketName) {
+        return grantRightsCache.get(user, bucketName, () -> loadUserBucketRights(user, bucketName));
+    }
+
+    private GrantRightsCache.UserBucketRights loadUserBucketRights(AuthenticatedUser user, String bucketName) {
+        BucketEntity bucket = bucketRepository.findOneByBucketName(bucketName);
+        if (bucket == null) {
+            throw new BucketNotFoundException(bucketName);
+        }
+        String bucketRights;
+        if (GrantHelper.isPublicBucket(bucket.getOwner())) {
+            bucketRights = admin.name();
+        } else {
+            List<BucketGrantMetadata> userBucketGrants = bucketGrantService.getUserBucketGrants(user, bucketName);
+            addGrantsForBucketOwner(user, bucketName, bucket.getOwner(), userBucketGrants);
+            bucketRights = getBucketRights(userBucketGrants);
+        }
+        Optional<String> userSpecBucketRights = bucketGrantService.getUserSpecificPositiveGrants(user, bucketName)
+                                                                  .map(BucketGrantMetadata::getAccessType);
+        Map<String, List<CatalogObjectGrantMetadata>> objectGrantsByObjectName = catalogObjectGrantService.getObjectsGrantsInABucket(user,
+                                                                                                                                     bucketName)
+                                                                                                          .stream()
+                                                                                                          .collect(Collectors.groupingBy(CatalogObjectGrantMetadata::getCatalogObjectName));
+        return new GrantRightsCache.UserBucketRights(bucketRights, userSpecBucketRights, objectGrantsByObjectName);
     }
 
     /**
@@ -170,17 +195,24 @@ public class GrantRightsService {
      */
     @Transactional(readOnly = true)
     public List<BucketMetadata> getBucketsByPrioritizedGrants(AuthenticatedUser user) {
-        // get all grants assigned to the user, its groups or its tenant, and group them by bucket
-        List<BucketGrantMetadata> bucketsGrants = bucketGrantService.getUserAllBucketsGrants(user);
-        List<CatalogObjectGrantMetadata> catalogObjectGrants = catalogObjectGrantService.getObjectsGrants(user);
+        return getBucketsByPrioritizedGrants(getUserGrantIndex(user));
+    }
 
-        Set<String> accessibleBucketNames = findAccessibleBuckets(bucketsGrants, catalogObjectGrants);
+    /**
+     * Get list of buckets which is accessible for the user via the grants
+     *
+     * @param userGrantIndex all the grants assigned to the user, its groups or its tenant
+     * @return the list of buckets that are accessible for the user via his grants
+     */
+    @Transactional(readOnly = true)
+    public List<BucketMetadata> getBucketsByPrioritizedGrants(UserGrantIndex userGrantIndex) {
+        Set<String> accessibleBucketNames = findAccessibleBuckets(userGrantIndex);
 
         List<BucketMetadata> bucketMetadataList = new LinkedList<>();
         for (String bucketName : accessibleBucketNames) {
             BucketEntity bucket = bucketRepository.findOneByBucketName(bucketName);
             if (bucket != null) {
-                BucketMetadata bucketMetadata = new BucketMetadata(bucket, bucket.getCatalogObjects().size());
+                BucketMetadata bucketMetadata = new BucketMetadata(bucket, bucket.getObjectCount());
                 bucketMetadataList.add(bucketMetadata);
             } else {
                 log.warn("Cannot find bucket " + bucketName + " defined in existing grant");
@@ -189,45 +221,26 @@ public class GrantRightsService {
         return bucketMetadataList;
     }
 
-    private static Set<String> findAccessibleBuckets(List<BucketGrantMetadata> bucketsGrants,
-            List<CatalogObjectGrantMetadata> catalogObjectGrants) {
-        Map<String, List<BucketGrantMetadata>> bucketGrantsByBucketName = bucketsGrants.stream()
-                                                                                       .collect(Collectors.groupingBy(gm -> gm.getBucketName()));
-        Map<String, List<CatalogObjectGrantMetadata>> objectGrantsByBucketName = catalogObjectGrants.stream()
-                                                                                                    .collect(Collectors.groupingBy(gm -> gm.getBucketName()));
+    /**
+     * Load all the grants assigned to the user, its groups or its tenant, indexed by bucket
+     *
+     * @param user authenticated user
+     * @return the user's grant index
+     */
+    @Transactional(readOnly = true)
+    public UserGrantIndex getUserGrantIndex(AuthenticatedUser user) {
+        return new UserGrantIndex(bucketGrantService.getUserAllBucketsGrants(user),
+                                  catalogObjectGrantService.getObjectsGrants(user));
+    }
 
+    private static Set<String> findAccessibleBuckets(UserGrantIndex userGrantIndex) {
         Set<String> accessibleBucketNames = new LinkedHashSet<>();
-        for (String bucketName : bucketGrantsByBucketName.keySet()) {
-            List<BucketGrantMetadata> bucketGrantMetadataList = bucketGrantsByBucketName.get(bucketName);
-            String access = getBucketRights(bucketGrantMetadataList);
-            if (!access.equals(noAccess.name())) {
-                // if the bucket is accessible, add it
-                accessibleBucketNames.add(bucketName);
-            } else if (objectGrantsByBucketName.containsKey(bucketName)) {
-                // if not check catalog objects grants
-                List<CatalogObjectGrantMetadata> objectGrantMetadataList = objectGrantsByBucketName.get(bucketName);
-                // compute the priority of the noAccess bucket grant
-                int priority = findHighestPriority(bucketGrantMetadataList);
-                // filter all positive objet grants according to this priority
-                List<CatalogObjectGrantMetadata> positiveObjectsGrants = GrantHelper.filterPositiveGrants(filterObjectGrantsByPriority(objectGrantMetadataList,
-                                                                                                                                       priority));
-                // if any object is accessible, the bucket is accessible
-                if (!positiveObjectsGrants.isEmpty()) {
-                    accessibleBucketNames.add(bucketName);
-                }
-                // remove the catalog object grants associated with the bucket
-                objectGrantsByBucketName.remove(bucketName);
-            }
-
-        }
-        // handle all catalog object grants not already handled before
-        for (String bucketName : objectGrantsByBucketName.keySet()) {
-            int priority = TENANT_PRIORITY; // lowest priority
-            List<CatalogObjectGrantMetadata> objectGrantMetadataList = objectGrantsByBucketName.get(bucketName);
-            List<CatalogObjectGrantMetadata> positiveObjectsGrants = GrantHelper.filterPositiveGrants(filterObjectGrantsByPriority(objectGrantMetadataList,
-                                                                                                                                   priority));
-            // if any object is accessible, the bucket is accessible
-            if (!positiveObjectsGrants.isEmpty()) {
+        for (String bucketName : userGrantIndex.getBucketNames()) {
+            List<BucketGrantMetadata> bucketGrants = userGrantIndex.getBucketGrants(bucketName);
+            // if the bucket is not accessible, check the catalog object grants with a priority greater or equal
+            // to the noAccess bucket grant (all of them when there is no bucket grant)
+            if (!getBucketRights(bucketGrants).equals(noAccess.name()) ||
+                userGrantIndex.countAccessibleObjects(bucketName, findHighestPriority(bucketGrants)) > 0) {
                 accessibleBucketNames.add(bucketName);
             }
         }
@@ -254,6 +267,25 @@ public class GrantRightsService {
         }
     }
 
+    /**
+     * Get the number of accessible catalog objects in the bucket.
+     *
+     * @param bucket bucket metadata
+     * @param bucketGrants list of all the user's grants on the bucket
+     * @param userGrantIndex all the user's grants, used for the ones on the catalog objects in the bucket
+     * @return the number of accessible catalog objects in the bucket
+     */
+    public static int getNumberOfAccessibleObjectsInBucket(BucketMetadata bucket,
+            List<BucketGrantMetadata> bucketGrants, UserGrantIndex userGrantIndex) {
+        int highestBucketGrantPriority = findHighestPriority(bucketGrants);
+        if (getBucketRights(bucketGrants).equals(noAccess.name())) {
+            return userGrantIndex.countAccessibleObjects(bucket.getName(), highestBucketGrantPriority);
+        } else {
+            return bucket.getObjectCount() -
+                   userGrantIndex.countInaccessibleObjects(bucket.getName(), highestBucketGrantPriority);
+        }
+    }
+
     /**
      * Remove all inaccessible objects in a bucket for the user
      *
@@ -0,0 +1,63 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+
+/**
+ * Fills the latest revision pointer of catalog objects created before it was introduced.
+ */
+@Component
+public class LatestRevisionStartupAdder {
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Value("${pa.catalog.startup.migration.batch.size}")
+    private int batchSize;
+
+    @Transactional
+    public long synchronizeNextLatestRevisions(long checkpoint) {
+        List<CatalogObjectRevisionEntity> lastRevisions = catalogObjectRevisionRepository.findLastRevisionsWithoutLatestRevisionPointer(new PageRequest(0,
+                                                                                                                                                        batchSize));
+        if (lastRevisions.isEmpty()) {
+            return StartupMigration.COMPLETED;
+        }
+        for (CatalogObjectRevisionEntity revision : lastRevisions) {
+            revision.getCatalogObject().setLatestRevision(revision);
+        }
+        return checkpoint;
+    }
+}
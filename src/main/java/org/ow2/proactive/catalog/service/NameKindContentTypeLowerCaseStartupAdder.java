@@ -30,44 +30,45 @@ import java.util.List;
 import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import lombok.extern.log4j.Log4j2;
 
-
-@Log4j2
+/**
+ * Fills the lower case name, kind and content type of the catalog objects created before these columns existed.
+ * Migrated objects no longer match the selection, so no checkpoint is needed.
+ */
 @Component
 public class NameKindContentTypeLowerCaseStartupAdder {
 
     @Autowired
     private CatalogObjectRepository catalogObjectRepository;
 
-    @Autowired
-    CatalogObjectService catalogObjectService;
+    @Value("${pa.catalog.startup.migration.batch.size}")
+    private int batchSize;
 
     @Transactional
-    public void synchronizeNameKindAndContentType() {
-        log.info("Checking catalog object entities ... ");
-        List<CatalogObjectEntity> catalogObjectEntityList = catalogObjectRepository.findWithNullNameKindOrContentType();
-        if (!catalogObjectEntityList.isEmpty()) {
-            log.info("Resynchronization of name, kind and content type ...");
-            for (CatalogObjectEntity objectEntity : catalogObjectEntityList) {
-                if (objectEntity.getNameLower() == null) {
-                    objectEntity.setNameLower(objectEntity.getId().getName());
-                }
-                if (objectEntity.getKindLower() == null && objectEntity.getKind() != null) {
-                    objectEntity.setKindLower(objectEntity.getKind());
-                }
-                if (objectEntity.getContentTypeLower() == null && objectEntity.getContentType() != null) {
-                    objectEntity.setContentTypeLower(objectEntity.getContentType());
-                }
-
-                catalogObjectRepository.save(objectEntity);
-
-            }
-            log.info("Resynchronization of name, kind and content type ended successfully.");
+    public long synchronizeNextNameKindAndContentTypes(long checkpoint) {
+        List<CatalogObjectEntity> catalogObjectEntityList = catalogObjectRepository.findWithNullNameKindOrContentType(new PageRequest(0,
+                                                                                                                                    batchSize));
+        if (catalogObjectEntityList.isEmpty()) {
+            return StartupMigration.COMPLETED;
         }
+        for (CatalogObjectEntity objectEntity : catalogObjectEntityList) {
+            if (objectEntity.getNameLower() == null) {
+                objectEntity.setNameLower(objectEntity.getId().getName());
+            }
+            if (objectEntity.getKindLower() == null && objectEntity.getKind() != null) {
+                objectEntity.setKindLower(objectEntity.getKind());
+            }
+            if (objectEntity.getContentTypeLower() == null && objectEntity.getContentType() != null) {
+                objectEntity.setContentTypeLower(objectEntity.getContentType());
+            }
 
+            catalogObjectRepository.save(objectEntity);
+        }
+        return checkpoint;
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectTagRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTagEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+
+/**
+ * Fills the tag table with the tags of the latest revision of catalog objects created before it was introduced.
+ */
+@Component
+public class ObjectTagStartupAdder {
+
+    @Autowired
+    private CatalogObjectTagRepository catalogObjectTagRepository;
+
+    @Autowired
+    private CatalogObjectDictionary catalogObjectDictionary;
+
+    @Value("${pa.catalog.startup.migration.batch.size}")
+    private int batchSize;
+
+    @Transactional
+    public long synchronizeNextObjectTags(long checkpoint) {
+        List<Object[]> missingTags = catalogObjectTagRepository.findLatestRevisionTagsWithoutObjectTag(new PageRequest(0,
+                                                                                                                       batchSize));
+        if (missingTags.isEmpty()) {
+            return StartupMigration.COMPLETED;
+        }
+        catalogObjectTagRepository.save(missingTags.stream()
+                                                   .map(row -> new CatalogObjectTagEntity((CatalogObjectEntity) row[0],
+                                                                                          (String) row[1]))
+                                                   .collect(Collectors.toList()));
+        // the dictionary counts tag rows and is loaded before the migrations start
+        missingTags.forEach(row -> catalogObjectDictionary.replaceTags(Collections.emptySet(),
+                                                                       Collections.singleton((String) row[1])));
+        return checkpoint;
+    }
+}
@@ -30,15 +30,20 @@ import static org.ow2.proactive.catalog.service.CatalogObjectService.PROJECT_NAM
 import java.util.List;
 
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import lombok.extern.log4j.Log4j2;
 
-
-@Log4j2
+/**
+ * Fills the project name of the revisions created before it was stored in its own column. Revisions are
+ * migrated by increasing id, the checkpoint is the id of the last migrated revision. The project sort key of the
+ * objects is updated along with their latest revision.
+ */
 @Component
 public class ProjectNameStartupAdder {
 
@@ -48,22 +53,28 @@ public class ProjectNameStartupAdder {
     @Autowired
     CatalogObjectService catalogObjectService;
 
-    @Transactional
-    public void synchronizeProjectName() {
-        log.info("Checking catalog object revision entities ... ");
-        List<CatalogObjectRevisionEntity> catalogObjectRevisionEntityList = catalogObjectRevisionRepository.findWithEmptyOrNullProjectName();
-        if (!catalogObjectRevisionEntityList.isEmpty()) {
-            log.info("Resynchronization of project name ...");
-            for (CatalogObjectRevisionEntity objectRevisionEntity : catalogObjectRevisionEntityList) {
-                String projectName = catalogObjectService.getMetadataValueIfExistsOrEmptyString(KeyValueLabelMetadataHelper.convertFromEntity(objectRevisionEntity.getKeyValueMetadataList()),
-                                                                                                PROJECT_NAME);
+    @Value("${pa.catalog.startup.migration.batch.size}")
+    private int batchSize;
 
-                objectRevisionEntity.setProjectName(projectName);
-                catalogObjectRevisionRepository.save(objectRevisionEntity);
+    @Transactional
+    public long synchronizeNextProjectNames(long afterRevisionId) {
+        List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.findWithEmptyOrNullProjectName(afterRevisionId,
+                                                                                                                    new PageRequest(0,
+                                                                                                                                    batchSize));
+        if (revisions.isEmpty()) {
+            return StartupMigration.COMPLETED;
+        }
+        for (CatalogObjectRevisionEntity objectRevisionEntity : revisions) {
+            String projectName = catalogObjectService.getMetadataValueIfExistsOrEmptyString(KeyValueLabelMetadataHelper.convertFromEntity(objectRevisionEntity.getKeyValueMetadataList()),
+                                                                                            PROJECT_NAME);
 
+            objectRevisionEntity.setProjectName(projectName);
+            CatalogObjectEntity catalogObject = objectRevisionEntity.getCatalogObject();
+            if (objectRevisionEntity.getCommitTime() == catalogObject.getLastCommitTime()) {
+                catalogObject.setProjectSortKey(CatalogObjectEntity.projectSortKey(projectName));
             }
-            log.info("Resynchronization of project name ended successfully.");
+            catalogObjectRevisionRepository.save(objectRevisionEntity);
         }
-
+        return revisions.get(revisions.size() - 1).getId();
     }
 }
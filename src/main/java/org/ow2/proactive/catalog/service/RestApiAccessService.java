@@ -84,7 +84,7 @@ public class RestApiAccessService {
     }
 
     public boolean isAPublicBucket(String bucketName) {
-        return BucketService.DEFAULT_BUCKET_OWNER.equals(bucketService.getBucketMetadata(bucketName).getOwner());
+        return bucketService.getBucketDescriptor(bucketName).isPublicBucket();
     }
 
     public RestApiAccessResponse checkAccessBySessionIdForOwnerOrGroupOrTenantAndThrowIfDeclined(String sessionId,
@@ -147,7 +147,7 @@ public class RestApiAccessService {
     private RestApiAccessResponse checkAccessBySessionForBucketToOwnerOrGroup(String sessionId, String bucketName)
             throws NotAuthenticatedException {
         return checkAccessBySessionIdToOwnerOrGroupOrTenant(sessionId,
-                                                            bucketService.getBucketMetadata(bucketName).getOwner(),
+                                                            bucketService.getBucketDescriptor(bucketName).getOwner(),
                                                             null);
     }
 
@@ -0,0 +1,82 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Lists;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Periodically removes the revisions expired according to the retention policy of their bucket.
+ * Revisions are deleted by batches, each batch in its own transaction, so that the revision table
+ * is never locked for long while the catalog is serving requests.
+ */
+@Log4j2
+@Component
+public class RevisionCompactor {
+
+    @Autowired
+    private BucketRepository bucketRepository;
+
+    @Autowired
+    private RevisionRetentionService revisionRetentionService;
+
+    @Autowired
+    private RevisionContentService revisionContentService;
+
+    @Value("${pa.catalog.revision.retention.batch.size}")
+    protected int batchSize;
+
+    @Scheduled(initialDelayString = "${pa.catalog.revision.retention.compaction.period.ms}", fixedDelayString = "${pa.catalog.revision.retention.compaction.period.ms}")
+    public void compact() {
+        long now = System.currentTimeMillis();
+        long deleted = 0;
+        for (BucketEntity bucket : bucketRepository.findByRetentionMaxRevisionsIsNotNullOrRetentionMaxAgeDaysIsNotNull()) {
+            try {
+                List<Long> expiredRevisionIds = revisionRetentionService.findExpiredRevisionIds(bucket, now);
+                for (List<Long> batch : Lists.partition(expiredRevisionIds, batchSize)) {
+                    deleted += revisionRetentionService.deleteRevisions(batch);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not compact the revisions of bucket " + bucket.getBucketName(), e);
+            }
+        }
+        if (deleted > 0) {
+            revisionContentService.deleteUnreferencedContents();
+            log.info(deleted + " expired catalog object revisions removed.");
+        }
+    }
+}
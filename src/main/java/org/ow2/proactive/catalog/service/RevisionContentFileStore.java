@@ -0,0 +1,151 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.base.Strings;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Stores the raw content of revisions as files in a local directory tree, when
+ * pa.catalog.revision.content.storage.directory is set. Files are laid out by content hash
+ * (ab/cd/abcd...-suffix), the database only keeps their relative path.
+ */
+@Log4j2
+@Component
+public class RevisionContentFileStore {
+
+    @Value("${pa.catalog.revision.content.storage.directory}")
+    protected String storageDirectory;
+
+    private Path rootDirectory;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!Strings.isNullOrEmpty(storageDirectory)) {
+            rootDirectory = Paths.get(storageDirectory).toAbsolutePath().normalize();
+            Files.createDirectories(rootDirectory);
+            log.info("Catalog object revision contents are stored in " + rootDirectory);
+        }
+    }
+
+    public boolean isEnabled() {
+        return rootDirectory != null;
+    }
+
+    /**
+     * Writes the given bytes in a new file. Each content row gets its own file so that deleting the file
+     * of a removed content never affects a content re-created later with the same hash.
+     *
+     * @return the path of the file, relative to the storage directory
+     */
+    public String write(String hash, byte[] bytes) {
+        String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "-" +
+                              UUID.randomUUID().toString();
+        Path file = resolve(relativePath);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporaryFile = Files.createTempFile(file.getParent(), hash, ".tmp");
+            Files.write(temporaryFile, bytes);
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write revision content file " + file, e);
+        }
+        // the file must not outlive a rolled back content row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        deleteQuietly(file);
+                    }
+                }
+            });
+        }
+        return relativePath;
+    }
+
+    public byte[] read(String relativePath) {
+        Path file = resolve(relativePath);
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read revision content file " + file, e);
+        }
+    }
+
+    public Path resolve(String relativePath) {
+        if (rootDirectory == null) {
+            throw new IllegalStateException("No storage directory is configured for revision contents");
+        }
+        return rootDirectory.resolve(relativePath);
+    }
+
+    /**
+     * Deletes the given files once the current transaction is committed, so that they stay available
+     * if the removal of their content rows is rolled back.
+     */
+    public void deleteAfterCommit(Collection<String> relativePaths) {
+        if (relativePaths.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            relativePaths.forEach(relativePath -> deleteQuietly(resolve(relativePath)));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                relativePaths.forEach(relativePath -> deleteQuietly(resolve(relativePath)));
+            }
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete revision content file " + file, e);
+        }
+    }
+}
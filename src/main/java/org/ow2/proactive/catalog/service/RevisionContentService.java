@@ -0,0 +1,390 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionContentRepository;
+import org.ow2.proactive.catalog.repository.LegacyRevisionRawObjectRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.LegacyRevisionRawObjectEntity;
+import org.ow2.proactive.catalog.util.codec.ContentCodec;
+import org.ow2.proactive.catalog.util.codec.ContentCodecSelector;
+import org.ow2.proactive.catalog.util.codec.DeltaEncoder;
+import org.ow2.proactive.catalog.util.codec.GzipContentCodec;
+import org.ow2.proactive.catalog.util.codec.IdentityContentCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+
+
+/**
+ * Single access point to the raw content of catalog object revisions.
+ * Revision metadata never carries the content itself, it is only loaded here on demand.
+ * Contents are deduplicated by their SHA-256 hash and reference counted. When delta storage is enabled, the content
+ * of a new revision is stored as a delta against the content of the previous revision of its object, with a full
+ * content every pa.catalog.revision.content.delta.snapshot.interval revisions.
+ * Concurrent commits of the same new content share a single row: the commit which does not insert it first takes
+ * its references on the row inserted by the other one.
+ *
+ * @author ActiveEon Team
+ */
+@Service
+public class RevisionContentService {
+
+    // a content inserted by a concurrent commit may be removed as unreferenced before the increment
+    private static final int MAX_CONTENT_INSERTION_ATTEMPTS = 3;
+
+    @Autowired
+    private CatalogObjectRevisionContentRepository catalogObjectRevisionContentRepository;
+
+    @Autowired
+    private LegacyRevisionRawObjectRepository legacyRevisionRawObjectRepository;
+
+    @Autowired
+    private ContentCodecSelector contentCodecSelector;
+
+    @Autowired
+    private RevisionContentFileStore revisionContentFileStore;
+
+    @Autowired
+    private DeltaEncoder deltaEncoder;
+
+    @Value("${pa.catalog.db.items.max.size}")
+    protected int dbItemsMaxSize;
+
+    @Value("${pa.catalog.revision.content.delta.snapshot.interval}")
+    protected int deltaSnapshotInterval;
+
+    @Value("${pa.catalog.revision.content.delta.cache.size.mb}")
+    protected int deltaCacheSizeMb;
+
+    // raw objects rebuilt from deltas, by content id (contents are never modified once stored)
+    private Cache<Long, byte[]> rebuiltRawObjects;
+
+    @PostConstruct
+    public void init() {
+        rebuiltRawObjects = CacheBuilder.newBuilder()
+                                        .maximumWeight(deltaCacheSizeMb * 1024L * 1024L)
+                                        .weigher((Long id, byte[] rawObject) -> rawObject.length)
+                                        .build();
+    }
+
+    /**
+     * Returns the content holding the given bytes, taking a new reference on it.
+     * When an identical content is already stored, only its reference count is increased,
+     * otherwise the bytes are stored encoded with the codec configured for the object kind.
+     */
+    @Transactional
+    public CatalogObjectRevisionContentEntity createContent(byte[] rawObject, String kind) {
+        return createContent(rawObject, kind, null);
+    }
+
+    /**
+     * Same as {@link #createContent(byte[], String)}, a new content being possibly stored as a delta against
+     * previousContent, the content of the previous revision of the object (null for a new object).
+     */
+    @Transactional
+    public CatalogObjectRevisionContentEntity createContent(byte[] rawObject, String kind,
+            CatalogObjectRevisionContentEntity previousContent) {
+        if (rawObject == null) {
+            return null;
+        }
+        String hash = Hashing.sha256().hashBytes(rawObject).toString();
+        return referenceContent(hash, 1, () -> newContent(hash, rawObject, kind, previousContent));
+    }
+
+    /**
+     * Sets the content of a batch of revisions which are not persisted yet, the key of the map being the revision
+     * and the value its raw object. Identical raw objects of the batch share the same content and the existing
+     * contents are looked up with one query, so that the number of statements does not grow with the batch size.
+     */
+    @Transactional
+    public void createContents(Map<CatalogObjectRevisionEntity, byte[]> rawObjectsByRevision) {
+        Map<String, List<CatalogObjectRevisionEntity>> revisionsByHash = new LinkedHashMap<>();
+        Map<String, byte[]> rawObjectsByHash = new HashMap<>();
+        rawObjectsByRevision.forEach((revision, rawObject) -> {
+            if (rawObject != null) {
+                String hash = Hashing.sha256().hashBytes(rawObject).toString();
+                revisionsByHash.computeIfAbsent(hash, key -> new ArrayList<>()).add(revision);
+                rawObjectsByHash.putIfAbsent(hash, rawObject);
+            }
+        });
+
+        Map<String, Long> existingContentIds = new HashMap<>();
+        Lists.partition(new ArrayList<>(revisionsByHash.keySet()), dbItemsMaxSize)
+             .forEach(hashes -> catalogObjectRevisionContentRepository.findIdAndHashByHashIn(hashes)
+                                                                      .forEach(row -> existingContentIds.put((String) row[1],
+                                                                                                             (Long) row[0])));
+
+        // existing contents receiving the same number of new references are updated together
+        Map<Long, List<Long>> existingContentIdsByNewReferences = new HashMap<>();
+        existingContentIds.forEach((hash, id) -> {
+            long newReferences = revisionsByHash.get(hash).size();
+            existingContentIdsByNewReferences.computeIfAbsent(newReferences, key -> new ArrayList<>()).add(id);
+        });
+        for (Map.Entry<Long, List<Long>> entry : existingContentIdsByNewReferences.entrySet()) {
+            for (List<Long> ids : Lists.partition(entry.getValue(), dbItemsMaxSize)) {
+                catalogObjectRevisionContentRepository.incrementReferenceCounts(ids, entry.getKey());
+            }
+        }
+
+        revisionsByHash.forEach((hash, revisions) -> {
+            CatalogObjectRevisionContentEntity content;
+            Long existingContentId = existingContentIds.get(hash);
+            if (existingContentId != null) {
+                content = catalogObjectRevisionContentRepository.getOne(existingContentId);
+            } else {
+                content = referenceContent(hash,
+                                           revisions.size(),
+                                           () -> newContent(hash,
+                                                            rawObjectsByHash.get(hash),
+                                                            revisions.get(0).getCatalogObject().getKind(),
+                                                            null));
+            }
+            for (CatalogObjectRevisionEntity revision : revisions) {
+                revision.setContent(content);
+            }
+        });
+    }
+
+    /**
+     * Drops the references held by the given revisions. It must be called before the revisions are deleted,
+     * contents which are no longer referenced are then removed by {@link #deleteUnreferencedContents()}.
+     *
+     * @return the ids of the released contents
+     */
+    @Transactional
+    public Set<Long> releaseContents(Collection<CatalogObjectRevisionEntity> revisionEntities) {
+        Map<Long, Long> referencesByContent = revisionEntities.stream()
+                                                              .map(CatalogObjectRevisionEntity::getContent)
+                                                              .filter(Objects::nonNull)
+                                                              .collect(Collectors.groupingBy(CatalogObjectRevisionContentEntity::getId,
+                                                                                             Collectors.counting()));
+        referencesByContent.forEach(catalogObjectRevisionContentRepository::decrementReferenceCount);
+        return referencesByContent.keySet();
+    }
+
+    /**
+     * Removes the contents which are not referenced by any revision. Pending revision deletions
+     * must be flushed before calling this method.
+     */
+    @Transactional
+    public int deleteUnreferencedContents() {
+        int deleted = 0;
+        int deletedByPass;
+        // each pass releases the bases of the deltas it removed
+        do {
+            deletedByPass = 0;
+            List<Long> contentIds = catalogObjectRevisionContentRepository.findUnreferencedContentIds();
+            for (List<Long> ids : Lists.partition(contentIds, dbItemsMaxSize)) {
+                deletedByPass += deleteContents(ids);
+            }
+            deleted += deletedByPass;
+        } while (deletedByPass > 0);
+        return deleted;
+    }
+
+    /**
+     * Same as {@link #deleteUnreferencedContents()}, only for the given contents and then for the bases of their
+     * removed deltas, without scanning the whole content table.
+     */
+    @Transactional
+    public int deleteUnreferencedContents(Collection<Long> contentIds) {
+        int deleted = 0;
+        Collection<Long> candidateIds = contentIds;
+        while (!candidateIds.isEmpty()) {
+            List<Long> baseContentIds = new ArrayList<>();
+            for (List<Long> ids : Lists.partition(new ArrayList<>(candidateIds), dbItemsMaxSize)) {
+                List<Long> unreferencedIds = catalogObjectRevisionContentRepository.findUnreferencedContentIdsByIdIn(ids);
+                if (!unreferencedIds.isEmpty()) {
+                    baseContentIds.addAll(catalogObjectRevisionContentRepository.findBaseContentIdsByIdIn(unreferencedIds));
+                    deleted += deleteContents(unreferencedIds);
+                }
+            }
+            candidateIds = baseContentIds;
+        }
+        return deleted;
+    }
+
+    @Transactional
+    public void deleteAllContents() {
+        if (revisionContentFileStore.isEnabled()) {
+            revisionContentFileStore.deleteAfterCommit(catalogObjectRevisionContentRepository.findAllContentFilePaths());
+        }
+        catalogObjectRevisionContentRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Returns the raw content of the given revision. Revisions which were not yet moved to the content table
+     * by {@link RevisionContentStartupMigrator} are read from the legacy inline column.
+     */
+    @Transactional(readOnly = true)
+    public byte[] getRawObject(CatalogObjectRevisionEntity revisionEntity) {
+        CatalogObjectRevisionContentEntity content = revisionEntity.getContent();
+        if (content != null) {
+            return decode(content);
+        }
+        if (revisionEntity.getId() == null) {
+            return null;
+        }
+        LegacyRevisionRawObjectEntity legacyRawObject = legacyRevisionRawObjectRepository.findOne(revisionEntity.getId());
+        return legacyRawObject == null ? null : legacyRawObject.getRawObject();
+    }
+
+    /**
+     * Builds the raw object of the given revision. The stored content is returned as is when it is not encoded,
+     * or when it is gzip compressed and the client accepts gzip. Contents stored on the filesystem are then
+     * returned as a file, to be streamed from the disk.
+     */
+    @Transactional(readOnly = true)
+    public CatalogRawObject getCatalogRawObject(CatalogObjectRevisionEntity revisionEntity, boolean gzipAccepted) {
+        CatalogObjectRevisionContentEntity content = revisionEntity.getContent();
+        if (content == null || content.getBaseContent() != null) {
+            return new CatalogRawObject(revisionEntity, getRawObject(revisionEntity));
+        }
+        boolean gzipEncoded = GzipContentCodec.NAME.equals(content.getEncoding());
+        boolean notEncoded = content.getEncoding() == null || IdentityContentCodec.NAME.equals(content.getEncoding());
+        if (!notEncoded && !(gzipEncoded && gzipAccepted)) {
+            return new CatalogRawObject(revisionEntity, getRawObject(revisionEntity));
+        }
+        String contentEncoding = gzipEncoded ? content.getEncoding() : null;
+        if (content.getFilePath() != null) {
+            return new CatalogRawObject(revisionEntity,
+                                        revisionContentFileStore.resolve(content.getFilePath()),
+                                        contentEncoding);
+        }
+        return new CatalogRawObject(revisionEntity, content.getRawObject(), contentEncoding);
+    }
+
+    /**
+     * Takes the given number of references on the content with the given hash, inserting it first when it is not
+     * stored yet. When a concurrent commit inserts the same content first, the references are taken on its row.
+     */
+    private CatalogObjectRevisionContentEntity referenceContent(String hash, long references,
+            Supplier<CatalogObjectRevisionContentEntity> newContentSupplier) {
+        for (int attempt = 0; attempt < MAX_CONTENT_INSERTION_ATTEMPTS; attempt++) {
+            if (catalogObjectRevisionContentRepository.incrementReferenceCount(hash, references) > 0) {
+                return catalogObjectRevisionContentRepository.getOne(catalogObjectRevisionContentRepository.findIdByHash(hash));
+            }
+            CatalogObjectRevisionContentEntity content = newContentSupplier.get();
+            content.setReferenceCount(references);
+            if (catalogObjectRevisionContentRepository.insertIfAbsent(content)) {
+                return catalogObjectRevisionContentRepository.getOne(content.getId());
+            }
+            if (content.getFilePath() != null) {
+                revisionContentFileStore.deleteAfterCommit(Collections.singletonList(content.getFilePath()));
+            }
+        }
+        throw new IllegalStateException("Could not store the revision content " + hash);
+    }
+
+    private int deleteContents(List<Long> unreferencedIds) {
+        if (revisionContentFileStore.isEnabled()) {
+            revisionContentFileStore.deleteAfterCommit(catalogObjectRevisionContentRepository.findContentFilePathsByIdIn(unreferencedIds));
+        }
+        return catalogObjectRevisionContentRepository.deleteUnreferencedContentsByIdIn(unreferencedIds);
+    }
+
+    private CatalogObjectRevisionContentEntity newContent(String hash, byte[] rawObject, String kind,
+            CatalogObjectRevisionContentEntity previousContent) {
+        ContentCodec contentCodec = contentCodecSelector.getCodecForKind(kind);
+        CatalogObjectRevisionContentEntity content = newEncodedContent(hash, rawObject, contentCodec);
+        if (isDeltaBase(previousContent)) {
+            byte[] delta = deltaEncoder.encode(decode(previousContent), rawObject);
+            CatalogObjectRevisionContentEntity deltaContent = newEncodedContent(hash, delta, contentCodec);
+            if (deltaContent.getRawObject().length < content.getRawObject().length) {
+                deltaContent.setBaseContent(previousContent);
+                deltaContent.setDeltaDepth(getDeltaDepth(previousContent) + 1);
+                content = deltaContent;
+            }
+        }
+        if (revisionContentFileStore.isEnabled()) {
+            content.setFilePath(revisionContentFileStore.write(hash, content.getRawObject()));
+            content.setRawObject(null);
+        }
+        return content;
+    }
+
+    private CatalogObjectRevisionContentEntity newEncodedContent(String hash, byte[] bytes, ContentCodec contentCodec) {
+        byte[] encodedBytes = contentCodec.encode(bytes);
+        if (encodedBytes.length < bytes.length) {
+            return new CatalogObjectRevisionContentEntity(hash, contentCodec.getName(), encodedBytes);
+        }
+        // not worth decoding it on each read
+        return new CatalogObjectRevisionContentEntity(hash, bytes);
+    }
+
+    private boolean isDeltaBase(CatalogObjectRevisionContentEntity previousContent) {
+        return previousContent != null && previousContent.getId() != null &&
+               getDeltaDepth(previousContent) + 1 < deltaSnapshotInterval;
+    }
+
+    private int getDeltaDepth(CatalogObjectRevisionContentEntity content) {
+        return content.getDeltaDepth() == null ? 0 : content.getDeltaDepth();
+    }
+
+    private byte[] decode(CatalogObjectRevisionContentEntity content) {
+        if (content.getBaseContent() == null) {
+            return contentCodecSelector.getCodec(content.getEncoding()).decode(getStoredRawObject(content));
+        }
+        byte[] rawObject = rebuiltRawObjects.getIfPresent(content.getId());
+        if (rawObject == null) {
+            byte[] delta = contentCodecSelector.getCodec(content.getEncoding()).decode(getStoredRawObject(content));
+            rawObject = deltaEncoder.apply(decode(content.getBaseContent()), delta);
+            rebuiltRawObjects.put(content.getId(), rawObject);
+        }
+        // cached arrays are never handed out
+        return rawObject.clone();
+    }
+
+    private byte[] getStoredRawObject(CatalogObjectRevisionContentEntity content) {
+        if (content.getFilePath() != null) {
+            return revisionContentFileStore.read(content.getFilePath());
+        }
+        return content.getRawObject();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.LegacyRevisionRawObjectRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.LegacyRevisionRawObjectEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+
+/**
+ * Moves the raw content stored inline in CATALOG_OBJECT_REVISION.RAW_OBJECT to CATALOG_OBJECT_REVISION_CONTENT.
+ * Each batch runs in its own transaction, so the migration can run while the catalog is serving requests
+ * and resumes where it stopped after a restart.
+ */
+@Component
+public class RevisionContentStartupMigrator {
+
+    @Autowired
+    private LegacyRevisionRawObjectRepository legacyRevisionRawObjectRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private RevisionContentService revisionContentService;
+
+    @Value("${pa.catalog.revision.content.migration.batch.size}")
+    private int batchSize;
+
+    /**
+     * Moves the raw content of the next batch of revisions whose id is greater than the checkpoint. It must be
+     * called through the Spring proxy for the batch to run in its own transaction.
+     *
+     * @return the id of the last revision of the batch, or {@link StartupMigration#COMPLETED} when no revision is
+     * left to migrate
+     */
+    @Transactional
+    public long migrateNextBatch(long checkpoint) {
+        List<Long> revisionIds = legacyRevisionRawObjectRepository.findIdsWithInlineRawObject(checkpoint,
+                                                                                              new PageRequest(0,
+                                                                                                              batchSize));
+        if (revisionIds.isEmpty()) {
+            return StartupMigration.COMPLETED;
+        }
+        // the inline raw content is only cleared once the content table holds it
+        List<Long> movedRevisionIds = new ArrayList<>(revisionIds.size());
+        for (Long revisionId : revisionIds) {
+            List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.findCatalogObject(revisionId);
+            if (revisions.isEmpty()) {
+                continue;
+            }
+            CatalogObjectRevisionEntity revision = revisions.get(0);
+            if (revision.getContent() == null) {
+                LegacyRevisionRawObjectEntity legacyRawObject = legacyRevisionRawObjectRepository.findOne(revisionId);
+                revision.setContent(revisionContentService.createContent(legacyRawObject.getRawObject(),
+                                                                         revision.getCatalogObject().getKind()));
+                catalogObjectRevisionRepository.save(revision);
+            }
+            movedRevisionIds.add(revisionId);
+        }
+        if (!movedRevisionIds.isEmpty()) {
+            legacyRevisionRawObjectRepository.clearInlineRawObjects(movedRevisionIds);
+        }
+        return revisionIds.get(revisionIds.size() - 1);
+    }
+}
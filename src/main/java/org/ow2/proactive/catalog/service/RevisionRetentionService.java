@@ -0,0 +1,125 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+
+/**
+ * Applies the revision retention policy of the buckets. Whatever the policy, the latest revision of an object and
+ * the revision its latest restore was made from are always kept.
+ *
+ * @author ActiveEon Team
+ */
+@Service
+public class RevisionRetentionService {
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private RevisionContentService revisionContentService;
+
+    @Value("${pa.catalog.revision.retention.batch.size}")
+    protected int batchSize;
+
+    /**
+     * @return the ids of the revisions of the bucket objects which have expired at the given time. The revisions
+     * of the bucket are read by pages of pa.catalog.revision.retention.batch.size rows.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findExpiredRevisionIds(BucketEntity bucket, long now) {
+        List<Long> expiredRevisionIds = new ArrayList<>();
+        if (!bucket.hasRetentionPolicy()) {
+            return expiredRevisionIds;
+        }
+        Long minCommitTime = bucket.getRetentionMaxAgeDays() == null ? null
+                                                                     : now - TimeUnit.DAYS.toMillis(bucket.getRetentionMaxAgeDays());
+        // the revisions are returned grouped by object, from the most recent one
+        String objectName = null;
+        int index = 0;
+        Long restoredFromCommitTime = null;
+        List<Object[]> revisions = catalogObjectRevisionRepository.findRevisionSummariesInBucket(bucket.getId(),
+                                                                                                 new PageRequest(0,
+                                                                                                                 batchSize));
+        while (!revisions.isEmpty()) {
+            for (Object[] revision : revisions) {
+                if (!revision[1].equals(objectName)) {
+                    objectName = (String) revision[1];
+                    index = 0;
+                    restoredFromCommitTime = null;
+                } else {
+                    index++;
+                }
+                long commitTime = (Long) revision[2];
+                boolean expired = index > 0 &&
+                                  (bucket.getRetentionMaxRevisions() == null ||
+                                   index >= bucket.getRetentionMaxRevisions()) &&
+                                  (minCommitTime == null || commitTime < minCommitTime);
+                if (expired && !Long.valueOf(commitTime).equals(restoredFromCommitTime)) {
+                    expiredRevisionIds.add((Long) revision[0]);
+                }
+                // a revision is always restored from an older one
+                if (restoredFromCommitTime == null) {
+                    restoredFromCommitTime = (Long) revision[3];
+                }
+            }
+            if (revisions.size() < batchSize) {
+                break;
+            }
+            Object[] lastRevision = revisions.get(revisions.size() - 1);
+            revisions = catalogObjectRevisionRepository.findRevisionSummariesInBucketAfter(bucket.getId(),
+                                                                                           (String) lastRevision[1],
+                                                                                           (Long) lastRevision[2],
+                                                                                           new PageRequest(0,
+                                                                                                           batchSize));
+        }
+        return expiredRevisionIds;
+    }
+
+    /**
+     * Deletes the given revisions and releases their contents, which are removed later on by
+     * {@link RevisionContentService#deleteUnreferencedContents()}.
+     */
+    @Transactional
+    public int deleteRevisions(List<Long> revisionIds) {
+        List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.findAll(revisionIds);
+        revisionContentService.releaseContents(revisions);
+        catalogObjectRevisionRepository.delete(revisions);
+        return revisions.size();
+    }
+}
@@ -26,19 +26,29 @@
 package org.ow2.proactive.catalog.service;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
+import org.ow2.proactive_grid_cloud_portal.scheduler.exception.NotConnectedRestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 
 /**
@@ -48,49 +58,83 @@ import com.google.common.cache.CacheBuilder;
 @Component
 public class SchedulerUserAuthenticationService {
 
+    private static final int INVALID_SESSIONS_MAX_SIZE = 10000;
+
+    private static final int REFRESH_THREADS = 2;
+
     private final SchedulerRestClientCreator schedulerRestClientCreator;
 
     @Value("${pa.catalog.sessionId.timeout.minutes}")
-    private int cacheTimeoutValue;
+    protected int cacheTimeoutValue;
 
-    // Cache used for future planning calculations
-    private Cache<String, UserData> userDataCache = null;
+    @Value("${pa.catalog.sessionId.refresh.seconds}")
+    protected int refreshSeconds;
 
-    private Cache<String, UserData> getCache() {
-        synchronized (SchedulerUserAuthenticationService.class) {
-            if (userDataCache == null) {
-                userDataCache = CacheBuilder.newBuilder().expireAfterWrite(cacheTimeoutValue, TimeUnit.MINUTES).build();
-            }
-            return userDataCache;
-        }
-    }
+    @Value("${pa.catalog.sessionId.invalid.timeout.seconds}")
+    protected int invalidSessionTimeoutSeconds;
+
+    // user data of the validated sessions, a single validation runs at a time for each session id and the
+    // concurrent requests carrying it wait for its result
+    private LoadingCache<String, UserData> userDataCache;
+
+    // reason of the validations which found the session invalid, so that a burst of requests with an invalid session
+    // id does not reach the scheduler. Failures to reach the scheduler are not remembered, the refreshes keeping the
+    // validated user data meanwhile
+    private Cache<String, String> invalidSessionCache;
+
+    private ExecutorService refreshExecutor;
 
     @Autowired
     public SchedulerUserAuthenticationService(SchedulerRestClientCreator schedulerRestClientCreator) {
         this.schedulerRestClientCreator = schedulerRestClientCreator;
     }
 
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS,
+                                                       new ThreadFactoryBuilder().setDaemon(true)
+                                                                                 .setNameFormat("session-refresh-%d")
+                                                                                 .build());
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().expireAfterWrite(cacheTimeoutValue,
+                                                                                               TimeUnit.MINUTES);
+        if (refreshSeconds > 0 && refreshSeconds < TimeUnit.MINUTES.toSeconds(cacheTimeoutValue)) {
+            // the sessions in use are validated again in the background before they expire
+            cacheBuilder.refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS);
+        }
+        userDataCache = cacheBuilder.build(CacheLoader.asyncReloading(new CacheLoader<String, UserData>() {
+            @Override
+            public UserData load(String sessionId) throws NotAuthenticatedException {
+                return getUserDataFromScheduler(sessionId);
+            }
+        }, refreshExecutor));
+        invalidSessionCache = CacheBuilder.newBuilder()
+                                          .maximumSize(INVALID_SESSIONS_MAX_SIZE)
+                                          .expireAfterWrite(invalidSessionTimeoutSeconds, TimeUnit.SECONDS)
+                                          .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     public AuthenticatedUser authenticateBySessionId(String sessionId) throws NotAuthenticatedException {
         if (sessionId == null || sessionId.isEmpty()) {
             throw new NotAuthenticatedException("Could not validate empty sessionId");
         }
 
-        UserData userData = getCache().getIfPresent(sessionId);
-
-        if (userData == null) {
-            try {
-                userData = this.schedulerRestClientCreator.getNewClientInitializedWithSchedulerRestUrl()
-                                                          .getScheduler()
-                                                          .getUserDataFromSessionId(sessionId);
-            } catch (Exception exception) {
-                throw new NotAuthenticatedException("Could not validate sessionId, validation returned: " +
-                                                    exception.getMessage(), exception);
-            }
+        String invalidSessionReason = invalidSessionCache.getIfPresent(sessionId);
+        if (invalidSessionReason != null) {
+            // the validated user data is stale when a refresh found the session invalid
+            userDataCache.invalidate(sessionId);
+            throw new NotAuthenticatedException(invalidSessionReason);
+        }
 
-            if (userData == null || StringUtils.isEmpty(userData.getUserName())) {
-                throw new NotAuthenticatedException("SessionId is invalid");
-            }
-            getCache().put(sessionId, userData);
+        UserData userData;
+        try {
+            userData = userDataCache.get(sessionId);
+        } catch (ExecutionException e) {
+            throw (NotAuthenticatedException) e.getCause();
         }
 
         return AuthenticatedUser.builder()
@@ -101,4 +145,37 @@ public class SchedulerUserAuthenticationService {
                                 .allTenantAccess(userData.isAllTenantPermission())
                                 .build();
     }
+
+    private UserData getUserDataFromScheduler(String sessionId) throws NotAuthenticatedException {
+        UserData userData;
+        try {
+            userData = this.schedulerRestClientCreator.getNewClientInitializedWithSchedulerRestUrl()
+                                                      .getScheduler()
+                                                      .getUserDataFromSessionId(sessionId);
+        } catch (Exception exception) {
+            String reason = "Could not validate sessionId, validation returned: " + exception.getMessage();
+            if (isNotConnected(exception)) {
+                throw invalidSession(sessionId, reason, exception);
+            }
+            throw new NotAuthenticatedException(reason, exception);
+        }
+
+        if (userData == null || StringUtils.isEmpty(userData.getUserName())) {
+            throw invalidSession(sessionId, "SessionId is invalid", null);
+        }
+        return userData;
+    }
+
+    /**
+     * @return whether the scheduler answered that the session is not connected, other failures such as timeouts or
+     * server errors telling nothing about the session
+     */
+    private static boolean isNotConnected(Exception exception) {
+        return Throwables.getCausalChain(exception).stream().anyMatch(NotConnectedRestException.class::isInstance);
+    }
+
+    private NotAuthenticatedException invalidSession(String sessionId, String reason, Exception cause) {
+        invalidSessionCache.put(sessionId, reason);
+        return new NotAuthenticatedException(reason, cause);
+    }
 }
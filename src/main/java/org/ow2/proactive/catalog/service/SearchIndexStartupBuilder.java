@@ -0,0 +1,50 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Indexes for full-text search the catalog objects which are not indexed yet, e.g. after an upgrade or when the
+ * search term table was dropped. Each batch runs in its own transaction so that the build resumes where it
+ * stopped after a restart.
+ */
+@Component
+public class SearchIndexStartupBuilder {
+
+    @Autowired
+    private CatalogObjectSearchService catalogObjectSearchService;
+
+    @Value("${pa.catalog.search.index.batch.size}")
+    private int batchSize;
+
+    public long indexNextBatch(long checkpoint) {
+        return catalogObjectSearchService.indexNextBatch(batchSize) > 0 ? checkpoint : StartupMigration.COMPLETED;
+    }
+}
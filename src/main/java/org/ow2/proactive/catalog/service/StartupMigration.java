@@ -0,0 +1,62 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.function.LongUnaryOperator;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+/**
+ * A data migration run in the background at startup by {@link StartupMigrationRunner}, one batch at a time.
+ * The batch function receives the checkpoint reached by the previous batch (0 the first time), migrates the next
+ * batch in its own transaction and returns the new checkpoint, or {@link #COMPLETED} when nothing is left to
+ * migrate. Migrations which select the rows still to migrate do not need a checkpoint and return the one they
+ * received.
+ *
+ * @author ActiveEon Team
+ */
+@AllArgsConstructor
+@Getter
+public class StartupMigration {
+
+    public static final long COMPLETED = -1;
+
+    private final String name;
+
+    private final LongUnaryOperator batchMigration;
+
+    /**
+     * @return a migration running the given task as a single batch
+     */
+    public static StartupMigration singleStep(String name, Runnable task) {
+        return new StartupMigration(name, checkpoint -> {
+            task.run();
+            return COMPLETED;
+        });
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.StartupMigrationCheckpointRepository;
+import org.ow2.proactive.catalog.repository.entity.StartupMigrationCheckpointEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Runs the startup migrations one after the other in a background thread, so that the catalog serves requests
+ * while they run. The checkpoint of each migration is stored after every batch, a migration interrupted by a
+ * restart resumes from its last checkpoint.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Component
+public class StartupMigrationRunner {
+
+    @Autowired
+    private StartupMigrationCheckpointRepository startupMigrationCheckpointRepository;
+
+    @Value("${pa.catalog.startup.migration.progress.log.period.ms}")
+    protected long progressLogPeriodMs;
+
+    public void start(List<StartupMigration> migrations) {
+        Thread migrationThread = new Thread(() -> runAll(migrations), "catalog-startup-migrations");
+        migrationThread.setDaemon(true);
+        migrationThread.start();
+    }
+
+    /**
+     * A failed migration is logged and the next ones still run, it is retried at the next startup.
+     */
+    public void runAll(List<StartupMigration> migrations) {
+        for (StartupMigration migration : migrations) {
+            try {
+                run(migration);
+            } catch (Exception e) {
+                log.error("Error while running the startup migration " + migration.getName(), e);
+            }
+        }
+        log.info("Startup migrations ended.");
+    }
+
+    /**
+     * Runs the migration to completion in the calling thread, for the migrations needed before serving requests.
+     */
+    public void run(StartupMigration migration) {
+        String name = migration.getName();
+        StartupMigrationCheckpointEntity storedCheckpoint = startupMigrationCheckpointRepository.findOne(name);
+        long checkpoint = storedCheckpoint == null ? 0 : storedCheckpoint.getCheckpoint();
+        log.info("Running the startup migration " + name + " from checkpoint " + checkpoint + " ... ");
+
+        long startTime = System.currentTimeMillis();
+        long lastProgressLogTime = startTime;
+        long batchCount = 0;
+        long nextCheckpoint = migration.getBatchMigration().applyAsLong(checkpoint);
+        while (nextCheckpoint != StartupMigration.COMPLETED) {
+            batchCount++;
+            if (nextCheckpoint != checkpoint) {
+                checkpoint = nextCheckpoint;
+                startupMigrationCheckpointRepository.save(new StartupMigrationCheckpointEntity(name,
+                                                                                               checkpoint,
+                                                                                               System.currentTimeMillis()));
+            }
+            if (System.currentTimeMillis() - lastProgressLogTime >= progressLogPeriodMs) {
+                lastProgressLogTime = System.currentTimeMillis();
+                log.info("Startup migration " + name + ": " + batchCount + " batches migrated, checkpoint " +
+                         checkpoint);
+            }
+            nextCheckpoint = migration.getBatchMigration().applyAsLong(checkpoint);
+        }
+        log.info("Startup migration " + name + " ended after " + batchCount + " batches in " +
+                 (System.currentTimeMillis() - startTime) + " ms.");
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.*;
+
+import org.ow2.proactive.catalog.dto.BucketGrantMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectGrantMetadata;
+import org.ow2.proactive.catalog.util.GrantHelper;
+
+
+/**
+ * All the grants of a user, indexed by bucket so that listing many buckets does not scan the whole grant lists for
+ * each bucket.
+ *
+ * For the object grants of a bucket, only the highest priority grant of each object matters. These grants are
+ * sorted by decreasing priority and a bitset over this order marks the positive ones, so counting the objects made
+ * accessible or inaccessible by the grants above a bucket grant priority is a binary search and a cardinality.
+ */
+public class UserGrantIndex {
+
+    private final Map<String, List<BucketGrantMetadata>> bucketGrantsByBucketName = new LinkedHashMap<>();
+
+    private final Map<String, ObjectGrants> objectGrantsByBucketName = new LinkedHashMap<>();
+
+    public UserGrantIndex(List<BucketGrantMetadata> bucketGrants, List<CatalogObjectGrantMetadata> objectGrants) {
+        for (BucketGrantMetadata grant : bucketGrants) {
+            bucketGrantsByBucketName.computeIfAbsent(grant.getBucketName(), bucketName -> new ArrayList<>())
+                                    .add(grant);
+        }
+        Map<String, Map<String, CatalogObjectGrantMetadata>> highestPriorityGrantsByBucketName = new LinkedHashMap<>();
+        for (CatalogObjectGrantMetadata grant : objectGrants) {
+            // on equal priorities, the first grant is kept
+            highestPriorityGrantsByBucketName.computeIfAbsent(grant.getBucketName(), bucketName -> new HashMap<>())
+                                             .merge(grant.getCatalogObjectName(),
+                                                    grant,
+                                                    (kept, other) -> other.compareTo(kept) > 0 ? other : kept);
+        }
+        highestPriorityGrantsByBucketName.forEach((bucketName,
+                grants) -> objectGrantsByBucketName.put(bucketName, new ObjectGrants(grants.values())));
+    }
+
+    /**
+     * @return the names of the buckets targeted by a bucket grant, followed by the ones only targeted by object grants
+     */
+    public Set<String> getBucketNames() {
+        Set<String> bucketNames = new LinkedHashSet<>(bucketGrantsByBucketName.keySet());
+        bucketNames.addAll(objectGrantsByBucketName.keySet());
+        return bucketNames;
+    }
+
+    /**
+     * @return a modifiable copy of the user's grants on the bucket
+     */
+    public List<BucketGrantMetadata> getBucketGrants(String bucketName) {
+        return new ArrayList<>(bucketGrantsByBucketName.getOrDefault(bucketName, Collections.emptyList()));
+    }
+
+    /**
+     * @return the number of objects of the bucket whose highest priority grant is at least minimumPriority and positive
+     */
+    public int countAccessibleObjects(String bucketName, int minimumPriority) {
+        ObjectGrants grants = objectGrantsByBucketName.get(bucketName);
+        return grants == null ? 0 : grants.countPositive(minimumPriority);
+    }
+
+    /**
+     * @return the number of objects of the bucket whose highest priority grant is at least minimumPriority and noAccess
+     */
+    public int countInaccessibleObjects(String bucketName, int minimumPriority) {
+        ObjectGrants grants = objectGrantsByBucketName.get(bucketName);
+        return grants == null ? 0 : grants.countAtLeast(minimumPriority) - grants.countPositive(minimumPriority);
+    }
+
+    private static class ObjectGrants {
+
+        // computed priorities of the highest priority grant of each object, in decreasing order
+        private final int[] priorities;
+
+        // objects, in the order of priorities, whose highest priority grant is positive
+        private final BitSet positive;
+
+        private ObjectGrants(Collection<CatalogObjectGrantMetadata> highestPriorityGrants) {
+            List<CatalogObjectGrantMetadata> sortedGrants = new ArrayList<>(highestPriorityGrants);
+            sortedGrants.sort(Comparator.reverseOrder());
+            priorities = new int[sortedGrants.size()];
+            positive = new BitSet(sortedGrants.size());
+            for (int ordinal = 0; ordinal < sortedGrants.size(); ordinal++) {
+                CatalogObjectGrantMetadata grant = sortedGrants.get(ordinal);
+                priorities[ordinal] = grant.getComputedPriority();
+                positive.set(ordinal, GrantHelper.isPositiveGrant(grant));
+            }
+        }
+
+        private int countAtLeast(int minimumPriority) {
+            int low = 0;
+            int high = priorities.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (priorities[middle] >= minimumPriority) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int countPositive(int minimumPriority) {
+            return positive.get(0, countAtLeast(minimumPriority)).cardinality();
+        }
+    }
+}
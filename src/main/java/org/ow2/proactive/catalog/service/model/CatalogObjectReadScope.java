@@ -0,0 +1,66 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.model;
+
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Data;
+
+
+/**
+ * The catalog objects a non-admin user can read, in the form the queries filter them on. The buckets targeted by
+ * none of the user's grants are readable when they are public or owned by one of the user's groups. The rights on
+ * the other buckets and on the objects they contain are resolved from the user's grants.
+ */
+@Data
+public class CatalogObjectReadScope {
+
+    /**
+     * owners ("GROUP:xxx") of the buckets readable through their owner group
+     */
+    private final Set<String> ownerGroups;
+
+    /**
+     * buckets targeted by a bucket or object grant of the user
+     */
+    private final Set<String> grantedBucketNames;
+
+    /**
+     * buckets, among the granted ones, readable by the user
+     */
+    private final Set<String> readableBucketNames;
+
+    /**
+     * objects not readable by the user although their bucket is readable, by bucket name
+     */
+    private final Map<String, Set<String>> unreadableObjectNamesByBucket;
+
+    /**
+     * objects readable by the user although their bucket is not readable, by bucket name
+     */
+    private final Map<String, Set<String>> readableObjectNamesByBucket;
+}
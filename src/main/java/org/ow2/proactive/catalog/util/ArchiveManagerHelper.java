@@ -42,6 +42,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.logging.log4j.Level;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.RevisionContentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.zeroturnaround.zip.ByteSource;
@@ -58,6 +59,9 @@ public class ArchiveManagerHelper {
     @Autowired
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Autowired
+    private RevisionContentService revisionContentService;
+
     public static class ZipArchiveContent {
 
         private byte[] content;
@@ -144,7 +148,7 @@ public class ArchiveManagerHelper {
                                                                                                                                                          catalogObjectEntity.getExtension(),
                                                                                                                                                          catalogObjectEntity.getKind());
                                                                         return new ByteSource(fileNameWithExtension,
-                                                                                              catalogObjectRevision.getRawObject());
+                                                                                              revisionContentService.getRawObject(catalogObjectRevision));
                                                                     });
             ZipEntrySource[] sources = streamSources.toArray(size -> new ZipEntrySource[size]);
             ZipUtil.pack(sources, byteArrayOutputStream);
@@ -221,7 +225,7 @@ public class ArchiveManagerHelper {
                                                                         fileNameWithExtension = "resources/catalog/" +
                                                                                                 fileNameWithExtension;
                                                                         return new ByteSource(fileNameWithExtension,
-                                                                                              catalogObjectRevision.getRawObject());
+                                                                                              revisionContentService.getRawObject(catalogObjectRevision));
                                                                     });
 
             ByteSource metaFileSource = generateMetadataForPackage(bucketName, catalogObjectList);
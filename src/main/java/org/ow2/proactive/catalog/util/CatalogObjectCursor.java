@@ -0,0 +1,98 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.exception.WrongParametersException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+
+import lombok.Data;
+
+
+/**
+ * Position of a catalog object in the listing order (project name, bucket, object name), used to resume a listing
+ * right after this object instead of skipping an offset. Objects without project name are listed first, buckets are
+ * ordered by id.
+ *
+ * @author ActiveEon Team
+ */
+@Data
+public class CatalogObjectCursor {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String projectName;
+
+    private final Long bucketId;
+
+    private final String name;
+
+    public static CatalogObjectCursor of(CatalogObjectRevisionEntity revision) {
+        return new CatalogObjectCursor(revision.getProjectName(),
+                                       revision.getCatalogObject().getId().getBucketId(),
+                                       revision.getCatalogObject().getId().getName());
+    }
+
+    public boolean isBlankProjectName() {
+        return Strings.isNullOrEmpty(projectName);
+    }
+
+    /**
+     * @return an opaque url-safe token representing this cursor
+     */
+    public String toToken() {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new String[] { Strings.nullToEmpty(projectName),
+                                                                        String.valueOf(bucketId), name });
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create continuation token for " + this, e);
+        }
+    }
+
+    public static CatalogObjectCursor fromToken(String token) {
+        String[] values;
+        try {
+            values = objectMapper.readValue(Base64.getUrlDecoder().decode(token), String[].class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new WrongParametersException("invalid continuation token " + token);
+        }
+        if (values == null || values.length != 3 || values[1] == null || values[2] == null) {
+            throw new WrongParametersException("invalid continuation token " + token);
+        }
+        try {
+            return new CatalogObjectCursor(values[0], Long.valueOf(values[1]), values[2]);
+        } catch (NumberFormatException e) {
+            throw new WrongParametersException("invalid continuation token " + token);
+        }
+    }
+}
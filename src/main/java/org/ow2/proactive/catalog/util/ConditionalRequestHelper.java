@@ -0,0 +1,104 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.Objects;
+
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+
+/**
+ * Answers the conditional requests (If-None-Match) on catalog objects from their version, before their revision is
+ * loaded. No Last-Modified header is sent: the kind and content type are updated without a new revision, so the
+ * commit time of the revision does not tell whether the representation changed.
+ */
+public class ConditionalRequestHelper {
+
+    private static final String GZIP_VARIANT = "-gzip";
+
+    private static final String METADATA_VARIANT = "-metadata";
+
+    private ConditionalRequestHelper() {
+    }
+
+    /**
+     * @param gzipAccepted whether the raw content can be sent gzip encoded, which is another representation
+     * @return the strong entity tag of the raw content of the revision
+     */
+    public static String getRawObjectETag(CatalogObjectVersion version, boolean gzipAccepted) {
+        return quote(getVersionTag(version) + (gzipAccepted ? GZIP_VARIANT : ""));
+    }
+
+    /**
+     * @param rights the rights of the user returned with the metadata, empty when they are not returned
+     * @return the strong entity tag of the metadata of the revision
+     */
+    public static String getMetadataETag(CatalogObjectVersion version, String rights) {
+        return quote(getVersionTag(version) + METADATA_VARIANT + (rights.isEmpty() ? "" : "-" + rights));
+    }
+
+    /**
+     * Sets the ETag header of the raw content of the revision and checks whether the client already has it.
+     *
+     * @param version the version of the revision, null when it does not exist
+     * @return true if the response was set to 304 Not Modified and the content must not be loaded
+     */
+    public static boolean checkRawObjectNotModified(ServletWebRequest webRequest, CatalogObjectVersion version,
+            boolean gzipAccepted) {
+        if (version == null) {
+            return false;
+        }
+        // the entity tag depends on the accepted encodings, also when the content is not stored compressed
+        webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return webRequest.checkNotModified(getRawObjectETag(version, gzipAccepted));
+    }
+
+    /**
+     * Sets the ETag header of the metadata of the revision and checks whether the client already has them.
+     *
+     * @param version the version of the revision, null when it does not exist
+     * @return true if the response was set to 304 Not Modified and the metadata must not be loaded
+     */
+    public static boolean checkMetadataNotModified(ServletWebRequest webRequest, CatalogObjectVersion version,
+            String rights) {
+        if (version == null) {
+            return false;
+        }
+        return webRequest.checkNotModified(getMetadataETag(version, rights));
+    }
+
+    private static String getVersionTag(CatalogObjectVersion version) {
+        // the kind and content type are updated without a new revision
+        return version.getCommitTime() + "-" +
+               Integer.toHexString(Objects.hash(version.getKind(), version.getContentType()));
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+
+
+/**
+ * Cache of values read from the database and invalidated by the mutations changing them.
+ *
+ * The invalidations are applied twice: immediately, and once the transaction of the mutation is completed, so that a
+ * value loaded concurrently with the mutation, before its commit, is not kept. A value loaded while an invalidation
+ * runs is returned but not cached, since the invalidation may concern it.
+ *
+ * @author ActiveEon Team
+ */
+public class InvalidatingCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public InvalidatingCache(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Get the value of the key, computing it with the loader when it is not cached. Exceptions of the loader are
+     * propagated and nothing is cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            long invalidationsBeforeLoad = invalidations.get();
+            value = loader.get();
+            if (invalidations.get() == invalidationsBeforeLoad) {
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        invalidate(() -> cache.invalidate(key));
+    }
+
+    public void invalidateIf(Predicate<K> keyPredicate) {
+        invalidate(() -> cache.asMap().keySet().removeIf(keyPredicate));
+    }
+
+    public void invalidateAll() {
+        invalidate(cache::invalidateAll);
+    }
+
+    private void invalidate(Runnable invalidation) {
+        invalidations.incrementAndGet();
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -26,6 +26,9 @@
 package org.ow2.proactive.catalog.util;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
 import org.ow2.proactive.catalog.util.parser.SupportedParserKinds;
@@ -50,11 +53,35 @@ public class RawObjectResponseCreator {
 
     public final static String WORKFLOW_EXTENSION = ".xml";
 
+    private final static String GZIP_CODING = "gzip";
+
+    private final static String ANY_CODING = "*";
+
     public ResponseEntity createRawObjectResponse(CatalogRawObject rawObject) {
         String name = rawObject.getName();
-        byte[] bytes = rawObject.getRawObject();
+        Object body;
+        long contentLength;
+        if (rawObject.getRawObjectFile() != null) {
+            // stream the content from the disk instead of loading it in memory
+            try {
+                contentLength = Files.size(rawObject.getRawObjectFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            body = new StreamedFile(rawObject.getRawObjectFile(), contentLength);
+        } else {
+            byte[] bytes = rawObject.getRawObject();
+            contentLength = bytes.length;
+            body = new InputStreamResource(new ByteArrayInputStream(bytes));
+        }
 
-        ResponseEntity.BodyBuilder responseBodyBuilder = ResponseEntity.ok().contentLength(bytes.length);
+        ResponseEntity.BodyBuilder responseBodyBuilder = ResponseEntity.ok().contentLength(contentLength);
+
+        if (rawObject.getContentEncoding() != null) {
+            // the stored bytes are sent as is, the servlet container does not compress them again
+            responseBodyBuilder.header(HttpHeaders.CONTENT_ENCODING, rawObject.getContentEncoding());
+            responseBodyBuilder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
 
         try {
             String contentDispositionFileName = getNameWithFileExtension(rawObject.getName(),
@@ -75,7 +102,39 @@ public class RawObjectResponseCreator {
                      ", the contentType: " + rawObject.getContentType(), mimeEx);
         }
 
-        return responseBodyBuilder.body(new InputStreamResource(new ByteArrayInputStream(bytes)));
+        return responseBodyBuilder.body(body);
+    }
+
+    /**
+     * @param acceptEncoding value of the Accept-Encoding request header
+     * @return true if the client accepts gzip encoded responses
+     */
+    public boolean isGzipAccepted(String acceptEncoding) {
+        if (Strings.isNullOrEmpty(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] codingAndParameters = coding.trim().split(";");
+            String codingName = codingAndParameters[0].trim();
+            if (GZIP_CODING.equalsIgnoreCase(codingName) || ANY_CODING.equals(codingName)) {
+                return !isQualityZero(codingAndParameters);
+            }
+        }
+        return false;
+    }
+
+    private boolean isQualityZero(String[] codingAndParameters) {
+        for (int i = 1; i < codingAndParameters.length; i++) {
+            String parameter = codingAndParameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
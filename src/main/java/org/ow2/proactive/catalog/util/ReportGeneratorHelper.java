@@ -28,6 +28,7 @@ package org.ow2.proactive.catalog.util;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -129,6 +130,10 @@ public class ReportGeneratorHelper {
     public CallGraphHolder buildCatalogCallGraph(List<CatalogObjectMetadata> catalogObjectMetadataList) {
 
         CallGraphHolder callGraphHolder = new CallGraphHolder();
+        // the called objects of all the graph are looked up at once
+        Map<String, String> existingObjectKinds = catalogObjectService.findExistingObjectKinds(catalogObjectMetadataList.stream()
+                                                                                                                        .flatMap(catalogObjectMetadata -> collectDependsOnCatalogObjects(catalogObjectMetadata).stream())
+                                                                                                                        .collect(Collectors.toSet()));
         for (CatalogObjectMetadata catalogObjectMetadata : catalogObjectMetadataList) {
             List<String> dependsOnCatalogObjects = collectDependsOnCatalogObjects(catalogObjectMetadata);
             if (!dependsOnCatalogObjects.isEmpty()) {
@@ -144,13 +149,8 @@ public class ReportGeneratorHelper {
                 for (String dependsOnCatalogObject : dependsOnCatalogObjects) {
                     bucketName = separatorUtility.getSplitBySeparator(dependsOnCatalogObject).get(0);
                     objectName = separatorUtility.getSplitBySeparator(dependsOnCatalogObject).get(1);
-                    isCatalogObjectExist = catalogObjectService.isDependsOnObjectExistInCatalog(bucketName,
-                                                                                                objectName,
-                                                                                                WorkflowParser.LATEST_VERSION);
-                    objectKind = isCatalogObjectExist ? catalogObjectService.getCatalogObjectMetadata(bucketName,
-                                                                                                      objectName)
-                                                                            .getKind()
-                                                      : "N/A";
+                    isCatalogObjectExist = existingObjectKinds.containsKey(dependsOnCatalogObject);
+                    objectKind = isCatalogObjectExist ? existingObjectKinds.get(dependsOnCatalogObject) : "N/A";
                     calledCatalogObject = callGraphHolder.addNode(bucketName,
                                                                   objectName,
                                                                   objectKind,
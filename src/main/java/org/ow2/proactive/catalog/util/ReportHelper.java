@@ -35,7 +35,6 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.ow2.proactive.catalog.dto.BucketGrantMetadata;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
-import org.ow2.proactive.catalog.dto.CatalogObjectGrantMetadata;
 import org.ow2.proactive.catalog.service.*;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
@@ -72,23 +71,18 @@ public class ReportHelper {
             user = restApiAccessService.getUserFromSessionId(sessionId);
 
             authorisedBuckets = bucketService.getBucketsByGroups(ownerName, kind, contentType, user);
-            authorisedBuckets.addAll(grantRightsService.getBucketsByPrioritizedGrants(user));
-
-            List<BucketGrantMetadata> allBucketsGrants = bucketGrantService.getUserAllBucketsGrants(user);
-            List<CatalogObjectGrantMetadata> allCatalogObjectsGrants = catalogObjectGrantService.getObjectsGrants(user);
+            UserGrantIndex userGrantIndex = grantRightsService.getUserGrantIndex(user);
+            authorisedBuckets.addAll(grantRightsService.getBucketsByPrioritizedGrants(userGrantIndex));
 
             List<BucketMetadata> res = new LinkedList<>();
             for (BucketMetadata data : authorisedBuckets) {
-                List<BucketGrantMetadata> bucketGrants = GrantHelper.filterBucketGrants(allBucketsGrants,
-                                                                                        data.getName());
+                List<BucketGrantMetadata> bucketGrants = userGrantIndex.getBucketGrants(data.getName());
                 grantRightsService.addGrantsForBucketOwner(user, data.getName(), data.getOwner(), bucketGrants);
-                List<CatalogObjectGrantMetadata> objectsInBucketGrants = GrantHelper.filterBucketGrants(allCatalogObjectsGrants,
-                                                                                                        data.getName());
 
                 String bucketGrantAccessType = grantRightsService.getBucketRights(bucketGrants);
                 int objectCount = grantRightsService.getNumberOfAccessibleObjectsInBucket(data,
                                                                                           bucketGrants,
-                                                                                          objectsInBucketGrants);
+                                                                                          userGrantIndex);
                 BucketMetadata metadata = new BucketMetadata(data.getName(),
                                                              data.getOwner(),
                                                              objectCount,
@@ -0,0 +1,134 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectSearchTermEntity;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.util.parser.AbstractCatalogObjectParser;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Computes the full-text search terms of a catalog object from its name, its project name and the metadata
+ * extracted from its latest revision. A term found in several fields gets the sum of the weights of these fields,
+ * so that a match on the object name ranks above a match in a variable description.
+ */
+@Component
+public class SearchTermExtractor {
+
+    static final int NAME_WEIGHT = 10;
+
+    static final int TAG_WEIGHT = 5;
+
+    static final int PROJECT_NAME_WEIGHT = 3;
+
+    static final int VARIABLE_NAME_WEIGHT = 2;
+
+    static final int TEXT_WEIGHT = 1;
+
+    // longer values (scripts, encoded images, ...) are not worth indexing
+    static final int MAX_INDEXED_VALUE_LENGTH = 1024;
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final String VISUALIZATION_KEY = "visualization";
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * @return the distinct terms of a text, in their order of appearance
+     */
+    public Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isEmpty() || text.length() > MAX_INDEXED_VALUE_LENGTH) {
+            return terms;
+        }
+        for (String token : TERM_SEPARATOR.split(text.toLowerCase())) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token.length() > CatalogObjectSearchTermEntity.TERM_MAX_LENGTH ? token.substring(0,
+                                                                                                           CatalogObjectSearchTermEntity.TERM_MAX_LENGTH)
+                                                                                         : token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @return the weight of each term of the catalog object, the object always gets at least one term from its name
+     */
+    public Map<String, Integer> extractTerms(String objectName, String projectName,
+            Collection<KeyValueLabelMetadataEntity> keyValues) {
+        Map<String, Integer> termWeights = new LinkedHashMap<>();
+        addTerms(termWeights, objectName, NAME_WEIGHT);
+        if (termWeights.isEmpty()) {
+            String nameTerm = objectName.toLowerCase();
+            termWeights.put(nameTerm.length() > CatalogObjectSearchTermEntity.TERM_MAX_LENGTH ? nameTerm.substring(0,
+                                                                                                                   CatalogObjectSearchTermEntity.TERM_MAX_LENGTH)
+                                                                                              : nameTerm,
+                            NAME_WEIGHT);
+        }
+        addTerms(termWeights, projectName, PROJECT_NAME_WEIGHT);
+        for (KeyValueLabelMetadataEntity keyValue : keyValues) {
+            String label = keyValue.getLabel() == null ? "" : keyValue.getLabel();
+            switch (label) {
+                case WorkflowParser.OBJECT_TAG_LABEL:
+                    addTerms(termWeights, keyValue.getKey(), TAG_WEIGHT);
+                    break;
+                case WorkflowParser.ATTRIBUTE_VARIABLE_LABEL:
+                    addTerms(termWeights, keyValue.getKey(), VARIABLE_NAME_WEIGHT);
+                    break;
+                case WorkflowParser.ATTRIBUTE_VARIABLE_DESCRIPTION_LABEL:
+                case AbstractCatalogObjectParser.GENERAL_LABEL:
+                    addTerms(termWeights, keyValue.getValue(), TEXT_WEIGHT);
+                    break;
+                case WorkflowParser.ATTRIBUTE_GENERIC_INFORMATION_LABEL:
+                    addTerms(termWeights, keyValue.getKey(), TEXT_WEIGHT);
+                    addTerms(termWeights, keyValue.getValue(), TEXT_WEIGHT);
+                    break;
+                case WorkflowParser.JOB_INFORMATION_LABEL:
+                    if (!VISUALIZATION_KEY.equals(keyValue.getKey())) {
+                        addTerms(termWeights, keyValue.getValue(), TEXT_WEIGHT);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return termWeights;
+    }
+
+    private void addTerms(Map<String, Integer> termWeights, String text, int weight) {
+        tokenize(text).forEach(term -> termWeights.merge(term, weight, Integer::sum));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Writes {@link StreamedFile} bodies by copying the file to the response stream through a small buffer,
+ * without loading the whole file in the heap.
+ *
+ * @author ActiveEon Team
+ */
+@Component
+public class StreamedFileHttpMessageConverter extends AbstractHttpMessageConverter<StreamedFile> {
+
+    public StreamedFileHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamedFile.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamedFile readInternal(Class<? extends StreamedFile> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Reading streamed files is not supported");
+    }
+
+    @Override
+    protected Long getContentLength(StreamedFile streamedFile, MediaType contentType) {
+        return streamedFile.getSize();
+    }
+
+    @Override
+    protected void writeInternal(StreamedFile streamedFile, HttpOutputMessage outputMessage) throws IOException {
+        Files.copy(streamedFile.getPath(), outputMessage.getBody());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.codec;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Strings;
+
+
+/**
+ * Chooses the codec applied to the raw content of a revision according to the kind of its catalog object.
+ *
+ * @author ActiveEon Team
+ */
+@Component
+public class ContentCodecSelector {
+
+    private static final String ALL_KINDS = "*";
+
+    @Autowired
+    private List<ContentCodec> contentCodecs;
+
+    // comma separated list of kind prefixes whose content is compressed, * for all kinds
+    @Value("${pa.catalog.revision.content.compression.kinds}")
+    private String compressedKinds;
+
+    @Value("${pa.catalog.revision.content.compression.codec}")
+    private String compressionCodecName;
+
+    private Map<String, ContentCodec> codecsByName;
+
+    private List<String> compressedKindPrefixes;
+
+    @PostConstruct
+    public void init() {
+        codecsByName = contentCodecs.stream().collect(Collectors.toMap(ContentCodec::getName, Function.identity()));
+        if (!codecsByName.containsKey(compressionCodecName)) {
+            throw new IllegalArgumentException("Unknown content codec: " + compressionCodecName);
+        }
+        compressedKindPrefixes = Arrays.stream(Strings.nullToEmpty(compressedKinds).split(","))
+                                       .map(String::trim)
+                                       .filter(kindPrefix -> !kindPrefix.isEmpty())
+                                       .map(String::toLowerCase)
+                                       .collect(Collectors.toList());
+    }
+
+    public ContentCodec getCodecForKind(String kind) {
+        String kindLower = Strings.nullToEmpty(kind).toLowerCase();
+        boolean compressed = compressedKindPrefixes.stream()
+                                                   .anyMatch(kindPrefix -> ALL_KINDS.equals(kindPrefix) ||
+                                                                           kindLower.startsWith(kindPrefix));
+        return compressed ? codecsByName.get(compressionCodecName) : codecsByName.get(IdentityContentCodec.NAME);
+    }
+
+    /**
+     * @param name the encoding stored with a content, null for contents stored before encodings were introduced
+     */
+    public ContentCodec getCodec(String name) {
+        if (name == null) {
+            return codecsByName.get(IdentityContentCodec.NAME);
+        }
+        ContentCodec contentCodec = codecsByName.get(name);
+        if (contentCodec == null) {
+            throw new IllegalStateException("Unknown content codec: " + name);
+        }
+        return contentCodec;
+    }
+}
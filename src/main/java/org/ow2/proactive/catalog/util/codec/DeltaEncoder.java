@@ -0,0 +1,151 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Binary delta between two versions of a content, as a sequence of copies of base ranges and inserted bytes.
+ * Base blocks are indexed by their hash, matching blocks of the target are then extended in both directions,
+ * which suits revisions differing by a few edited lines.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Component
+public class DeltaEncoder {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private static final byte COPY = 1;
+
+    private static final byte INSERT = 2;
+
+    public byte[] encode(byte[] base, byte[] target) {
+        Map<Integer, Integer> blockOffsets = new HashMap<>();
+        for (int offset = 0; offset + BLOCK_SIZE <= base.length; offset += BLOCK_SIZE) {
+            blockOffsets.putIfAbsent(blockHash(base, offset), offset);
+        }
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(target.length / 8 + 64);
+        try (DataOutputStream delta = new DataOutputStream(byteArrayOutputStream)) {
+            delta.writeInt(target.length);
+            int insertStart = 0;
+            int position = 0;
+            while (position + BLOCK_SIZE <= target.length) {
+                Integer baseOffset = blockOffsets.get(blockHash(target, position));
+                if (baseOffset == null || !blockEquals(base, baseOffset, target, position)) {
+                    position++;
+                    continue;
+                }
+                int copyStart = position;
+                int baseStart = baseOffset;
+                while (copyStart > insertStart && baseStart > 0 && target[copyStart - 1] == base[baseStart - 1]) {
+                    copyStart--;
+                    baseStart--;
+                }
+                int copyEnd = position + BLOCK_SIZE;
+                int baseEnd = baseOffset + BLOCK_SIZE;
+                while (copyEnd < target.length && baseEnd < base.length && target[copyEnd] == base[baseEnd]) {
+                    copyEnd++;
+                    baseEnd++;
+                }
+                writeInsert(delta, target, insertStart, copyStart);
+                delta.writeByte(COPY);
+                delta.writeInt(baseStart);
+                delta.writeInt(copyEnd - copyStart);
+                position = copyEnd;
+                insertStart = copyEnd;
+            }
+            writeInsert(delta, target, insertStart, target.length);
+        } catch (IOException ioe) {
+            log.error("Could not encode the content delta");
+            throw new RuntimeException(ioe);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    public byte[] apply(byte[] base, byte[] delta) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(delta))) {
+            byte[] target = new byte[input.readInt()];
+            int position = 0;
+            while (input.available() > 0) {
+                byte operation = input.readByte();
+                if (operation == COPY) {
+                    int baseOffset = input.readInt();
+                    int length = input.readInt();
+                    System.arraycopy(base, baseOffset, target, position, length);
+                    position += length;
+                } else if (operation == INSERT) {
+                    int length = input.readInt();
+                    input.readFully(target, position, length);
+                    position += length;
+                } else {
+                    throw new IllegalStateException("Unknown content delta operation: " + operation);
+                }
+            }
+            return target;
+        } catch (IOException ioe) {
+            log.error("Could not apply the content delta");
+            throw new RuntimeException(ioe);
+        }
+    }
+
+    private void writeInsert(DataOutputStream delta, byte[] target, int start, int end) throws IOException {
+        if (end > start) {
+            delta.writeByte(INSERT);
+            delta.writeInt(end - start);
+            delta.write(target, start, end - start);
+        }
+    }
+
+    private int blockHash(byte[] bytes, int offset) {
+        int hash = 1;
+        for (int index = offset; index < offset + BLOCK_SIZE; index++) {
+            hash = 31 * hash + bytes[index];
+        }
+        return hash;
+    }
+
+    private boolean blockEquals(byte[] base, int baseOffset, byte[] target, int targetOffset) {
+        for (int index = 0; index < BLOCK_SIZE; index++) {
+            if (base[baseOffset + index] != target[targetOffset + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
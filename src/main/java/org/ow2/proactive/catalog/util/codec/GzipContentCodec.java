@@ -0,0 +1,77 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Deflate compression in the gzip format, which can be served directly with Content-Encoding: gzip.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Component
+public class GzipContentCodec implements ContentCodec {
+
+    public static final String NAME = "gzip";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(byte[] rawObject) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(rawObject.length / 4 + 64);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(rawObject);
+        } catch (IOException ioe) {
+            log.error("Could not compress the raw content");
+            throw new RuntimeException(ioe);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public byte[] decode(byte[] encodedObject) {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(encodedObject))) {
+            return IOUtils.toByteArray(gzipInputStream);
+        } catch (IOException ioe) {
+            log.error("Could not decompress the raw content");
+            throw new RuntimeException(ioe);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.datasource;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * Remembers the HTTP requests and sessions which opened a read-write transaction, so that their following reads
+ * see their own writes although the read replica lags behind the primary database. A request keeps reading from
+ * the primary database until it ends, a session during the configured period after its last write.
+ *
+ * @author ActiveEon Team
+ */
+public class ReadOwnWritesTracker {
+
+    private static final String SESSION_ID_HEADER = "sessionid";
+
+    private static final String WRITE_REQUEST_ATTRIBUTE = ReadOwnWritesTracker.class.getName() + ".write";
+
+    private final Cache<String, Boolean> writingSessions;
+
+    public ReadOwnWritesTracker(long readOwnWritesPeriodMs) {
+        writingSessions = CacheBuilder.newBuilder()
+                                      .expireAfterWrite(readOwnWritesPeriodMs, TimeUnit.MILLISECONDS)
+                                      .build();
+    }
+
+    public void recordWrite() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+        requestAttributes.setAttribute(WRITE_REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        String sessionId = getSessionId(requestAttributes);
+        if (sessionId != null) {
+            writingSessions.put(sessionId, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return false;
+        }
+        if (requestAttributes.getAttribute(WRITE_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String sessionId = getSessionId(requestAttributes);
+        return sessionId != null && writingSessions.getIfPresent(sessionId) != null;
+    }
+
+    private String getSessionId(RequestAttributes requestAttributes) {
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+        return request.getHeader(SESSION_ID_HEADER);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Replaces the data source of the catalog by one routing the read-only transactions to a read replica, when
+ * pa.catalog.datasource.replica.enabled is true. The primary database keeps the spring.datasource configuration.
+ *
+ * @author ActiveEon Team
+ */
+@Log4j2
+@Configuration
+@ConditionalOnProperty(name = "pa.catalog.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfiguration {
+
+    @Value("${pa.catalog.datasource.replica.driverClassName}")
+    private String replicaDriverClassName;
+
+    @Value("${pa.catalog.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${pa.catalog.datasource.replica.username}")
+    private String replicaUsername;
+
+    @Value("${pa.catalog.datasource.replica.password}")
+    private String replicaPassword;
+
+    @Value("${pa.catalog.datasource.replica.read.own.writes.period.ms}")
+    private long readOwnWritesPeriodMs;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public DataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().build();
+    }
+
+    /**
+     * Uses the connection pool implementation of the primary database, configured by the
+     * pa.catalog.datasource.replica.hikari properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "pa.catalog.datasource.replica.hikari")
+    public DataSource replicaDataSource(DataSourceProperties dataSourceProperties) {
+        return DataSourceBuilder.create()
+                                .type(dataSourceProperties.getType())
+                                .driverClassName(replicaDriverClassName)
+                                .url(replicaUrl)
+                                .username(replicaUsername)
+                                .password(replicaPassword)
+                                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        log.info("Read-only transactions are routed to the read replica " + replicaUrl);
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource,
+                                                                                          replicaDataSource,
+                                                                                          new ReadOwnWritesTracker(readOwnWritesPeriodMs));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
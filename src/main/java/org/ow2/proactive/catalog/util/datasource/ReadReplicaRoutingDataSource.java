@@ -0,0 +1,74 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+/**
+ * Gives the connections of read-only transactions from the read replica, and all the other connections from the
+ * primary database. The read-only flag of the transaction is only known once it has begun, this data source must
+ * be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that connections
+ * are fetched at their first statement.
+ *
+ * @author ActiveEon Team
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadOwnWritesTracker readOwnWritesTracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+            ReadOwnWritesTracker readOwnWritesTracker) {
+        this.readOwnWritesTracker = readOwnWritesTracker;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Route.PRIMARY, primaryDataSource);
+        targetDataSources.put(Route.REPLICA, replicaDataSource);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primaryDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readOwnWritesTracker.recordWrite();
+            }
+            return Route.PRIMARY;
+        }
+        return readOwnWritesTracker.mustReadFromPrimary() ? Route.PRIMARY : Route.REPLICA;
+    }
+}
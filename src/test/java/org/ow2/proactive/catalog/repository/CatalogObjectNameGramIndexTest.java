@@ -0,0 +1,116 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectNameGramEntity.Field;
+import org.springframework.data.domain.Pageable;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class CatalogObjectNameGramIndexTest {
+
+    @InjectMocks
+    private CatalogObjectNameGramIndex catalogObjectNameGramIndex;
+
+    @Mock
+    private CatalogObjectNameGramRepository catalogObjectNameGramRepository;
+
+    @Before
+    public void setUp() {
+        catalogObjectNameGramIndex.setReady(true);
+    }
+
+    @Test
+    public void testFilterTrigramsSkipsWildcards() {
+        assertThat(CatalogObjectNameGramIndex.filterTrigrams("Web_Valid%ab")).containsExactly("web",
+                                                                                              "val",
+                                                                                              "ali",
+                                                                                              "lid")
+                                                                             .inOrder();
+        assertThat(CatalogObjectNameGramIndex.filterTrigrams("ab")).isEmpty();
+    }
+
+    @Test
+    public void testFindCandidateObjectNamesIntersectsTheFields() {
+        when(catalogObjectNameGramRepository.findObjectNamesHavingAllGrams(eq(Field.NAME),
+                                                                           any(Collection.class),
+                                                                           eq(3L),
+                                                                           any(Pageable.class))).thenReturn(Arrays.asList("Spark_Job",
+                                                                                                                          "Spark_Stream",
+                                                                                                                          "spark_job"));
+        when(catalogObjectNameGramRepository.findObjectNamesHavingAllGrams(eq(Field.PROJECT_NAME),
+                                                                           any(Collection.class),
+                                                                           eq(2L),
+                                                                           any(Pageable.class))).thenReturn(Arrays.asList("Spark_Job",
+                                                                                                                          "Hadoop_Job"));
+
+        assertThat(catalogObjectNameGramIndex.findCandidateObjectNames("spark",
+                                                                       "data",
+                                                                       10)).containsExactly("spark_job");
+    }
+
+    @Test
+    public void testFindCandidateObjectNamesWithTooManyCandidates() {
+        when(catalogObjectNameGramRepository.findObjectNamesHavingAllGrams(eq(Field.NAME),
+                                                                           any(Collection.class),
+                                                                           anyLong(),
+                                                                           any(Pageable.class))).thenReturn(Arrays.asList("job1",
+                                                                                                                          "job2",
+                                                                                                                          "job3"));
+
+        assertThat(catalogObjectNameGramIndex.findCandidateObjectNames("job", null, 2)).isNull();
+    }
+
+    @Test
+    public void testFindCandidateObjectNamesWhileIndexing() {
+        catalogObjectNameGramIndex.setReady(false);
+
+        assertThat(catalogObjectNameGramIndex.findCandidateObjectNames("spark", null, 10)).isNull();
+        verifyZeroInteractions(catalogObjectNameGramRepository);
+    }
+
+    @Test
+    public void testFindCandidateObjectNamesWithShortFilter() {
+        assertThat(catalogObjectNameGramIndex.findCandidateObjectNames("sp", "", 10)).isNull();
+        verifyZeroInteractions(catalogObjectNameGramRepository);
+    }
+}
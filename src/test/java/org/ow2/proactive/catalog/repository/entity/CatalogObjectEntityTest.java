@@ -31,6 +31,7 @@ import static org.junit.Assert.assertEquals;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -70,6 +71,102 @@ public class CatalogObjectEntityTest {
                                                                    .toInstant()
                                                                    .toEpochMilli());
         assertThat(catalogObject.getRevisions()).hasSize(1);
+        assertThat(catalogObject.getLatestRevision()).isEqualTo(catalogObjectRevision);
+    }
+
+    @Test
+    public void testAddRevisionUpdatesLatestRevision() throws Exception {
+        catalogObject.addRevision(catalogObjectRevision);
+        CatalogObjectRevisionEntity newRevision = newCatalogObjectRevision(now.plusHours(1));
+
+        catalogObject.addRevision(newRevision);
+
+        assertThat(catalogObject.getLatestRevision()).isSameAs(newRevision);
+        assertThat(catalogObject.getRevisions()).hasSize(2);
+    }
+
+    @Test
+    public void testAddRevisionUpdatesProjectSortKey() throws Exception {
+        catalogObject.addRevision(catalogObjectRevision);
+        assertThat(catalogObject.getProjectSortKey()).isEqualTo("1projectName");
+
+        CatalogObjectRevisionEntity newRevision = newCatalogObjectRevision(now.plusHours(1));
+        newRevision.setProjectName("");
+        catalogObject.addRevision(newRevision);
+
+        assertThat(catalogObject.getProjectSortKey()).isEqualTo("0");
+    }
+
+    @Test
+    public void testProjectSortKeyGroupsEmptyProjectNamesFirst() throws Exception {
+        assertThat(CatalogObjectEntity.projectSortKey(null)).isEqualTo(CatalogObjectEntity.projectSortKey(""));
+        assertThat(CatalogObjectEntity.projectSortKey("")).isLessThan(CatalogObjectEntity.projectSortKey(" "));
+        assertThat(CatalogObjectEntity.projectSortKey("A")).isLessThan(CatalogObjectEntity.projectSortKey("B"));
+    }
+
+    @Test
+    public void testSynchronizeTags() throws Exception {
+        catalogObject.synchronizeTags(Arrays.asList("tag1", "tag2"));
+        CatalogObjectTagEntity tag1 = catalogObject.getTags().iterator().next();
+
+        catalogObject.synchronizeTags(Arrays.asList("tag1", "Tag3", "tag1"));
+
+        assertThat(catalogObject.getTags()
+                                .stream()
+                                .map(CatalogObjectTagEntity::getTag)
+                                .collect(Collectors.toList())).containsExactly("tag1", "Tag3");
+        assertThat(catalogObject.getTags().iterator().next()).isSameAs(tag1);
+        assertThat(catalogObject.getTags()
+                                .stream()
+                                .map(CatalogObjectTagEntity::getTagLower)
+                                .collect(Collectors.toList())).containsExactly("tag1", "tag3");
+    }
+
+    @Test
+    public void testSynchronizeSearchTerms() throws Exception {
+        Map<String, Integer> termWeights = new LinkedHashMap<>();
+        termWeights.put("spark", 10);
+        termWeights.put("job", 10);
+        catalogObject.synchronizeSearchTerms(termWeights);
+        CatalogObjectSearchTermEntity spark = catalogObject.getSearchTerms().iterator().next();
+
+        termWeights.remove("job");
+        termWeights.put("spark", 15);
+        termWeights.put("data", 3);
+        catalogObject.synchronizeSearchTerms(termWeights);
+
+        assertThat(catalogObject.getSearchTerms()
+                                .stream()
+                                .collect(Collectors.toMap(CatalogObjectSearchTermEntity::getTerm,
+                                                          CatalogObjectSearchTermEntity::getWeight))).isEqualTo(termWeights);
+        assertThat(catalogObject.getSearchTerms().iterator().next()).isSameAs(spark);
+        assertThat(spark.getWeight()).isEqualTo(15);
+    }
+
+    @Test
+    public void testSynchronizeNameGrams() throws Exception {
+        catalogObject.setId(new CatalogObjectEntity.CatalogObjectEntityKey(1L, "Spark"));
+        catalogObject.synchronizeNameGrams("Big Data");
+        CatalogObjectNameGramEntity spa = catalogObject.getNameGrams().iterator().next();
+
+        catalogObject.synchronizeNameGrams("Data");
+
+        assertThat(catalogObject.getNameGrams()
+                                .stream()
+                                .map(gram -> gram.getField() + ":" + gram.getGram())
+                                .collect(Collectors.toList())).containsExactly("NAME:spa",
+                                                                               "NAME:par",
+                                                                               "NAME:ark",
+                                                                               "PROJECT_NAME:dat",
+                                                                               "PROJECT_NAME:ata");
+        assertThat(catalogObject.getNameGrams().iterator().next()).isSameAs(spa);
+    }
+
+    @Test
+    public void testTrigrams() throws Exception {
+        assertThat(CatalogObjectNameGramEntity.trigrams("Data")).containsExactly("dat", "ata").inOrder();
+        assertThat(CatalogObjectNameGramEntity.trigrams("ab")).containsExactly("ab");
+        assertThat(CatalogObjectNameGramEntity.trigrams(null)).isEmpty();
     }
 
     @Test
@@ -104,8 +201,10 @@ public class CatalogObjectEntityTest {
                                                "commit message",
                                                "username",
                                                time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                                               null,
                                                catalogObject,
                                                Collections.emptyList(),
-                                               new byte[0]);
+                                               null,
+                                               new LinkedHashSet<>());
     }
 }
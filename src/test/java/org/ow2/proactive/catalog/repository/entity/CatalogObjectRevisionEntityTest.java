@@ -46,6 +46,21 @@ public class CatalogObjectRevisionEntityTest {
         assertThat(catalogObjectRevision.getKeyValueMetadataList()).hasSize(2);
     }
 
+    @Test
+    public void testAddDependency() {
+        CatalogObjectRevisionEntity catalogObjectRevision = new CatalogObjectRevisionEntity();
+
+        catalogObjectRevision.addDependency("bucket", "object", "latest");
+        catalogObjectRevision.addDependency("bucket", "object", "latest");
+        catalogObjectRevision.addDependency("bucket", "object", "1400343");
+
+        assertThat(catalogObjectRevision.getDependencies()).hasSize(2);
+        assertThat(catalogObjectRevision.getDependencies()
+                                        .iterator()
+                                        .next()
+                                        .getSourceRevision()).isSameAs(catalogObjectRevision);
+    }
+
     private CatalogObjectRevisionEntity createCatalogObjectRevision() {
         KeyValueLabelMetadataEntity variableMock = Mockito.mock(KeyValueLabelMetadataEntity.class);
 
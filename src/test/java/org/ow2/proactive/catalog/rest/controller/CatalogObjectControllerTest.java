@@ -27,6 +27,7 @@ package org.ow2.proactive.catalog.rest.controller;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -52,17 +53,22 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadataPage;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.service.*;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
+import org.ow2.proactive.catalog.util.CatalogObjectCursor;
+import org.ow2.proactive.catalog.util.ConditionalRequestHelper;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
 
 
 /**
@@ -133,6 +139,7 @@ public class CatalogObjectControllerTest {
                                      Optional.empty(),
                                      Optional.empty(),
                                      Optional.of(nameList),
+                                     Optional.empty(),
                                      0,
                                      Integer.MAX_VALUE,
                                      response);
@@ -241,6 +248,7 @@ public class CatalogObjectControllerTest {
                                      Optional.empty(),
                                      Optional.empty(),
                                      Optional.of(nameList),
+                                     Optional.empty(),
                                      0,
                                      Integer.MAX_VALUE,
                                      response);
@@ -297,34 +305,104 @@ public class CatalogObjectControllerTest {
         when(response.getOutputStream()).thenReturn(sos);
         BucketEntity bucket = mock(BucketEntity.class);
         when(bucketRepository.findOneByBucketName("bucket-name")).thenReturn(bucket);
-        catalogObjectController.list("",
-                                     "bucket-name",
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     Optional.empty(),
-                                     0,
-                                     Integer.MAX_VALUE,
-                                     response);
-        verify(catalogObjectService, times(1)).listCatalogObjects(anyList(),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Optional.class),
-                                                                  any(Integer.class),
-                                                                  any(Integer.class));
+        when(catalogObjectService.listCatalogObjectsPage(anyList(),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Optional.class),
+                                                         any(Integer.class),
+                                                         any(Integer.class))).thenReturn(new CatalogObjectMetadataPage(Collections.emptyList(),
+                                                                                                                       null));
+        ResponseEntity<List<CatalogObjectMetadata>> responseEntity = catalogObjectController.list("",
+                                                                                                  "bucket-name",
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  0,
+                                                                                                  Integer.MAX_VALUE,
+                                                                                                  response);
+        verify(catalogObjectService, times(1)).listCatalogObjectsPage(anyList(),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Optional.class),
+                                                                      any(Integer.class),
+                                                                      any(Integer.class));
+        assertThat(responseEntity.getHeaders()
+                                 .containsKey(CatalogObjectController.CONTINUATION_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    public void testListWithContinuationToken() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        CatalogObjectCursor after = new CatalogObjectCursor("project", 1L, "object-1");
+        CatalogObjectCursor next = new CatalogObjectCursor("project", 1L, "object-2");
+        CatalogObjectMetadata metadata = new CatalogObjectMetadata("bucket-name",
+                                                                   "object-2",
+                                                                   "project",
+                                                                   "",
+                                                                   "workflow",
+                                                                   "application/xml",
+                                                                   0L,
+                                                                   "",
+                                                                   "user",
+                                                                   Collections.emptyList(),
+                                                                   ".xml");
+        when(catalogObjectService.listCatalogObjectsPage(Collections.singletonList("bucket-name"),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.empty(),
+                                                         Optional.of(after),
+                                                         0,
+                                                         1)).thenReturn(new CatalogObjectMetadataPage(Collections.singletonList(metadata),
+                                                                                                      next));
+        ResponseEntity<List<CatalogObjectMetadata>> responseEntity = catalogObjectController.list("",
+                                                                                                  "bucket-name",
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.empty(),
+                                                                                                  Optional.of(after.toToken()),
+                                                                                                  0,
+                                                                                                  1,
+                                                                                                  response);
+        assertThat(responseEntity.getBody()).hasSize(1);
+        assertThat(responseEntity.getHeaders()
+                                 .getFirst(CatalogObjectController.CONTINUATION_TOKEN_HEADER)).isEqualTo(next.toToken());
     }
 
     @Test
@@ -345,15 +423,39 @@ public class CatalogObjectControllerTest {
 
         when(restApiAccessService.isAPublicBucket(anyString())).thenReturn(true);
 
-        when(catalogObjectService.getCatalogRawObject(anyString(), anyString())).thenReturn(rawObject);
+        when(catalogObjectService.getCatalogRawObject(anyString(), anyString(), anyBoolean())).thenReturn(rawObject);
         when(rawObjectResponseCreator.createRawObjectResponse(rawObject)).thenReturn(responseEntity);
-        ResponseEntity responseEntityFromController = catalogObjectController.getRaw("", "bucket-name", "name");
-        verify(catalogObjectService, times(1)).getCatalogRawObject(anyString(), anyString());
+        ResponseEntity responseEntityFromController = catalogObjectController.getRaw("",
+                                                                                     "bucket-name",
+                                                                                     "name",
+                                                                                     null,
+                                                                                     mock(ServletWebRequest.class));
+        verify(catalogObjectService, times(1)).getCatalogRawObject(anyString(), anyString(), anyBoolean());
         verify(rawObjectResponseCreator, times(1)).createRawObjectResponse(rawObject);
         assertThat(responseEntityFromController).isNotNull();
         assertThat(responseEntityFromController).isEqualTo(responseEntity);
     }
 
+    @Test
+    public void testGetRawNotModified() throws Exception {
+        CatalogObjectVersion version = new CatalogObjectVersion(1400343L, "object", "application/xml");
+        ServletWebRequest webRequest = mock(ServletWebRequest.class);
+        when(webRequest.getResponse()).thenReturn(mock(HttpServletResponse.class));
+        when(webRequest.checkNotModified(ConditionalRequestHelper.getRawObjectETag(version, false))).thenReturn(true);
+
+        when(restApiAccessService.isAPublicBucket(anyString())).thenReturn(true);
+        when(catalogObjectService.getCatalogObjectVersion("bucket-name", "name")).thenReturn(version);
+
+        ResponseEntity responseEntityFromController = catalogObjectController.getRaw("",
+                                                                                     "bucket-name",
+                                                                                     "name",
+                                                                                     null,
+                                                                                     webRequest);
+        assertThat(responseEntityFromController).isNull();
+        verify(catalogObjectService, never()).getCatalogRawObject(anyString(), anyString(), anyBoolean());
+        verify(rawObjectResponseCreator, never()).createRawObjectResponse(any(CatalogRawObject.class));
+    }
+
     @Test
     public void testDelete() throws Exception {
         CatalogObjectMetadata mock = new CatalogObjectMetadata("bucket-name",
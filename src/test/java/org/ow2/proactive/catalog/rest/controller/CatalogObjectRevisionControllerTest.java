@@ -26,8 +26,10 @@
 package org.ow2.proactive.catalog.rest.controller;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,6 +46,7 @@ import org.ow2.proactive.catalog.service.CatalogObjectService;
 import org.ow2.proactive.catalog.service.RestApiAccessService;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
 
 
 /**
@@ -94,13 +97,19 @@ public class CatalogObjectRevisionControllerTest {
 
         when(catalogObjectService.getCatalogObjectRevisionRaw(anyString(),
                                                               anyString(),
-                                                              anyLong())).thenReturn(rawObject);
+                                                              anyLong(),
+                                                              anyBoolean())).thenReturn(rawObject);
         when(rawObjectResponseCreator.createRawObjectResponse(rawObject)).thenReturn(responseEntity);
         ResponseEntity responseEntityFromController = catalogObjectRevisionController.getRaw("",
                                                                                              BUCKET_ID,
                                                                                              "name",
-                                                                                             System.currentTimeMillis());
-        verify(catalogObjectService, times(1)).getCatalogObjectRevisionRaw(anyString(), anyString(), anyLong());
+                                                                                             System.currentTimeMillis(),
+                                                                                             null,
+                                                                                             mock(ServletWebRequest.class));
+        verify(catalogObjectService, times(1)).getCatalogObjectRevisionRaw(anyString(),
+                                                                           anyString(),
+                                                                           anyLong(),
+                                                                           anyBoolean());
         assertThat(responseEntityFromController).isNotNull();
         assertThat(responseEntityFromController).isEqualTo(responseEntity);
     }
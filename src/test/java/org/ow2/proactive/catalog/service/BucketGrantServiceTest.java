@@ -69,6 +69,9 @@ public class BucketGrantServiceTest {
     @Mock
     private CatalogObjectGrantService catalogObjectGrantService;
 
+    @Mock
+    private GrantRightsCache grantRightsCache;
+
     private final String DUMMY_USERNAME = "dummyUser";
 
     private final String DUMMY_TENANT = "dummyTenant";
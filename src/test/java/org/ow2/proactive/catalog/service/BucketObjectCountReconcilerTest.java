@@ -0,0 +1,77 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.BucketRepository;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class BucketObjectCountReconcilerTest {
+
+    @InjectMocks
+    private BucketObjectCountReconciler bucketObjectCountReconciler;
+
+    @Mock
+    private BucketRepository bucketRepository;
+
+    @Test
+    public void testReconcileObjectCounts() {
+        when(bucketRepository.countObjectsByBucketId()).thenReturn(Arrays.asList(new Object[] { 1L, 3L },
+                                                                                 new Object[] { 2L, 5L }));
+        when(bucketRepository.findObjectCounts()).thenReturn(Arrays.asList(new Object[] { 1L, 3 },
+                                                                           new Object[] { 2L, -1 },
+                                                                           new Object[] { 3L, 2 }));
+
+        bucketObjectCountReconciler.reconcileObjectCounts();
+
+        verify(bucketRepository, never()).compareAndSetObjectCount(1L, 3, 3);
+        verify(bucketRepository).compareAndSetObjectCount(2L, -1, 5);
+        verify(bucketRepository).compareAndSetObjectCount(3L, 2, 0);
+    }
+
+    @Test
+    public void testReconcileObjectCountsWithoutDrift() {
+        when(bucketRepository.countObjectsByBucketId()).thenReturn(Arrays.<Object[]> asList(new Object[] { 1L, 2L }));
+        when(bucketRepository.findObjectCounts()).thenReturn(Arrays.<Object[]> asList(new Object[] { 1L, 2 }));
+
+        bucketObjectCountReconciler.reconcileObjectCounts();
+
+        verify(bucketRepository, never()).compareAndSetObjectCount(anyLong(), anyInt(), anyInt());
+    }
+}
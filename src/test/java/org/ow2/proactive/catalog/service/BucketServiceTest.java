@@ -83,6 +83,12 @@ public class BucketServiceTest {
     @Mock
     private BucketGrantService bucketGrantService;
 
+    @Mock
+    private GrantRightsCache grantRightsCache;
+
+    @Mock
+    private BucketDescriptorCache bucketDescriptorCache;
+
     @Test
     public void testThatEmptyListIsReturnedIfListAndKindAreNull() {
         assertThat(bucketService.listBuckets((List<String>) null,
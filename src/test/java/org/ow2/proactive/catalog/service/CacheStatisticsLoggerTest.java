@@ -0,0 +1,79 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheStatisticsLoggerTest {
+
+    @InjectMocks
+    private CacheStatisticsLogger cacheStatisticsLogger;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private SecondLevelCacheStatistics bucketStatistics;
+
+    @Mock
+    private SecondLevelCacheStatistics grantStatistics;
+
+    @Test
+    public void testLogCacheStatisticsReadsEachRegion() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] { "bucket", "bucket-grant" });
+        when(statistics.getSecondLevelCacheStatistics("bucket")).thenReturn(bucketStatistics);
+        when(statistics.getSecondLevelCacheStatistics("bucket-grant")).thenReturn(grantStatistics);
+
+        cacheStatisticsLogger.logCacheStatistics();
+
+        verify(bucketStatistics).getHitCount();
+        verify(bucketStatistics).getMissCount();
+        verify(grantStatistics).getHitCount();
+        verify(statistics).getQueryCacheHitCount();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class CatalogObjectDictionaryTest {
+
+    @InjectMocks
+    private CatalogObjectDictionary catalogObjectDictionary;
+
+    @Mock
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Before
+    public void setUp() {
+        catalogObjectDictionary.kindSeparator = "/";
+        when(catalogObjectRepository.countObjectsByKind()).thenReturn(Arrays.asList(new Object[] { "workflow/pca",
+                                                                                                   2L },
+                                                                                    new Object[] { "script", 1L }));
+        when(catalogObjectRepository.countObjectsByContentType()).thenReturn(Collections.singletonList(new Object[] { "application/xml",
+                                                                                                                      3L }));
+        when(catalogObjectRepository.countObjectsByTag()).thenReturn(Collections.singletonList(new Object[] { "tag",
+                                                                                                              1L }));
+        catalogObjectDictionary.rebuild();
+    }
+
+    @Test
+    public void testRebuild() {
+        assertThat(catalogObjectDictionary.isReady()).isTrue();
+        assertThat(catalogObjectDictionary.getKinds()).containsExactly("script", "workflow", "workflow/pca").inOrder();
+        assertThat(catalogObjectDictionary.getContentTypes()).containsExactly("application/xml");
+        assertThat(catalogObjectDictionary.getTags()).containsExactly("tag");
+    }
+
+    @Test
+    public void testValueRemovedWithItsLastObject() {
+        catalogObjectDictionary.removeObject("workflow/pca", "application/xml", Collections.singletonList("tag"));
+        assertThat(catalogObjectDictionary.getKinds()).containsExactly("script", "workflow", "workflow/pca").inOrder();
+        assertThat(catalogObjectDictionary.getTags()).isEmpty();
+
+        catalogObjectDictionary.removeObject("workflow/pca", "application/xml", Collections.emptyList());
+        assertThat(catalogObjectDictionary.getKinds()).containsExactly("script");
+        assertThat(catalogObjectDictionary.getContentTypes()).containsExactly("application/xml");
+    }
+
+    @Test
+    public void testAddAndReplace() {
+        catalogObjectDictionary.addObject("rule", "text/plain");
+        catalogObjectDictionary.replaceTags(Collections.singletonList("tag"), Arrays.asList("tag", "other"));
+        assertThat(catalogObjectDictionary.getKinds()).contains("rule");
+        assertThat(catalogObjectDictionary.getContentTypes()).containsExactly("application/xml", "text/plain");
+        assertThat(catalogObjectDictionary.getTags()).containsExactly("other", "tag");
+
+        catalogObjectDictionary.replaceKindAndContentType("script", "rule", "application/xml", "text/plain");
+        assertThat(catalogObjectDictionary.getKinds()).containsExactly("rule", "workflow", "workflow/pca").inOrder();
+    }
+
+    @Test
+    public void testClear() {
+        catalogObjectDictionary.clear();
+        assertThat(catalogObjectDictionary.getKinds()).isEmpty();
+        assertThat(catalogObjectDictionary.getContentTypes()).isEmpty();
+        assertThat(catalogObjectDictionary.getTags()).isEmpty();
+    }
+}
@@ -66,6 +66,9 @@ public class CatalogObjectGrantServiceTest {
     @Mock
     private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
 
+    @Mock
+    private GrantRightsCache grantRightsCache;
+
     private final String DUMMY_USERNAME = "dummyUser";
 
     private final String DUMMY_CURRENT_USERNAME = "dummyAdmin";
@@ -27,9 +27,12 @@ package org.ow2.proactive.catalog.service;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,13 +51,19 @@ import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
 import org.ow2.proactive.catalog.dto.DependsOnCatalogObject;
 import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectDependencyRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectDependencyEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.service.exception.*;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
+import org.ow2.proactive.catalog.util.ArchiveManagerHelper.FileNameAndContent;
+import org.ow2.proactive.catalog.util.SearchTermExtractor;
 import org.ow2.proactive.catalog.util.SeparatorUtility;
 import org.ow2.proactive.catalog.util.name.validator.KindAndContentTypeValidator;
 import org.ow2.proactive.catalog.util.name.validator.ObjectNameValidator;
@@ -108,6 +117,9 @@ public class CatalogObjectServiceTest {
     @Mock
     private WorkflowInfoAdder workflowInfoAdder;
 
+    @Mock
+    private RevisionContentService revisionContentService;
+
     @Mock
     private KindAndContentTypeValidator kindAndContentTypeValidator;
 
@@ -120,6 +132,18 @@ public class CatalogObjectServiceTest {
     @Mock
     private SeparatorUtility separatorUtility;
 
+    @Mock
+    private SearchTermExtractor searchTermExtractor;
+
+    @Mock
+    private CatalogObjectDictionary catalogObjectDictionary;
+
+    @Mock
+    private CatalogObjectDependencyRepository catalogObjectDependencyRepository;
+
+    @Mock
+    private ArchiveManagerHelper archiveManager;
+
     @Test(expected = BucketNotFoundException.class)
     public void testCreateCatalogObjectWithInvalidBucket() {
         when(objectNameValidator.isValid(anyString())).thenReturn(true);
@@ -158,6 +182,15 @@ public class CatalogObjectServiceTest {
         assertThat(storedKinds).isEqualTo(returnedKinds);
     }
 
+    @Test
+    public void testGetKindsFromDictionary() {
+        TreeSet<String> dictionaryKinds = new TreeSet<>(Arrays.asList("a", "a/b"));
+        when(catalogObjectDictionary.isReady()).thenReturn(true);
+        when(catalogObjectDictionary.getKinds()).thenReturn(dictionaryKinds);
+        assertThat(catalogObjectService.getKinds()).isEqualTo(dictionaryKinds);
+        verify(catalogObjectRepository, never()).findAllKinds();
+    }
+
     @Test
     public void testGetContentTypes() {
         TreeSet<String> storedContentTypes = new TreeSet<>();
@@ -222,6 +255,41 @@ public class CatalogObjectServiceTest {
         assertThat(catalogObject.getMetadataList()).hasSize(1);
     }
 
+    @Test
+    public void testCreateCatalogObjectsWritesObjectsByBatch() {
+        BucketEntity bucketEntity = new BucketEntity("bucket", "toto");
+        catalogObjectService.importBatchSize = 2;
+        when(archiveManager.extractZIP(any())).thenReturn(Arrays.asList(newFileNameAndContent("object1"),
+                                                                        newFileNameAndContent("object2"),
+                                                                        newFileNameAndContent("object3")));
+        when(objectNameValidator.isValid(anyString())).thenReturn(true);
+        when(kindAndContentTypeValidator.isValid(anyString())).thenReturn(true);
+        when(tagsValidator.isValid(anyString())).thenReturn(true);
+        when(bucketRepository.findOneByBucketName(anyString())).thenReturn(bucketEntity);
+        when(workflowInfoAdder.addGenericInformationJobNameToRawObjectIfWorkflow(any(),
+                                                                                 any(),
+                                                                                 any(),
+                                                                                 any())).thenReturn(new byte[] {});
+        when(workflowInfoAdder.addAttributeToRawObjectIfWorkflow(any(), any(), any(), any())).thenReturn(new byte[] {});
+        when(catalogObjectRevisionRepository.save(anyCollectionOf(CatalogObjectRevisionEntity.class))).thenAnswer(invocation -> new ArrayList<>((Collection) invocation.getArguments()[0]));
+
+        List<CatalogObjectMetadata> catalogObjects = catalogObjectService.createCatalogObjects("bucket",
+                                                                                               PROJECT_NAME,
+                                                                                               TAGS,
+                                                                                               OBJECT,
+                                                                                               COMMIT_MESSAGE,
+                                                                                               AuthenticatedUser.EMPTY,
+                                                                                               new byte[0]);
+
+        assertThat(catalogObjects).hasSize(3);
+        assertThat(catalogObjects.get(2).getName()).isEqualTo("object3");
+        verify(catalogObjectRepository, times(2)).findByBucketIdAndNameIn(any(), anyCollectionOf(String.class));
+        verify(revisionContentService, times(2)).createContents(anyMapOf(CatalogObjectRevisionEntity.class,
+                                                                         byte[].class));
+        verify(revisionContentService, times(0)).createContent(any(), anyString(), any());
+        verify(catalogObjectRevisionRepository, times(2)).flush();
+    }
+
     @Test(expected = WrongParametersException.class)
     public void testUpdateObjectMetadataWithoutGivenParameters() {
         long now = System.currentTimeMillis();
@@ -489,44 +557,36 @@ public class CatalogObjectServiceTest {
 
         long commitTime = 1L;
         String revisionCommitInString = String.format("%d", commitTime);
-        long bucketId = 2L;
         String dependency1Name = "dep1Name";
         String dependency1 = sep.getConcatWithSeparator(BUCKET, dependency1Name);
         String dependency2 = sep.getConcatWithSeparator(BUCKET, "dep2");
         String kind = "kind";
-        List<String> dependencies = Arrays.asList(dependency1, dependency2);
 
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = CatalogObjectRevisionEntity.builder()
                                                                                              .commitTime(commitTime)
                                                                                              .build();
-        CatalogObjectRevisionEntity objectDependency1 = CatalogObjectRevisionEntity.builder()
-                                                                                   .catalogObject(CatalogObjectEntity.builder()
-                                                                                                                     .bucket(new BucketEntity(BUCKET,
-                                                                                                                                              "owner"))
-                                                                                                                     .kind(kind)
-                                                                                                                     .kindLower(kind)
-                                                                                                                     .id(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId,
-                                                                                                                                                                        dependency1Name))
-                                                                                                                     .nameLower(dependency1Name)
-                                                                                                                     .build())
-                                                                                   .build();
         when(catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(Collections.singletonList(BUCKET),
                                                                                     OBJECT)).thenReturn(catalogObjectRevisionEntity);
-        when(catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(Collections.singletonList(BUCKET),
-                                                                                    dependency1Name)).thenReturn(objectDependency1);
-        when(catalogObjectRevisionRepository.findDependsOnCatalogObjectNamesFromKeyValueMetadata(BUCKET,
-                                                                                                 OBJECT,
-                                                                                                 commitTime)).thenReturn(dependencies);
-        when(catalogObjectRevisionRepository.findRevisionOfDependsOnCatalogObjectFromKeyLabelMetadata(BUCKET,
-                                                                                                      OBJECT,
-                                                                                                      commitTime,
-                                                                                                      dependency1)).thenReturn(WorkflowParser.LATEST_VERSION);
-        when(catalogObjectRevisionRepository.findRevisionOfDependsOnCatalogObjectFromKeyLabelMetadata(BUCKET,
-                                                                                                      OBJECT,
-                                                                                                      commitTime,
-                                                                                                      dependency2)).thenReturn(revisionCommitInString);
-        when(catalogObjectRevisionRepository.findCalledByCatalogObjectsFromKeyValueMetadata(sep.getConcatWithSeparator(BUCKET,
-                                                                                                                       OBJECT))).thenReturn(Collections.singletonList(objectDependency1));
+        when(catalogObjectDependencyRepository.findDependencies(BUCKET,
+                                                                OBJECT,
+                                                                commitTime)).thenReturn(Arrays.asList(new CatalogObjectDependencyEntity(catalogObjectRevisionEntity,
+                                                                                                                                        BUCKET,
+                                                                                                                                        dependency1Name,
+                                                                                                                                        WorkflowParser.LATEST_VERSION),
+                                                                                                      new CatalogObjectDependencyEntity(catalogObjectRevisionEntity,
+                                                                                                                                        BUCKET,
+                                                                                                                                        "dep2",
+                                                                                                                                        revisionCommitInString)));
+        when(catalogObjectRepository.findKinds(anyCollectionOf(String.class),
+                                               anyCollectionOf(String.class))).thenReturn(Collections.singletonList(new Object[] { BUCKET,
+                                                                                                                                  dependency1Name,
+                                                                                                                                  kind }));
+        when(catalogObjectRevisionRepository.findRevisionCommitTimes(anyCollectionOf(String.class),
+                                                                     anyCollectionOf(String.class),
+                                                                     anyCollectionOf(Long.class))).thenReturn(Collections.emptyList());
+        when(catalogObjectDependencyRepository.findDependentObjectNames(BUCKET,
+                                                                        OBJECT)).thenReturn(Collections.singletonList(new Object[] { BUCKET,
+                                                                                                                                     dependency1Name }));
 
         CatalogObjectDependencies catalogObjectDependencies = catalogObjectService.getObjectDependencies(BUCKET,
                                                                                                          OBJECT);
@@ -540,7 +600,8 @@ public class CatalogObjectServiceTest {
                                                                                                             false));
         assertThat(catalogObjectDependencies.getCalledByList()).containsExactly(sep.getConcatWithSeparator(BUCKET,
                                                                                                            dependency1Name));
-
+        verify(catalogObjectRepository, times(1)).findKinds(anyCollectionOf(String.class),
+                                                            anyCollectionOf(String.class));
     }
 
     @Test
@@ -708,4 +769,12 @@ public class CatalogObjectServiceTest {
         assertThat(catalogObjectRevisionEntity.getKeyValueMetadataList()).isNotEmpty();
         assertThat(catalogObjectRevisionEntity.getKeyValueMetadataList()).hasSize(1);
     }
+
+    private FileNameAndContent newFileNameAndContent(String name) {
+        FileNameAndContent file = new FileNameAndContent();
+        file.setName(name);
+        file.setFileNameWithExtension(name + ".xml");
+        file.setContent("<job/>".getBytes());
+        return file;
+    }
 }
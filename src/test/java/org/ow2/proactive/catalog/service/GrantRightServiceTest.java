@@ -30,6 +30,7 @@ import static org.ow2.proactive.catalog.util.AccessType.admin;
 import static org.ow2.proactive.catalog.util.AccessType.noAccess;
 import static org.ow2.proactive.catalog.util.AccessType.read;
 import static org.ow2.proactive.catalog.util.AccessType.write;
+import static org.ow2.proactive.catalog.util.GrantHelper.GROUP_GRANTEE_TYPE;
 import static org.ow2.proactive.catalog.util.GrantHelper.USER_GRANTEE_TYPE;
 
 import java.util.ArrayList;
@@ -161,6 +162,55 @@ public class GrantRightServiceTest {
         assertEquals(2, numberOfObjectsInBucketNoAccess);
     }
 
+    @Test
+    public void testGetTheNumberOfAccessibleObjectsInTheBucketWithGrantIndex() {
+        List<CatalogObjectGrantMetadata> objectGrants = new LinkedList<>();
+        objectGrants.add(createObjectGrantMetadata("test-write", "object1", noAccess.name()));
+        objectGrants.add(createObjectGrantMetadata("test-write", "object2", noAccess.name()));
+        objectGrants.add(createObjectGrantMetadata("test-write", "object3", read.name()));
+        objectGrants.add(createObjectGrantMetadata("test-noaccess", "object1", read.name()));
+        objectGrants.add(createObjectGrantMetadata("test-noaccess", "object2", write.name()));
+        objectGrants.add(createObjectGrantMetadata("test-noaccess", "object3", noAccess.name()));
+        List<BucketGrantMetadata> bucketGrants = new LinkedList<>();
+        bucketGrants.add(createBucketGrantMetadata(username, write.toString(), "test-write"));
+        bucketGrants.add(createBucketGrantMetadata(username, noAccess.toString(), "test-noaccess"));
+        UserGrantIndex userGrantIndex = new UserGrantIndex(bucketGrants, objectGrants);
+
+        BucketMetadata bucketWrite = new BucketMetadata("test-write", "admin-group", 4, "");
+        assertEquals(2,
+                     GrantRightsService.getNumberOfAccessibleObjectsInBucket(bucketWrite,
+                                                                             userGrantIndex.getBucketGrants("test-write"),
+                                                                             userGrantIndex));
+        BucketMetadata bucketNoAccess = new BucketMetadata("test-noaccess", "admin-group", 7, "");
+        assertEquals(2,
+                     GrantRightsService.getNumberOfAccessibleObjectsInBucket(bucketNoAccess,
+                                                                             userGrantIndex.getBucketGrants("test-noaccess"),
+                                                                             userGrantIndex));
+        BucketMetadata bucketWithoutGrant = new BucketMetadata(bucketName, "admin-group", 3, "");
+        assertEquals(0,
+                     GrantRightsService.getNumberOfAccessibleObjectsInBucket(bucketWithoutGrant,
+                                                                             userGrantIndex.getBucketGrants(bucketName),
+                                                                             userGrantIndex));
+    }
+
+    @Test
+    public void testGrantIndexKeepsTheHighestPriorityGrantOfEachObject() {
+        List<CatalogObjectGrantMetadata> objectGrants = new LinkedList<>();
+        objectGrants.add(createGroupObjectGrantMetadata("object1", read.name(), 2));
+        objectGrants.add(createGroupObjectGrantMetadata("object1", noAccess.name(), 6));
+        objectGrants.add(createGroupObjectGrantMetadata("object2", noAccess.name(), 1));
+        objectGrants.add(createGroupObjectGrantMetadata("object2", write.name(), 4));
+        objectGrants.add(createGroupObjectGrantMetadata("object3", read.name(), 3));
+        UserGrantIndex userGrantIndex = new UserGrantIndex(new LinkedList<>(), objectGrants);
+
+        assertEquals(2, userGrantIndex.countAccessibleObjects(bucketName, 0));
+        assertEquals(1, userGrantIndex.countInaccessibleObjects(bucketName, 0));
+        assertEquals(1, userGrantIndex.countAccessibleObjects(bucketName, 4));
+        assertEquals(1, userGrantIndex.countInaccessibleObjects(bucketName, 5));
+        assertEquals(0, userGrantIndex.countAccessibleObjects(bucketName, 7));
+        assertEquals(0, userGrantIndex.countAccessibleObjects("unknown-bucket", 0));
+    }
+
     private BucketGrantMetadata createBucketGrantMetadata(String userName, String accessType, String bucketName) {
         return new BucketGrantMetadata(userName, "admin", username, accessType, 0, 1L, bucketName);
     }
@@ -181,4 +231,17 @@ public class GrantRightServiceTest {
                                               0,
                                               bucketName);
     }
+
+    private CatalogObjectGrantMetadata createGroupObjectGrantMetadata(String objectName, String accessType,
+            int priority) {
+        return new CatalogObjectGrantMetadata(GROUP_GRANTEE_TYPE,
+                                              "admin",
+                                              "group",
+                                              accessType,
+                                              priority,
+                                              null,
+                                              objectName,
+                                              0,
+                                              bucketName);
+    }
 }
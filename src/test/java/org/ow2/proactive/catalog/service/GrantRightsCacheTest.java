@@ -0,0 +1,100 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+
+import com.google.common.collect.Lists;
+
+
+public class GrantRightsCacheTest {
+
+    private GrantRightsCache grantRightsCache;
+
+    private final AuthenticatedUser user = AuthenticatedUser.builder()
+                                                            .name("user")
+                                                            .groups(Lists.newArrayList("group1", "group2"))
+                                                            .tenant("tenant")
+                                                            .build();
+
+    @Before
+    public void setUp() {
+        grantRightsCache = new GrantRightsCache();
+        grantRightsCache.maximumSize = 100;
+        grantRightsCache.expirationSeconds = 60;
+        grantRightsCache.init();
+    }
+
+    @Test
+    public void testRightsAreSharedByTheSameIdentityAndBucket() {
+        GrantRightsCache.UserBucketRights rights = get(user, "bucket");
+        AuthenticatedUser sameIdentity = AuthenticatedUser.builder()
+                                                          .name("user")
+                                                          .groups(Lists.newArrayList("group2", "group1"))
+                                                          .tenant("tenant")
+                                                          .build();
+        assertThat(get(sameIdentity, "bucket")).isSameAs(rights);
+
+        AuthenticatedUser otherGroups = AuthenticatedUser.builder()
+                                                         .name("user")
+                                                         .groups(Lists.newArrayList("group1"))
+                                                         .tenant("tenant")
+                                                         .build();
+        assertThat(get(otherGroups, "bucket")).isNotSameAs(rights);
+        assertThat(get(user, "other-bucket")).isNotSameAs(rights);
+    }
+
+    @Test
+    public void testInvalidateBucketOnlyEvictsItsEntries() {
+        GrantRightsCache.UserBucketRights rights = get(user, "bucket");
+        GrantRightsCache.UserBucketRights otherBucketRights = get(user, "other-bucket");
+
+        grantRightsCache.invalidateBucket("bucket");
+
+        assertThat(get(user, "bucket")).isNotSameAs(rights);
+        assertThat(get(user, "other-bucket")).isSameAs(otherBucketRights);
+    }
+
+    @Test
+    public void testUnknownObjectHasNoGrant() {
+        assertThat(get(user, "bucket").getObjectGrants("object")).isEmpty();
+    }
+
+    private GrantRightsCache.UserBucketRights get(AuthenticatedUser user, String bucketName) {
+        return grantRightsCache.get(user,
+                                    bucketName,
+                                    () -> new GrantRightsCache.UserBucketRights("read",
+                                                                                Optional.empty(),
+                                                                                Collections.emptyMap()));
+    }
+}
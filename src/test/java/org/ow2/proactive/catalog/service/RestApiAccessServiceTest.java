@@ -35,9 +35,9 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.ow2.proactive.catalog.dto.BucketMetadata;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.BucketDescriptor;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 
 
@@ -69,9 +69,13 @@ public class RestApiAccessServiceTest {
 
         when(authorizationService.askUserAuthorizationByBucketOwner(any(), any())).thenReturn(true);
 
-        BucketMetadata bucketMetadata = new BucketMetadata("name", BucketService.DEFAULT_BUCKET_OWNER);
+        BucketDescriptor bucketDescriptor = new BucketDescriptor(1L,
+                                                                 "name",
+                                                                 BucketService.DEFAULT_BUCKET_OWNER,
+                                                                 "",
+                                                                 true);
 
-        when(bucketService.getBucketMetadata(any())).thenReturn(bucketMetadata);
+        when(bucketService.getBucketDescriptor(any())).thenReturn(bucketDescriptor);
 
         restApiAccessService.getUserDataFromSessionidAndCheckAccess(true, "testSessionId", "test");
 
@@ -87,9 +91,13 @@ public class RestApiAccessServiceTest {
 
         when(authorizationService.askUserAuthorizationByBucketOwner(any(), any())).thenReturn(true);
 
-        BucketMetadata bucketMetadata = new BucketMetadata("name", BucketService.DEFAULT_BUCKET_OWNER);
+        BucketDescriptor bucketDescriptor = new BucketDescriptor(1L,
+                                                                 "name",
+                                                                 BucketService.DEFAULT_BUCKET_OWNER,
+                                                                 "",
+                                                                 true);
 
-        when(bucketService.getBucketMetadata(any())).thenReturn(bucketMetadata);
+        when(bucketService.getBucketDescriptor(any())).thenReturn(bucketDescriptor);
 
         restApiAccessService.getUserDataFromSessionidAndCheckAccess(true, "testSessionId", null);
 
@@ -104,11 +112,15 @@ public class RestApiAccessServiceTest {
 
         when(authorizationService.askUserAuthorizationByBucketOwner(any(), any())).thenReturn(true);
 
-        when(bucketService.getBucketMetadata("bucket-name")).thenReturn(new BucketMetadata("bucket-name", "owner"));
+        when(bucketService.getBucketDescriptor("bucket-name")).thenReturn(new BucketDescriptor(1L,
+                                                                                               "bucket-name",
+                                                                                               "owner",
+                                                                                               "",
+                                                                                               false));
 
         restApiAccessService.checkAccessBySessionIdForBucketAndThrowIfDeclined(true, "testSessionId", "bucket-name");
 
-        verify(bucketService, times(2)).getBucketMetadata("bucket-name");
+        verify(bucketService, times(2)).getBucketDescriptor("bucket-name");
 
     }
 
@@ -120,7 +132,11 @@ public class RestApiAccessServiceTest {
 
         when(authorizationService.askUserAuthorizationByBucketOwner(any(), any())).thenReturn(true);
 
-        when(bucketService.getBucketMetadata("bucket-name")).thenReturn(new BucketMetadata("bucket-name", "owner"));
+        when(bucketService.getBucketDescriptor("bucket-name")).thenReturn(new BucketDescriptor(1L,
+                                                                                               "bucket-name",
+                                                                                               "owner",
+                                                                                               "",
+                                                                                               false));
 
         restApiAccessService.checkAccessBySessionIdForBucketAndThrowIfDeclined(true, "testSessionId", "bucket-name");
 
@@ -136,7 +152,11 @@ public class RestApiAccessServiceTest {
 
         when(authorizationService.askUserAuthorizationByBucketOwner(any(), any())).thenReturn(false);
 
-        when(bucketService.getBucketMetadata("bucket-name")).thenReturn(new BucketMetadata("bucket-name", "owner"));
+        when(bucketService.getBucketDescriptor("bucket-name")).thenReturn(new BucketDescriptor(1L,
+                                                                                               "bucket-name",
+                                                                                               "owner",
+                                                                                               "",
+                                                                                               false));
 
         restApiAccessService.checkAccessBySessionIdForBucketAndThrowIfDeclined(true, "testSessionId", "bucket-name");
 
@@ -0,0 +1,93 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class RevisionContentFileStoreTest {
+
+    private static final String HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private RevisionContentFileStore revisionContentFileStore;
+
+    @Before
+    public void setUp() throws Exception {
+        revisionContentFileStore = new RevisionContentFileStore();
+        revisionContentFileStore.storageDirectory = temporaryFolder.getRoot().getAbsolutePath();
+        revisionContentFileStore.init();
+    }
+
+    @Test
+    public void testFileStoreIsDisabledWithoutDirectory() throws Exception {
+        RevisionContentFileStore disabledFileStore = new RevisionContentFileStore();
+        disabledFileStore.storageDirectory = "";
+        disabledFileStore.init();
+
+        assertThat(disabledFileStore.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void testWriteAndRead() {
+        byte[] content = "content".getBytes();
+
+        String relativePath = revisionContentFileStore.write(HASH, content);
+
+        assertThat(revisionContentFileStore.isEnabled()).isTrue();
+        assertThat(relativePath).startsWith("ed/70/" + HASH);
+        assertThat(revisionContentFileStore.read(relativePath)).isEqualTo(content);
+    }
+
+    @Test
+    public void testSameContentIsWrittenInDistinctFiles() {
+        String firstPath = revisionContentFileStore.write(HASH, "content".getBytes());
+        String secondPath = revisionContentFileStore.write(HASH, "content".getBytes());
+
+        assertThat(firstPath).isNotEqualTo(secondPath);
+    }
+
+    @Test
+    public void testDeleteOutsideTransaction() {
+        String relativePath = revisionContentFileStore.write(HASH, "content".getBytes());
+        Path file = revisionContentFileStore.resolve(relativePath);
+
+        revisionContentFileStore.deleteAfterCommit(Collections.singletonList(relativePath));
+
+        assertThat(Files.exists(file)).isFalse();
+    }
+}
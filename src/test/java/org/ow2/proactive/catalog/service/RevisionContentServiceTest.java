@@ -0,0 +1,328 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionContentRepository;
+import org.ow2.proactive.catalog.repository.LegacyRevisionRawObjectRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.LegacyRevisionRawObjectEntity;
+import org.ow2.proactive.catalog.util.codec.ContentCodecSelector;
+import org.ow2.proactive.catalog.util.codec.DeltaEncoder;
+import org.ow2.proactive.catalog.util.codec.GzipContentCodec;
+import org.ow2.proactive.catalog.util.codec.IdentityContentCodec;
+
+import com.google.common.base.Strings;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class RevisionContentServiceTest {
+
+    private static final String CONTENT_SHA256 = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+    @InjectMocks
+    private RevisionContentService revisionContentService;
+
+    @Mock
+    private CatalogObjectRevisionContentRepository catalogObjectRevisionContentRepository;
+
+    @Mock
+    private LegacyRevisionRawObjectRepository legacyRevisionRawObjectRepository;
+
+    @Mock
+    private ContentCodecSelector contentCodecSelector;
+
+    @Mock
+    private RevisionContentFileStore revisionContentFileStore;
+
+    @Spy
+    private DeltaEncoder deltaEncoder;
+
+    // contents stored by the mocked repository, by hash
+    private final Map<String, CatalogObjectRevisionContentEntity> storedContents = new HashMap<>();
+
+    @Test
+    public void testCreateContentStoresNewContent() {
+        byte[] rawObject = "content".getBytes();
+        mockContentStorage();
+        when(contentCodecSelector.getCodecForKind("workflow/standard")).thenReturn(new IdentityContentCodec());
+
+        CatalogObjectRevisionContentEntity content = revisionContentService.createContent(rawObject,
+                                                                                          "workflow/standard");
+
+        assertThat(content.getHash()).isEqualTo(CONTENT_SHA256);
+        assertThat(content.getReferenceCount()).isEqualTo(1L);
+        assertThat(content.getEncoding()).isNull();
+        assertThat(content.getRawObject()).isEqualTo(rawObject);
+    }
+
+    @Test
+    public void testCreateContentStoresCompressedContent() {
+        byte[] rawObject = Strings.repeat("<task name=\"task\"></task>", 100).getBytes();
+        mockContentStorage();
+        when(contentCodecSelector.getCodecForKind("workflow/standard")).thenReturn(new GzipContentCodec());
+        when(contentCodecSelector.getCodec(GzipContentCodec.NAME)).thenReturn(new GzipContentCodec());
+
+        CatalogObjectRevisionContentEntity content = revisionContentService.createContent(rawObject,
+                                                                                          "workflow/standard");
+
+        assertThat(content.getEncoding()).isEqualTo(GzipContentCodec.NAME);
+        assertThat(content.getRawObject().length).isLessThan(rawObject.length);
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder().content(content).build();
+        assertThat(revisionContentService.getRawObject(revision)).isEqualTo(rawObject);
+    }
+
+    @Test
+    public void testCreateContentReusesIdenticalContent() {
+        CatalogObjectRevisionContentEntity existingContent = new CatalogObjectRevisionContentEntity(CONTENT_SHA256,
+                                                                                                    "content".getBytes());
+        when(catalogObjectRevisionContentRepository.incrementReferenceCount(CONTENT_SHA256, 1L)).thenReturn(1);
+        when(catalogObjectRevisionContentRepository.findIdByHash(CONTENT_SHA256)).thenReturn(5L);
+        when(catalogObjectRevisionContentRepository.getOne(5L)).thenReturn(existingContent);
+
+        assertThat(revisionContentService.createContent("content".getBytes(), "workflow")).isSameAs(existingContent);
+        verify(catalogObjectRevisionContentRepository, never()).insertIfAbsent(any(CatalogObjectRevisionContentEntity.class));
+    }
+
+    @Test
+    public void testCreateContentReferencesContentInsertedConcurrently() {
+        CatalogObjectRevisionContentEntity concurrentContent = new CatalogObjectRevisionContentEntity(CONTENT_SHA256,
+                                                                                                      "content".getBytes());
+        when(catalogObjectRevisionContentRepository.incrementReferenceCount(CONTENT_SHA256, 1L)).thenReturn(0, 1);
+        when(catalogObjectRevisionContentRepository.insertIfAbsent(any(CatalogObjectRevisionContentEntity.class))).thenReturn(false);
+        when(catalogObjectRevisionContentRepository.findIdByHash(CONTENT_SHA256)).thenReturn(5L);
+        when(catalogObjectRevisionContentRepository.getOne(5L)).thenReturn(concurrentContent);
+        when(contentCodecSelector.getCodecForKind("workflow")).thenReturn(new IdentityContentCodec());
+
+        assertThat(revisionContentService.createContent("content".getBytes(), "workflow")).isSameAs(concurrentContent);
+    }
+
+    @Test
+    public void testCreateContentsSharesIdenticalContentsOfTheBatch() {
+        revisionContentService.dbItemsMaxSize = 1000;
+        CatalogObjectEntity catalogObject = CatalogObjectEntity.builder().kind("workflow/standard").build();
+        CatalogObjectRevisionEntity firstRevision = CatalogObjectRevisionEntity.builder()
+                                                                               .catalogObject(catalogObject)
+                                                                               .build();
+        CatalogObjectRevisionEntity secondRevision = CatalogObjectRevisionEntity.builder()
+                                                                                .catalogObject(catalogObject)
+                                                                                .build();
+        CatalogObjectRevisionEntity existingContentRevision = CatalogObjectRevisionEntity.builder()
+                                                                                         .catalogObject(catalogObject)
+                                                                                         .build();
+        Map<CatalogObjectRevisionEntity, byte[]> rawObjects = new LinkedHashMap<>();
+        rawObjects.put(firstRevision, "new content".getBytes());
+        rawObjects.put(secondRevision, "new content".getBytes());
+        rawObjects.put(existingContentRevision, "content".getBytes());
+        CatalogObjectRevisionContentEntity existingContent = new CatalogObjectRevisionContentEntity(CONTENT_SHA256,
+                                                                                                    "content".getBytes());
+        when(catalogObjectRevisionContentRepository.findIdAndHashByHashIn(any())).thenReturn(Collections.singletonList(new Object[] { 5L,
+                                                                                                                                      CONTENT_SHA256 }));
+        mockContentStorage();
+        when(catalogObjectRevisionContentRepository.getOne(5L)).thenReturn(existingContent);
+        when(contentCodecSelector.getCodecForKind("workflow/standard")).thenReturn(new IdentityContentCodec());
+
+        revisionContentService.createContents(rawObjects);
+
+        assertThat(firstRevision.getContent()).isSameAs(secondRevision.getContent());
+        assertThat(firstRevision.getContent().getReferenceCount()).isEqualTo(2L);
+        assertThat(firstRevision.getContent().getRawObject()).isEqualTo("new content".getBytes());
+        assertThat(existingContentRevision.getContent()).isSameAs(existingContent);
+        verify(catalogObjectRevisionContentRepository).incrementReferenceCounts(Collections.singletonList(5L), 1L);
+        verify(catalogObjectRevisionContentRepository).insertIfAbsent(any(CatalogObjectRevisionContentEntity.class));
+    }
+
+    @Test
+    public void testReleaseContentsDecrementsOncePerReference() {
+        CatalogObjectRevisionContentEntity content = new CatalogObjectRevisionContentEntity(CONTENT_SHA256,
+                                                                                            "content".getBytes());
+        content.setId(5L);
+        List<CatalogObjectRevisionEntity> revisions = Arrays.asList(CatalogObjectRevisionEntity.builder()
+                                                                                               .content(content)
+                                                                                               .build(),
+                                                                    CatalogObjectRevisionEntity.builder()
+                                                                                               .content(content)
+                                                                                               .build(),
+                                                                    CatalogObjectRevisionEntity.builder().build());
+
+        revisionContentService.releaseContents(revisions);
+
+        verify(catalogObjectRevisionContentRepository).decrementReferenceCount(5L, 2L);
+    }
+
+    @Test
+    public void testDeleteUnreferencedContentsFollowsDeltaBases() {
+        revisionContentService.dbItemsMaxSize = 1000;
+        when(catalogObjectRevisionContentRepository.findUnreferencedContentIdsByIdIn(Arrays.asList(5L,
+                                                                                                  6L))).thenReturn(Collections.singletonList(6L));
+        when(catalogObjectRevisionContentRepository.findBaseContentIdsByIdIn(Collections.singletonList(6L))).thenReturn(Collections.singletonList(7L));
+        when(catalogObjectRevisionContentRepository.deleteUnreferencedContentsByIdIn(Collections.singletonList(6L))).thenReturn(1);
+        when(catalogObjectRevisionContentRepository.findUnreferencedContentIdsByIdIn(Collections.singletonList(7L))).thenReturn(Collections.singletonList(7L));
+        when(catalogObjectRevisionContentRepository.deleteUnreferencedContentsByIdIn(Collections.singletonList(7L))).thenReturn(1);
+
+        assertThat(revisionContentService.deleteUnreferencedContents(Arrays.asList(5L, 6L))).isEqualTo(2);
+        verify(catalogObjectRevisionContentRepository, never()).findUnreferencedContentIds();
+    }
+
+    @Test
+    public void testGetRawObjectFromContentTable() {
+        byte[] rawObject = "content".getBytes();
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder()
+                                                                          .id(1L)
+                                                                          .content(new CatalogObjectRevisionContentEntity("hash",
+                                                                                                                          rawObject))
+                                                                          .build();
+        when(contentCodecSelector.getCodec(null)).thenReturn(new IdentityContentCodec());
+
+        assertThat(revisionContentService.getRawObject(revision)).isEqualTo(rawObject);
+        verify(legacyRevisionRawObjectRepository, never()).findOne(anyLong());
+    }
+
+    @Test
+    public void testGetRawObjectFallsBackToLegacyColumn() {
+        byte[] rawObject = "legacy content".getBytes();
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder().id(2L).build();
+        when(legacyRevisionRawObjectRepository.findOne(2L)).thenReturn(new LegacyRevisionRawObjectEntity(2L,
+                                                                                                         rawObject));
+
+        assertThat(revisionContentService.getRawObject(revision)).isEqualTo(rawObject);
+    }
+
+    @Test
+    public void testGetRawObjectOfUnsavedRevisionWithoutContent() {
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder().build();
+
+        assertThat(revisionContentService.getRawObject(revision)).isNull();
+    }
+
+    @Test
+    public void testCreateContentStoresFileWhenFileStoreIsEnabled() {
+        byte[] rawObject = "content".getBytes();
+        mockContentStorage();
+        when(contentCodecSelector.getCodecForKind("script")).thenReturn(new IdentityContentCodec());
+        when(revisionContentFileStore.isEnabled()).thenReturn(true);
+        when(revisionContentFileStore.write(CONTENT_SHA256, rawObject)).thenReturn("ed/70/" + CONTENT_SHA256);
+
+        CatalogObjectRevisionContentEntity content = revisionContentService.createContent(rawObject, "script");
+
+        assertThat(content.getFilePath()).isEqualTo("ed/70/" + CONTENT_SHA256);
+        assertThat(content.getRawObject()).isNull();
+    }
+
+    @Test
+    public void testCreateContentStoresDeltaAgainstPreviousContent() {
+        enableDeltaStorage();
+        byte[] previousRawObject = Strings.repeat("<task name=\"task\"></task>\n", 100).getBytes();
+        byte[] rawObject = (new String(previousRawObject) + "<task name=\"last\"></task>\n").getBytes();
+        CatalogObjectRevisionContentEntity previousContent = new CatalogObjectRevisionContentEntity("previous",
+                                                                                                    previousRawObject);
+        previousContent.setId(5L);
+
+        CatalogObjectRevisionContentEntity content = revisionContentService.createContent(rawObject,
+                                                                                          "workflow/standard",
+                                                                                          previousContent);
+
+        assertThat(content.getBaseContent()).isSameAs(previousContent);
+        assertThat(content.getDeltaDepth()).isEqualTo(1);
+        assertThat(content.getRawObject().length).isLessThan(100);
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder().id(1L).content(content).build();
+        assertThat(revisionContentService.getRawObject(revision)).isEqualTo(rawObject);
+    }
+
+    @Test
+    public void testCreateContentStoresFullContentAfterSnapshotInterval() {
+        enableDeltaStorage();
+        byte[] previousRawObject = Strings.repeat("<task name=\"task\"></task>\n", 100).getBytes();
+        byte[] rawObject = (new String(previousRawObject) + "<task name=\"last\"></task>\n").getBytes();
+        CatalogObjectRevisionContentEntity previousContent = new CatalogObjectRevisionContentEntity("previous",
+                                                                                                    previousRawObject);
+        previousContent.setId(5L);
+        previousContent.setDeltaDepth(9);
+
+        CatalogObjectRevisionContentEntity content = revisionContentService.createContent(rawObject,
+                                                                                          "workflow/standard",
+                                                                                          previousContent);
+
+        assertThat(content.getBaseContent()).isNull();
+        assertThat(content.getRawObject()).isEqualTo(rawObject);
+    }
+
+    private void enableDeltaStorage() {
+        revisionContentService.deltaSnapshotInterval = 10;
+        revisionContentService.deltaCacheSizeMb = 1;
+        revisionContentService.init();
+        mockContentStorage();
+        when(contentCodecSelector.getCodecForKind("workflow/standard")).thenReturn(new IdentityContentCodec());
+        when(contentCodecSelector.getCodec(null)).thenReturn(new IdentityContentCodec());
+    }
+
+    private void mockContentStorage() {
+        when(catalogObjectRevisionContentRepository.insertIfAbsent(any(CatalogObjectRevisionContentEntity.class))).thenAnswer(invocation -> {
+            CatalogObjectRevisionContentEntity content = (CatalogObjectRevisionContentEntity) invocation.getArguments()[0];
+            content.setId(100L + storedContents.size());
+            return storedContents.putIfAbsent(content.getHash(), content) == null;
+        });
+        doAnswer(invocation -> {
+            CatalogObjectRevisionContentEntity content = storedContents.get(invocation.getArguments()[0]);
+            if (content == null) {
+                return 0;
+            }
+            content.setReferenceCount(content.getReferenceCount() + (Long) invocation.getArguments()[1]);
+            return 1;
+        }).when(catalogObjectRevisionContentRepository).incrementReferenceCount(anyString(), anyLong());
+        when(catalogObjectRevisionContentRepository.findIdByHash(anyString())).thenAnswer(invocation -> storedContents.get(invocation.getArguments()[0])
+                                                                                                                    .getId());
+        when(catalogObjectRevisionContentRepository.getOne(anyLong())).thenAnswer(invocation -> storedContents.values()
+                                                                                                     .stream()
+                                                                                                     .filter(content -> content.getId()
+                                                                                                                               .equals(invocation.getArguments()[0]))
+                                                                                                     .findFirst()
+                                                                                                     .orElse(null));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.data.domain.Pageable;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class RevisionRetentionServiceTest {
+
+    private static final long NOW = TimeUnit.DAYS.toMillis(100);
+
+    @InjectMocks
+    private RevisionRetentionService revisionRetentionService;
+
+    @Mock
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Mock
+    private RevisionContentService revisionContentService;
+
+    private BucketEntity bucket;
+
+    @Before
+    public void setUp() {
+        bucket = new BucketEntity("bucket", "owner");
+        bucket.setId(1L);
+        revisionRetentionService.batchSize = 100;
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsWithoutPolicy() {
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).isEmpty();
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsKeepsLastRevisions() {
+        bucket.setRetentionMaxRevisions(2);
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucket(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(revision(4L,
+                                                                                                                   "a",
+                                                                                                                   40),
+                                                                                                          revision(3L,
+                                                                                                                   "a",
+                                                                                                                   30),
+                                                                                                          revision(2L,
+                                                                                                                   "a",
+                                                                                                                   20),
+                                                                                                          revision(1L,
+                                                                                                                   "a",
+                                                                                                                   10),
+                                                                                                          revision(5L,
+                                                                                                                   "b",
+                                                                                                                   10)));
+
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsKeepsRecentRevisions() {
+        bucket.setRetentionMaxRevisions(1);
+        bucket.setRetentionMaxAgeDays(10);
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucket(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(revision(3L,
+                                                                                                                   "a",
+                                                                                                                   95),
+                                                                                                          revision(2L,
+                                                                                                                   "a",
+                                                                                                                   91),
+                                                                                                          revision(1L,
+                                                                                                                   "a",
+                                                                                                                   50)));
+
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).containsExactly(1L);
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsOnlyKeepsTheLatestRestoreTarget() {
+        bucket.setRetentionMaxRevisions(1);
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucket(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(revision(5L,
+                                                                                                                   "a",
+                                                                                                                   50),
+                                                                                                          restoredRevision(4L,
+                                                                                                                           "a",
+                                                                                                                           40,
+                                                                                                                           20),
+                                                                                                          restoredRevision(3L,
+                                                                                                                           "a",
+                                                                                                                           30,
+                                                                                                                           10),
+                                                                                                          revision(2L,
+                                                                                                                   "a",
+                                                                                                                   20),
+                                                                                                          revision(1L,
+                                                                                                                   "a",
+                                                                                                                   10)));
+
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).containsExactly(4L, 3L, 1L);
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsOnlyKeepsTheRevisionRestoredFrom() {
+        bucket.setRetentionMaxRevisions(1);
+        // two revisions committed within the same second, only the first one was restored
+        long restoredCommitTime = TimeUnit.DAYS.toMillis(10);
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucket(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(new Object[] { 3L,
+                                                                                                                         "a",
+                                                                                                                         TimeUnit.DAYS.toMillis(40),
+                                                                                                                         restoredCommitTime },
+                                                                                                          new Object[] { 2L,
+                                                                                                                         "a",
+                                                                                                                         restoredCommitTime +
+                                                                                                                              500,
+                                                                                                                         null },
+                                                                                                          new Object[] { 1L,
+                                                                                                                         "a",
+                                                                                                                         restoredCommitTime,
+                                                                                                                         null }));
+
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).containsExactly(2L);
+    }
+
+    @Test
+    public void testFindExpiredRevisionIdsByPages() {
+        revisionRetentionService.batchSize = 2;
+        bucket.setRetentionMaxRevisions(1);
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucket(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(revision(3L,
+                                                                                                                                            "a",
+                                                                                                                                            30),
+                                                                                                                                   revision(2L,
+                                                                                                                                            "a",
+                                                                                                                                            20)));
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucketAfter(eq(1L),
+                                                                                eq("a"),
+                                                                                eq(TimeUnit.DAYS.toMillis(20)),
+                                                                                any(Pageable.class))).thenReturn(Arrays.asList(revision(1L,
+                                                                                                                                        "a",
+                                                                                                                                        10),
+                                                                                                                               revision(5L,
+                                                                                                                                        "b",
+                                                                                                                                        10)));
+        when(catalogObjectRevisionRepository.findRevisionSummariesInBucketAfter(eq(1L),
+                                                                                eq("b"),
+                                                                                eq(TimeUnit.DAYS.toMillis(10)),
+                                                                                any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertThat(revisionRetentionService.findExpiredRevisionIds(bucket, NOW)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void testDeleteRevisionsReleasesContents() {
+        List<Long> revisionIds = Collections.singletonList(1L);
+        List<CatalogObjectRevisionEntity> revisions = Collections.singletonList(new CatalogObjectRevisionEntity());
+        when(catalogObjectRevisionRepository.findAll(revisionIds)).thenReturn(revisions);
+
+        assertThat(revisionRetentionService.deleteRevisions(revisionIds)).isEqualTo(1);
+
+        verify(revisionContentService).releaseContents(revisions);
+        verify(catalogObjectRevisionRepository).delete(revisions);
+    }
+
+    private Object[] revision(Long id, String name, int commitDay) {
+        return new Object[] { id, name, TimeUnit.DAYS.toMillis(commitDay), null };
+    }
+
+    private Object[] restoredRevision(Long id, String name, int commitDay, int restoredFromCommitDay) {
+        return new Object[] { id, name, TimeUnit.DAYS.toMillis(commitDay), TimeUnit.DAYS.toMillis(restoredFromCommitDay) };
+    }
+}
@@ -27,11 +27,20 @@ package org.ow2.proactive.catalog.service;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +52,7 @@ import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
 import org.ow2.proactive.microservices.common.exception.NotAuthenticatedException;
 import org.ow2.proactive_grid_cloud_portal.common.SchedulerRestInterface;
 import org.ow2.proactive_grid_cloud_portal.scheduler.client.SchedulerRestClient;
+import org.ow2.proactive_grid_cloud_portal.scheduler.exception.NotConnectedRestException;
 
 
 /**
@@ -72,6 +82,15 @@ public class SchedulerUserAuthenticationServiceTest {
         when(schedulerRestInterfaceMock.getUserDataFromSessionId(any())).thenReturn(userData);
         when(schedulerRestClientMock.getScheduler()).thenReturn(schedulerRestInterfaceMock);
         when(schedulerRestClientCreator.getNewClientInitializedWithSchedulerRestUrl()).thenReturn(schedulerRestClientMock);
+        schedulerUserAuthenticationService.cacheTimeoutValue = 1;
+        schedulerUserAuthenticationService.refreshSeconds = 45;
+        schedulerUserAuthenticationService.invalidSessionTimeoutSeconds = 5;
+        schedulerUserAuthenticationService.init();
+    }
+
+    @After
+    public void shutdown() {
+        schedulerUserAuthenticationService.shutdown();
     }
 
     @Test(expected = NotAuthenticatedException.class)
@@ -100,4 +119,93 @@ public class SchedulerUserAuthenticationServiceTest {
         assertThat(authenticatedUser.getGroups()).containsExactly("user", "technical");
     }
 
+    @Test
+    public void testThatValidSessionIsValidatedOnce() throws NotAuthenticatedException {
+        schedulerUserAuthenticationService.authenticateBySessionId("any");
+        AuthenticatedUser authenticatedUser = schedulerUserAuthenticationService.authenticateBySessionId("any");
+        assertThat(authenticatedUser.getName()).isEqualTo("testUser");
+        verify(schedulerRestInterfaceMock, times(1)).getUserDataFromSessionId("any");
+    }
+
+    @Test
+    public void testThatInvalidSessionIsRejectedWithoutNewValidation() {
+        when(schedulerRestInterfaceMock.getUserDataFromSessionId(any())).thenReturn(null);
+        for (int i = 0; i < 3; i++) {
+            try {
+                schedulerUserAuthenticationService.authenticateBySessionId("invalid");
+                throw new AssertionError("the session must be rejected");
+            } catch (NotAuthenticatedException e) {
+                assertThat(e.getMessage()).isEqualTo("SessionId is invalid");
+            }
+        }
+        verify(schedulerRestInterfaceMock, times(1)).getUserDataFromSessionId("invalid");
+    }
+
+    @Test
+    public void testThatNotConnectedSessionIsRejectedWithoutNewValidation() {
+        when(schedulerRestInterfaceMock.getUserDataFromSessionId(any())).thenAnswer(invocation -> {
+            throw new NotConnectedRestException("not connected");
+        });
+        for (int i = 0; i < 3; i++) {
+            try {
+                schedulerUserAuthenticationService.authenticateBySessionId("disconnected");
+                throw new AssertionError("the session must be rejected");
+            } catch (NotAuthenticatedException e) {
+                assertThat(e.getCause()).isInstanceOf(NotConnectedRestException.class);
+            }
+        }
+        verify(schedulerRestInterfaceMock, times(1)).getUserDataFromSessionId("disconnected");
+    }
+
+    @Test
+    public void testThatFailedValidationIsNotRemembered() throws NotAuthenticatedException {
+        UserData userData = new UserData();
+        userData.setUserName("testUser");
+        userData.setGroups(new HashSet<>(Arrays.asList("user")));
+        when(schedulerRestInterfaceMock.getUserDataFromSessionId(any())).thenThrow(new IllegalStateException("timeout"))
+                                                                         .thenReturn(userData);
+        try {
+            schedulerUserAuthenticationService.authenticateBySessionId("any");
+            throw new AssertionError("the validation must fail");
+        } catch (NotAuthenticatedException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+
+        AuthenticatedUser authenticatedUser = schedulerUserAuthenticationService.authenticateBySessionId("any");
+
+        assertThat(authenticatedUser.getName()).isEqualTo("testUser");
+        verify(schedulerRestInterfaceMock, times(2)).getUserDataFromSessionId("any");
+    }
+
+    @Test
+    public void testThatConcurrentRequestsShareTheSameValidation() throws Exception {
+        UserData userData = new UserData();
+        userData.setUserName("testUser");
+        userData.setGroups(new HashSet<>(Arrays.asList("user")));
+        CountDownLatch validationStarted = new CountDownLatch(1);
+        CountDownLatch validationReleased = new CountDownLatch(1);
+        when(schedulerRestInterfaceMock.getUserDataFromSessionId("fresh")).thenAnswer(invocation -> {
+            validationStarted.countDown();
+            validationReleased.await(10, TimeUnit.SECONDS);
+            return userData;
+        });
+
+        Callable<AuthenticatedUser> request = () -> schedulerUserAuthenticationService.authenticateBySessionId("fresh");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<AuthenticatedUser> first = executor.submit(request);
+            assertThat(validationStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<AuthenticatedUser> second = executor.submit(request);
+            Future<AuthenticatedUser> third = executor.submit(request);
+            validationReleased.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS).getName()).isEqualTo("testUser");
+            assertThat(second.get(10, TimeUnit.SECONDS).getName()).isEqualTo("testUser");
+            assertThat(third.get(10, TimeUnit.SECONDS).getName()).isEqualTo("testUser");
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(schedulerRestInterfaceMock, times(1)).getUserDataFromSessionId("fresh");
+    }
+
 }
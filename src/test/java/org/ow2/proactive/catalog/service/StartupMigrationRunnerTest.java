@@ -0,0 +1,105 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.StartupMigrationCheckpointRepository;
+import org.ow2.proactive.catalog.repository.entity.StartupMigrationCheckpointEntity;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class StartupMigrationRunnerTest {
+
+    @InjectMocks
+    private StartupMigrationRunner startupMigrationRunner;
+
+    @Mock
+    private StartupMigrationCheckpointRepository startupMigrationCheckpointRepository;
+
+    @Before
+    public void setUp() {
+        startupMigrationRunner.progressLogPeriodMs = 60000;
+    }
+
+    @Test
+    public void testRunResumesFromStoredCheckpoint() {
+        when(startupMigrationCheckpointRepository.findOne("migration")).thenReturn(new StartupMigrationCheckpointEntity("migration",
+                                                                                                                         10,
+                                                                                                                         0));
+        List<Long> receivedCheckpoints = new ArrayList<>();
+
+        startupMigrationRunner.run(new StartupMigration("migration", checkpoint -> {
+            receivedCheckpoints.add(checkpoint);
+            return checkpoint < 30 ? checkpoint + 10 : StartupMigration.COMPLETED;
+        }));
+
+        assertThat(receivedCheckpoints).containsExactly(10L, 20L, 30L).inOrder();
+        ArgumentCaptor<StartupMigrationCheckpointEntity> savedCheckpoints = ArgumentCaptor.forClass(StartupMigrationCheckpointEntity.class);
+        verify(startupMigrationCheckpointRepository, times(2)).save(savedCheckpoints.capture());
+        assertThat(savedCheckpoints.getAllValues().get(1).getName()).isEqualTo("migration");
+        assertThat(savedCheckpoints.getAllValues().get(1).getCheckpoint()).isEqualTo(30L);
+    }
+
+    @Test
+    public void testRunDoesNotStoreUnchangedCheckpoint() {
+        int[] remainingBatches = { 3 };
+
+        startupMigrationRunner.run(new StartupMigration("migration",
+                                                        checkpoint -> remainingBatches[0]-- > 0 ? checkpoint
+                                                                                                : StartupMigration.COMPLETED));
+
+        assertThat(remainingBatches[0]).isEqualTo(-1);
+        verify(startupMigrationCheckpointRepository, never()).save(any(StartupMigrationCheckpointEntity.class));
+    }
+
+    @Test
+    public void testRunAllContinuesAfterFailedMigration() {
+        List<String> ranMigrations = new ArrayList<>();
+
+        startupMigrationRunner.runAll(Arrays.asList(new StartupMigration("failing", checkpoint -> {
+            throw new IllegalStateException("failure");
+        }), StartupMigration.singleStep("single-step", () -> ranMigrations.add("single-step"))));
+
+        assertThat(ranMigrations).containsExactly("single-step");
+    }
+}
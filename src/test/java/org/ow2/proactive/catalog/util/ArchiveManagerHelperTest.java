@@ -49,7 +49,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity.CatalogObjectEntityKey;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionContentEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.RevisionContentService;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.FileNameAndContent;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
 
@@ -69,6 +71,9 @@ public class ArchiveManagerHelperTest {
     @Mock
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Mock
+    private RevisionContentService revisionContentService;
+
     @InjectMocks
     private ArchiveManagerHelper archiveManager;
 
@@ -95,7 +100,8 @@ public class ArchiveManagerHelperTest {
         CatalogObjectRevisionEntity revision = new CatalogObjectRevisionEntity();
         revision.setCatalogObject(object);
         object.addRevision(revision);
-        revision.setRawObject(fileContent);
+        revision.setContent(new CatalogObjectRevisionContentEntity(name, fileContent));
+        when(revisionContentService.getRawObject(revision)).thenReturn(fileContent);
 
         return revision;
     }
@@ -0,0 +1,76 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Base64;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.service.exception.WrongParametersException;
+
+
+public class CatalogObjectCursorTest {
+
+    @Test
+    public void testTokenRoundTrip() {
+        CatalogObjectCursor cursor = new CatalogObjectCursor("Basic Examples", 1L, "Native_Task/1");
+        CatalogObjectCursor decoded = CatalogObjectCursor.fromToken(cursor.toToken());
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.isBlankProjectName()).isFalse();
+    }
+
+    @Test
+    public void testTokenRoundTripWithoutProjectName() {
+        CatalogObjectCursor cursor = new CatalogObjectCursor(null, 1L, "Native_Task");
+        CatalogObjectCursor decoded = CatalogObjectCursor.fromToken(cursor.toToken());
+        assertThat(decoded.isBlankProjectName()).isTrue();
+        assertThat(decoded.getBucketId()).isEqualTo(1L);
+        assertThat(decoded.getName()).isEqualTo("Native_Task");
+    }
+
+    @Test
+    public void testTokenIsUrlSafe() {
+        String token = new CatalogObjectCursor("a/b+c", 1L, "name?&=").toToken();
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test(expected = WrongParametersException.class)
+    public void testInvalidToken() {
+        CatalogObjectCursor.fromToken("not a token");
+    }
+
+    @Test(expected = WrongParametersException.class)
+    public void testIncompleteToken() {
+        CatalogObjectCursor.fromToken(Base64.getUrlEncoder().encodeToString("[\"project\"]".getBytes()));
+    }
+
+    @Test(expected = WrongParametersException.class)
+    public void testTokenWithInvalidBucketId() {
+        CatalogObjectCursor.fromToken(Base64.getUrlEncoder()
+                                            .encodeToString("[\"project\",\"basic-examples\",\"Native_Task\"]".getBytes()));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.service.model.CatalogObjectVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+
+public class ConditionalRequestHelperTest {
+
+    private static final CatalogObjectVersion VERSION = new CatalogObjectVersion(1400343L,
+                                                                                 "workflow/standard",
+                                                                                 "application/xml");
+
+    private ServletWebRequest webRequest;
+
+    private HttpServletResponse response;
+
+    @Before
+    public void setUp() {
+        webRequest = mock(ServletWebRequest.class);
+        response = mock(HttpServletResponse.class);
+        when(webRequest.getResponse()).thenReturn(response);
+    }
+
+    @Test
+    public void testETagsAreStrongAndIdentifyTheRepresentation() {
+        CatalogObjectVersion sameVersion = new CatalogObjectVersion(1400343L, "workflow/standard", "application/xml");
+        String rawETag = ConditionalRequestHelper.getRawObjectETag(VERSION, false);
+        String metadataETag = ConditionalRequestHelper.getMetadataETag(VERSION, "read");
+
+        assertThat(rawETag).startsWith("\"1400343-");
+        assertThat(rawETag).endsWith("\"");
+        assertThat(ConditionalRequestHelper.getRawObjectETag(sameVersion, false)).isEqualTo(rawETag);
+        assertThat(ConditionalRequestHelper.getRawObjectETag(VERSION, true)).isNotEqualTo(rawETag);
+        assertThat(ConditionalRequestHelper.getMetadataETag(VERSION, "")).isNotEqualTo(rawETag);
+        assertThat(ConditionalRequestHelper.getMetadataETag(VERSION, "admin")).isNotEqualTo(metadataETag);
+    }
+
+    @Test
+    public void testETagChangesWithTheVersion() {
+        String rawETag = ConditionalRequestHelper.getRawObjectETag(VERSION, false);
+        CatalogObjectVersion otherKind = new CatalogObjectVersion(1400343L, "Script/groovy", "application/xml");
+        CatalogObjectVersion otherContentType = new CatalogObjectVersion(1400343L, "workflow/standard", "text/plain");
+        CatalogObjectVersion otherRevision = new CatalogObjectVersion(1400344L, "workflow/standard", "application/xml");
+
+        assertThat(ConditionalRequestHelper.getRawObjectETag(otherKind, false)).isNotEqualTo(rawETag);
+        assertThat(ConditionalRequestHelper.getRawObjectETag(otherContentType, false)).isNotEqualTo(rawETag);
+        assertThat(ConditionalRequestHelper.getRawObjectETag(otherRevision, false)).isNotEqualTo(rawETag);
+    }
+
+    @Test
+    public void testCheckRawObjectNotModified() {
+        when(webRequest.checkNotModified(ConditionalRequestHelper.getRawObjectETag(VERSION, true))).thenReturn(true);
+
+        assertThat(ConditionalRequestHelper.checkRawObjectNotModified(webRequest, VERSION, true)).isTrue();
+        assertThat(ConditionalRequestHelper.checkRawObjectNotModified(webRequest, VERSION, false)).isFalse();
+        verify(response, times(2)).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void testCheckMetadataNotModified() {
+        when(webRequest.checkNotModified(ConditionalRequestHelper.getMetadataETag(VERSION, "read"))).thenReturn(true);
+
+        assertThat(ConditionalRequestHelper.checkMetadataNotModified(webRequest, VERSION, "read")).isTrue();
+        assertThat(ConditionalRequestHelper.checkMetadataNotModified(webRequest, VERSION, "admin")).isFalse();
+    }
+
+    @Test
+    public void testNoLastModifiedIsChecked() {
+        ConditionalRequestHelper.checkRawObjectNotModified(webRequest, VERSION, false);
+        ConditionalRequestHelper.checkMetadataNotModified(webRequest, VERSION, "");
+
+        verify(webRequest, never()).checkNotModified(anyLong());
+        verify(webRequest, never()).checkNotModified(anyString(), anyLong());
+    }
+
+    @Test
+    public void testMissingVersionIsNeverNotModified() {
+        assertThat(ConditionalRequestHelper.checkRawObjectNotModified(webRequest, null, false)).isFalse();
+        assertThat(ConditionalRequestHelper.checkMetadataNotModified(webRequest, null, "")).isFalse();
+        verify(webRequest, never()).checkNotModified(anyString());
+    }
+}
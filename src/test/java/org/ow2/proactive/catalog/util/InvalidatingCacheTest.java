@@ -0,0 +1,135 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.CacheBuilder;
+
+
+public class InvalidatingCacheTest {
+
+    private InvalidatingCache<String, String> cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        cache = new InvalidatingCache<>(CacheBuilder.newBuilder().build());
+    }
+
+    @After
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testValueIsLoadedOnce() {
+        assertThat(get("key")).isEqualTo("value of key");
+        assertThat(get("key")).isEqualTo("value of key");
+        get("other-key");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        try {
+            cache.get("key", () -> {
+                throw new IllegalStateException("load failure");
+            });
+            throw new AssertionError("the load failure must be propagated");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        get("key");
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInvalidate() {
+        get("key");
+        get("other-key");
+
+        cache.invalidate("key");
+        get("key");
+        get("other-key");
+        assertThat(loads.get()).isEqualTo(3);
+
+        cache.invalidateIf(key -> key.startsWith("other"));
+        get("key");
+        get("other-key");
+        assertThat(loads.get()).isEqualTo(4);
+
+        cache.invalidateAll();
+        get("key");
+        get("other-key");
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void testValueLoadedDuringAnInvalidationIsNotCached() {
+        assertThat(cache.get("key", () -> {
+            cache.invalidate("key");
+            return "stale value";
+        })).isEqualTo("stale value");
+
+        assertThat(get("key")).isEqualTo("value of key");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInvalidationIsAppliedAgainAfterTransactionCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate("key");
+        // loaded by a concurrent request before the mutation is committed
+        cache.get("key", () -> "stale value");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(get("key")).isEqualTo("value of key");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private String get(String key) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return "value of " + key;
+        });
+    }
+}
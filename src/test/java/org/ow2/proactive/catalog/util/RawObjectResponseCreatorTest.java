@@ -203,4 +203,33 @@ public class RawObjectResponseCreatorTest {
         assertThat(responseEntity.getHeaders().getContentType()).isNull();
     }
 
+
+    @Test
+    public void testCreateRawObjectResponseWithoutContentEncoding() {
+        CatalogRawObject rawObject = new CatalogRawObject("bucket-name",
+                                                          "object name",
+                                                          PROJECT_NAME,
+                                                          TAGS,
+                                                          "object",
+                                                          "application/xml",
+                                                          1400343L,
+                                                          "commit message",
+                                                          "username",
+                                                          Collections.emptyList(),
+                                                          new byte[0],
+                                                          "xml");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject);
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    public void testIsGzipAccepted() {
+        assertThat(rawObjectResponseCreator.isGzipAccepted(null)).isFalse();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("")).isFalse();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("identity")).isFalse();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("gzip")).isTrue();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("*")).isTrue();
+        assertThat(rawObjectResponseCreator.isGzipAccepted("gzip;q=0, deflate")).isFalse();
+    }
 }
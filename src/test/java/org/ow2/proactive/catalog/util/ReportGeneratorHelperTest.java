@@ -26,8 +26,8 @@
 package org.ow2.proactive.catalog.util;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -157,10 +157,9 @@ public class ReportGeneratorHelperTest {
                                                                                  Collections.emptyList(),
                                                                                  "xml");
 
-        when(catalogObjectService.isDependsOnObjectExistInCatalog(eq(bucketName),
-                                                                  eq(objectName1),
-                                                                  anyString())).thenReturn(true);
-        when(catalogObjectService.getCatalogObjectMetadata(bucketName, objectName1)).thenReturn(catalogObjectMetadata2);
+        when(catalogObjectService.findExistingObjectKinds(anyCollectionOf(String.class))).thenReturn(Collections.singletonMap(separatorUtility.getConcatWithSeparator(bucketName,
+                                                                                                                                                                  objectName1),
+                                                                                                                                    "object"));
 
         List<CatalogObjectMetadata> catalogObjectMetadataList = Arrays.asList(catalogObjectMetadata1,
                                                                               catalogObjectMetadata2);
@@ -0,0 +1,96 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+
+
+public class SearchTermExtractorTest {
+
+    private SearchTermExtractor searchTermExtractor = new SearchTermExtractor();
+
+    @Test
+    public void testTokenize() {
+        assertThat(searchTermExtractor.tokenize("Web_Validation-Script, web 2 Donn\u00e9es")).containsExactly("web",
+                                                                                                        "validation",
+                                                                                                        "script",
+                                                                                                        "donn\u00e9es")
+                                                                                       .inOrder();
+    }
+
+    @Test
+    public void testTokenizeEmptyOrTooLongText() {
+        assertThat(searchTermExtractor.tokenize(null)).isEmpty();
+        assertThat(searchTermExtractor.tokenize("")).isEmpty();
+        char[] longText = new char[SearchTermExtractor.MAX_INDEXED_VALUE_LENGTH + 1];
+        Arrays.fill(longText, 'a');
+        assertThat(searchTermExtractor.tokenize(new String(longText))).isEmpty();
+    }
+
+    @Test
+    public void testExtractTermsSumsTheWeightsOfTheFields() {
+        Map<String, Integer> terms = searchTermExtractor.extractTerms("Spark_Job",
+                                                                      "Big Data",
+                                                                      Arrays.asList(new KeyValueLabelMetadataEntity("spark",
+                                                                                                                    null,
+                                                                                                                    WorkflowParser.OBJECT_TAG_LABEL),
+                                                                                    new KeyValueLabelMetadataEntity("EXECUTOR_MEMORY",
+                                                                                                                    "4g",
+                                                                                                                    WorkflowParser.ATTRIBUTE_VARIABLE_LABEL),
+                                                                                    new KeyValueLabelMetadataEntity("EXECUTOR_MEMORY",
+                                                                                                                    "Memory of each executor",
+                                                                                                                    WorkflowParser.ATTRIBUTE_VARIABLE_DESCRIPTION_LABEL),
+                                                                                    new KeyValueLabelMetadataEntity("visualization",
+                                                                                                                    "<html>hidden</html>",
+                                                                                                                    WorkflowParser.JOB_INFORMATION_LABEL)));
+        assertThat(terms).containsEntry("spark",
+                                        SearchTermExtractor.NAME_WEIGHT + SearchTermExtractor.TAG_WEIGHT);
+        assertThat(terms).containsEntry("job", SearchTermExtractor.NAME_WEIGHT);
+        assertThat(terms).containsEntry("data", SearchTermExtractor.PROJECT_NAME_WEIGHT);
+        assertThat(terms).containsEntry("executor",
+                                        SearchTermExtractor.VARIABLE_NAME_WEIGHT + SearchTermExtractor.TEXT_WEIGHT);
+        assertThat(terms).containsEntry("memory",
+                                        SearchTermExtractor.VARIABLE_NAME_WEIGHT + SearchTermExtractor.TEXT_WEIGHT);
+        assertThat(terms).doesNotContainKey("4g");
+        assertThat(terms).doesNotContainKey("hidden");
+    }
+
+    @Test
+    public void testExtractTermsAlwaysIndexesTheName() {
+        assertThat(searchTermExtractor.extractTerms("_",
+                                                    "",
+                                                    Collections.emptyList())).isEqualTo(Collections.singletonMap("_",
+                                                                                                                 SearchTermExtractor.NAME_WEIGHT));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.codec;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+
+public class DeltaEncoderTest {
+
+    private DeltaEncoder deltaEncoder = new DeltaEncoder();
+
+    @Test
+    public void testEncodeApplyWithEditedLines() {
+        String tasks = Strings.repeat("<task name=\"task\"><script>print(1)</script></task>\n", 50);
+        String baseJob = "<job name=\"job\">\n" + tasks + "<task name=\"first\"></task>\n" + tasks + "</job>";
+        String targetJob = "<job name=\"renamed\">\n" + tasks + "<task name=\"second\"></task>\n" + tasks + "</job>\n";
+        byte[] base = baseJob.getBytes(StandardCharsets.UTF_8);
+        byte[] target = targetJob.getBytes(StandardCharsets.UTF_8);
+
+        byte[] delta = deltaEncoder.encode(base, target);
+
+        assertThat(delta.length).isLessThan(target.length / 10);
+        assertThat(deltaEncoder.apply(base, delta)).isEqualTo(target);
+    }
+
+    @Test
+    public void testEncodeApplyWithoutCommonContent() {
+        byte[] base = "some content".getBytes(StandardCharsets.UTF_8);
+        byte[] target = Strings.repeat("another content", 10).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(deltaEncoder.apply(base, deltaEncoder.encode(base, target))).isEqualTo(target);
+    }
+
+    @Test
+    public void testEncodeApplyEmptyContents() {
+        byte[] content = Strings.repeat("content", 10).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(deltaEncoder.apply(new byte[0], deltaEncoder.encode(new byte[0], content))).isEqualTo(content);
+        assertThat(deltaEncoder.apply(content, deltaEncoder.encode(content, new byte[0]))).isEqualTo(new byte[0]);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.codec;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+
+public class GzipContentCodecTest {
+
+    private GzipContentCodec gzipContentCodec = new GzipContentCodec();
+
+    @Test
+    public void testEncodeDecode() {
+        byte[] rawObject = Strings.repeat("<task name=\"task\"></task>", 100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] encodedObject = gzipContentCodec.encode(rawObject);
+
+        assertThat(encodedObject.length).isLessThan(rawObject.length);
+        assertThat(gzipContentCodec.decode(encodedObject)).isEqualTo(rawObject);
+    }
+
+    @Test
+    public void testEncodeEmptyContent() {
+        assertThat(gzipContentCodec.decode(gzipContentCodec.encode(new byte[0]))).isEqualTo(new byte[0]);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testDecodeNotGzipContent() {
+        gzipContentCodec.decode("not compressed".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.datasource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ReadOwnWritesTracker readOwnWritesTracker;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource,
+                                                             replicaDataSource,
+                                                             readOwnWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @After
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        verify(readOwnWritesTracker, never()).recordWrite();
+    }
+
+    @Test
+    public void testReadWriteTransactionUsesPrimaryAndIsRecorded() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        verify(readOwnWritesTracker).recordWrite();
+    }
+
+    @Test
+    public void testReadOnlyTransactionAfterOwnWriteUsesPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(readOwnWritesTracker.mustReadFromPrimary()).thenReturn(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    public void testConnectionOutsideTransactionUsesPrimaryWithoutRecordingWrite() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        verify(readOwnWritesTracker, never()).recordWrite();
+    }
+}